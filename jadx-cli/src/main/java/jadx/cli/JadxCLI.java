@@ -1,14 +1,19 @@
 package jadx.cli;
 
+import java.io.File;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.ICodeCache;
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
 import jadx.api.impl.AnnotatedCodeWriter;
+import jadx.api.impl.BoundedCodeCache;
 import jadx.api.impl.NoOpCodeCache;
 import jadx.api.impl.SimpleCodeWriter;
 import jadx.cli.LogHelper.LogLevelEnum;
+import jadx.core.utils.PassesProfiler;
 import jadx.core.utils.exceptions.JadxArgsValidateException;
 import jadx.core.utils.files.FileUtils;
 import jadx.plugins.tools.JadxExternalPluginsLoader;
@@ -44,7 +49,7 @@ private static int processAndSave(JadxCLIArgs cliArgs) {
 		LogHelper.initLogLevel(cliArgs);
 		LogHelper.setLogLevelsForLoadingStage();
 		JadxArgs jadxArgs = cliArgs.toJadxArgs();
-		jadxArgs.setCodeCache(new NoOpCodeCache());
+		jadxArgs.setCodeCache(buildCodeCache(cliArgs));
 		jadxArgs.setPluginLoader(new JadxExternalPluginsLoader());
 		initCodeWriterProvider(jadxArgs);
 		try (JadxDecompiler jadx = new JadxDecompiler(jadxArgs)) {
@@ -56,6 +61,7 @@ private static int processAndSave(JadxCLIArgs cliArgs) {
 			if (!SingleClassMode.process(jadx, cliArgs)) {
 				save(jadx);
 			}
+			savePassesProfile(jadx);
 			int errorsCount = jadx.getErrorsCount();
 			if (errorsCount != 0) {
 				jadx.printErrorsReport();
@@ -67,6 +73,14 @@ private static int processAndSave(JadxCLIArgs cliArgs) {
 		return 0;
 	}
 
+	private static ICodeCache buildCodeCache(JadxCLIArgs cliArgs) {
+		int cacheSize = cliArgs.getCodeCacheSize();
+		if (cacheSize > 0 && !cliArgs.isStreamingSave()) {
+			return new BoundedCodeCache(cacheSize * 1024L * 1024L);
+		}
+		return new NoOpCodeCache();
+	}
+
 	private static void initCodeWriterProvider(JadxArgs jadxArgs) {
 		switch (jadxArgs.getOutputFormat()) {
 			case JAVA:
@@ -79,6 +93,16 @@ private static void initCodeWriterProvider(JadxArgs jadxArgs) {
 		}
 	}
 
+	private static void savePassesProfile(JadxDecompiler jadx) {
+		PassesProfiler profiler = jadx.getRoot().getPassesProfiler();
+		if (profiler == null) {
+			return;
+		}
+		File outDir = jadx.getArgs().getOutDir();
+		profiler.saveReport(outDir.toPath());
+		LOG.info("Passes profile saved to: {}\n{}", outDir.getAbsolutePath(), profiler.buildSummaryTable());
+	}
+
 	private static boolean checkForErrors(JadxDecompiler jadx) {
 		if (jadx.getRoot().getClasses().isEmpty()) {
 			if (jadx.getArgs().isSkipResources()) {
@@ -29,6 +29,7 @@
 import jadx.api.args.ResourceNameSource;
 import jadx.api.args.UserRenamesMappingsMode;
 import jadx.core.deobf.conditions.DeobfWhitelist;
+import jadx.core.utils.DependencyDecompilerScheduler;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.files.FileUtils;
 
@@ -67,6 +68,30 @@ public class JadxCLIArgs {
 	@Parameter(names = { "-j", "--threads-count" }, description = "processing threads count")
 	protected int threadsCount = JadxArgs.DEFAULT_THREADS_COUNT;
 
+	@Parameter(names = { "--parallel-load" }, description = "load classes from different input files in parallel")
+	protected boolean loadClassesInParallel = false;
+
+	@Parameter(names = { "--parallel-pre-decompile" }, description = "run thread safe pre-decompile passes in parallel")
+	protected boolean preDecompileInParallel = false;
+
+	@Parameter(
+			names = { "--dependency-scheduler" },
+			description = "start class decompilation right after its dependencies instead of using static batches"
+	)
+	protected boolean useDependencyScheduler = false;
+
+	@Parameter(
+			names = { "--code-cache-size" },
+			description = "keep generated code in memory, max cache size in MB (0 - disable cache)"
+	)
+	protected int codeCacheSize = 0;
+
+	@Parameter(
+			names = { "--streaming-save" },
+			description = "generate code of every class right before save and write it directly to output file, without code cache usage"
+	)
+	protected boolean streamingSave = false;
+
 	@Parameter(
 			names = { "-m", "--decompilation-mode" },
 			description = "code output mode:"
@@ -217,6 +242,13 @@ public class JadxCLIArgs {
 	@Parameter(names = { "--raw-cfg" }, description = "save methods control flow graph (use raw instructions)")
 	protected boolean rawCfgOutput = false;
 
+	@Parameter(
+			names = { "--profile-passes" },
+			description = "collect time and memory allocation stats for every decompilation pass,"
+					+ " report saved to 'passes-profile.json' and 'passes-profile.txt' in output directory"
+	)
+	protected boolean profilePasses = false;
+
 	@Parameter(names = { "-f", "--fallback" }, description = "set '--decompilation-mode' to 'fallback' (deprecated)")
 	protected boolean fallbackMode = false;
 
@@ -291,6 +323,9 @@ private boolean process(JCommanderWrapper<JadxCLIArgs> jcw) {
 			if (threadsCount <= 0) {
 				throw new JadxException("Threads count must be positive, got: " + threadsCount);
 			}
+			if (codeCacheSize < 0) {
+				throw new JadxException("Code cache size can't be negative, got: " + codeCacheSize);
+			}
 		} catch (JadxException e) {
 			System.err.println("ERROR: " + e.getMessage());
 			jcw.printUsage();
@@ -307,6 +342,12 @@ public JadxArgs toJadxArgs() {
 		args.setOutDirRes(FileUtils.toFile(outDirRes));
 		args.setOutputFormat(JadxArgs.OutputFormatEnum.valueOf(outputFormat.toUpperCase()));
 		args.setThreadsCount(threadsCount);
+		args.setLoadClassesInParallel(loadClassesInParallel);
+		args.setPreDecompileInParallel(preDecompileInParallel);
+		args.setStreamingSave(streamingSave);
+		if (useDependencyScheduler) {
+			args.setDecompileScheduler(new DependencyDecompilerScheduler());
+		}
 		args.setSkipSources(skipSources);
 		args.setSkipResources(skipResources);
 		if (fallbackMode) {
@@ -317,6 +358,7 @@ public JadxArgs toJadxArgs() {
 		args.setShowInconsistentCode(showInconsistentCode);
 		args.setCfgOutput(cfgOutput);
 		args.setRawCFGOutput(rawCfgOutput);
+		args.setProfilePasses(profilePasses);
 		args.setReplaceConsts(replaceConsts);
 		if (userRenamesMappingsPath != null) {
 			args.setUserRenamesMappingsPath(userRenamesMappingsPath);
@@ -388,6 +430,26 @@ public int getThreadsCount() {
 		return threadsCount;
 	}
 
+	public boolean isLoadClassesInParallel() {
+		return loadClassesInParallel;
+	}
+
+	public boolean isPreDecompileInParallel() {
+		return preDecompileInParallel;
+	}
+
+	public boolean isUseDependencyScheduler() {
+		return useDependencyScheduler;
+	}
+
+	public int getCodeCacheSize() {
+		return codeCacheSize;
+	}
+
+	public boolean isStreamingSave() {
+		return streamingSave;
+	}
+
 	public boolean isFallbackMode() {
 		return fallbackMode;
 	}
@@ -496,6 +558,10 @@ public boolean isRawCfgOutput() {
 		return rawCfgOutput;
 	}
 
+	public boolean isProfilePasses() {
+		return profilePasses;
+	}
+
 	public boolean isReplaceConsts() {
 		return replaceConsts;
 	}
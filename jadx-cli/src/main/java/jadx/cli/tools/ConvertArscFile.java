@@ -64,13 +64,13 @@ public static void main(String[] args) throws IOException {
 						continue;
 					}
 					try (InputStream inputStream = zip.getInputStream(entry)) {
-						resTableParser.decode(inputStream);
+						resTableParser.decode(entry.getSize(), inputStream);
 					}
 				}
 			} else {
 				// Load resources.arsc from extracted file
 				try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(resFile))) {
-					resTableParser.decode(inputStream);
+					resTableParser.decode(Files.size(resFile), inputStream);
 				}
 			}
 			Map<Integer, String> singleResMap = resTableParser.getResStorage().getResourcesNames();
@@ -1,7 +1,25 @@
 package jadx.api;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IDecompileScheduler {
 	List<List<JavaClass>> buildBatches(List<JavaClass> classes);
+
+	/**
+	 * Build tasks for parallel processing of provided classes.
+	 * Default implementation creates one task for every batch from {@link #buildBatches(List)}.
+	 *
+	 * @param classes      top level classes to process
+	 * @param clsProcessor action to apply for every class
+	 */
+	default List<Runnable> buildTasks(List<JavaClass> classes, Consumer<JavaClass> clsProcessor) {
+		List<List<JavaClass>> batches = buildBatches(classes);
+		List<Runnable> tasks = new ArrayList<>(batches.size());
+		for (List<JavaClass> batch : batches) {
+			tasks.add(() -> batch.forEach(clsProcessor));
+		}
+		return tasks;
+	}
 }
@@ -35,6 +35,7 @@
 import jadx.core.deobf.conditions.DeobfWhitelist;
 import jadx.core.deobf.conditions.JadxRenameConditions;
 import jadx.core.plugins.PluginContext;
+import jadx.core.utils.DecompilerScheduler;
 import jadx.core.utils.files.FileUtils;
 
 public class JadxArgs implements Closeable {
@@ -60,10 +61,41 @@ public class JadxArgs implements Closeable {
 	 */
 	private IUsageInfoCache usageInfoCache = new InMemoryUsageInfoCache();
 
+	/**
+	 * Scheduler for classes decompilation on save.
+	 * Can be set to {@link jadx.core.utils.DependencyDecompilerScheduler}
+	 * to start class processing right after its dependencies.
+	 */
+	private IDecompileScheduler decompileScheduler = new DecompilerScheduler();
+
 	private Function<JadxArgs, ICodeWriter> codeWriterProvider = AnnotatedCodeWriter::new;
 
 	private int threadsCount = DEFAULT_THREADS_COUNT;
 
+	/**
+	 * Load classes from different inputs (dex files) concurrently.
+	 * Classes order after load is same as in sequential mode.
+	 */
+	private boolean loadClassesInParallel = false;
+
+	/**
+	 * Run pre-decompile passes marked as 'parallel' in {@link jadx.core.dex.visitors.JadxVisitor}
+	 * and usage info collection for different classes concurrently.
+	 */
+	private boolean preDecompileInParallel = false;
+
+	/**
+	 * Generate code for every class right before saving and write it directly to output file
+	 * without building final code string. Code cache not used and code metadata not saved.
+	 */
+	private boolean streamingSave = false;
+
+	/**
+	 * Collect time and memory allocation statistics for every decompilation pass,
+	 * see {@link jadx.core.utils.PassesProfiler}.
+	 */
+	private boolean profilePasses = false;
+
 	private boolean cfgOutput = false;
 	private boolean rawCFGOutput = false;
 
@@ -242,6 +274,38 @@ public void setThreadsCount(int threadsCount) {
 		this.threadsCount = Math.max(1, threadsCount); // make sure threadsCount >= 1
 	}
 
+	public boolean isLoadClassesInParallel() {
+		return loadClassesInParallel;
+	}
+
+	public void setLoadClassesInParallel(boolean loadClassesInParallel) {
+		this.loadClassesInParallel = loadClassesInParallel;
+	}
+
+	public boolean isPreDecompileInParallel() {
+		return preDecompileInParallel;
+	}
+
+	public void setPreDecompileInParallel(boolean preDecompileInParallel) {
+		this.preDecompileInParallel = preDecompileInParallel;
+	}
+
+	public boolean isStreamingSave() {
+		return streamingSave;
+	}
+
+	public void setStreamingSave(boolean streamingSave) {
+		this.streamingSave = streamingSave;
+	}
+
+	public boolean isProfilePasses() {
+		return profilePasses;
+	}
+
+	public void setProfilePasses(boolean profilePasses) {
+		this.profilePasses = profilePasses;
+	}
+
 	public boolean isCfgOutput() {
 		return cfgOutput;
 	}
@@ -614,6 +678,14 @@ public void setUsageInfoCache(IUsageInfoCache usageInfoCache) {
 		this.usageInfoCache = usageInfoCache;
 	}
 
+	public IDecompileScheduler getDecompileScheduler() {
+		return decompileScheduler;
+	}
+
+	public void setDecompileScheduler(IDecompileScheduler decompileScheduler) {
+		this.decompileScheduler = decompileScheduler;
+	}
+
 	public ICodeData getCodeData() {
 		return codeData;
 	}
@@ -720,6 +792,10 @@ public String toString() {
 				+ ", outDirSrc=" + outDirSrc
 				+ ", outDirRes=" + outDirRes
 				+ ", threadsCount=" + threadsCount
+				+ ", loadClassesInParallel=" + loadClassesInParallel
+				+ ", preDecompileInParallel=" + preDecompileInParallel
+				+ ", streamingSave=" + streamingSave
+				+ ", profilePasses=" + profilePasses
 				+ ", decompilationMode=" + decompilationMode
 				+ ", showInconsistentCode=" + showInconsistentCode
 				+ ", useImports=" + useImports
@@ -749,6 +825,7 @@ public String toString() {
 				+ ", outputFormat=" + outputFormat
 				+ ", commentsLevel=" + commentsLevel
 				+ ", codeCache=" + codeCache
+				+ ", decompileScheduler=" + decompileScheduler.getClass().getSimpleName()
 				+ ", codeWriter=" + codeWriterProvider.apply(this).getClass().getSimpleName()
 				+ ", useDxInput=" + useDxInput
 				+ ", pluginOptions=" + pluginOptions
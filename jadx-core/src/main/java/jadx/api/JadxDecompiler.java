@@ -46,10 +46,10 @@
 import jadx.core.plugins.JadxPluginManager;
 import jadx.core.plugins.PluginContext;
 import jadx.core.plugins.events.JadxEventsImpl;
-import jadx.core.utils.DecompilerScheduler;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.ZipFilePool;
 import jadx.core.utils.tasks.TaskExecutor;
 import jadx.core.xmlgen.BinaryXMLParser;
 import jadx.core.xmlgen.ProtoXMLParser;
@@ -95,8 +95,8 @@ public final class JadxDecompiler implements Closeable {
 
 	private BinaryXMLParser binaryXmlParser;
 	private ProtoXMLParser protoXmlParser;
+	private final ZipFilePool zipFilePool = new ZipFilePool();
 
-	private final IDecompileScheduler decompileScheduler = new DecompilerScheduler();
 	private final JadxEventsImpl events = new JadxEventsImpl();
 
 	private final List<ICodeLoader> customCodeLoaders = new ArrayList<>();
@@ -179,6 +179,7 @@ public void close() {
 		reset();
 		closeInputs();
 		closeLoaders();
+		zipFilePool.close();
 		args.close();
 	}
 
@@ -358,26 +359,23 @@ private void appendResourcesSaveTasks(ITaskExecutor executor, File outDir) {
 	private void appendSourcesSave(ITaskExecutor executor, File outDir) {
 		List<JavaClass> classes = getClasses();
 		List<JavaClass> processQueue = filterClasses(classes);
-		List<List<JavaClass>> batches;
+		boolean streamingSave = args.isStreamingSave() && !args.isSkipFilesSave();
+		List<Runnable> decompileTasks;
 		try {
-			batches = decompileScheduler.buildBatches(processQueue);
-		} catch (Exception e) {
-			throw new JadxRuntimeException("Decompilation batches build failed", e);
-		}
-		List<Runnable> decompileTasks = new ArrayList<>(batches.size());
-		for (List<JavaClass> decompileBatch : batches) {
-			decompileTasks.add(() -> {
-				for (JavaClass cls : decompileBatch) {
-					try {
-						ClassNode clsNode = cls.getClassNode();
-						ICodeInfo code = clsNode.getCode();
-						SaveCode.save(outDir, clsNode, code);
-					} catch (Exception e) {
-						LOG.error("Error saving class: {}", cls, e);
+			decompileTasks = getDecompileScheduler().buildTasks(processQueue, cls -> {
+				try {
+					ClassNode clsNode = cls.getClassNode();
+					if (streamingSave) {
+						SaveCode.saveStreaming(outDir, clsNode);
+					} else {
+						SaveCode.save(outDir, clsNode, clsNode.getCode());
 					}
+				} catch (Exception e) {
+					LOG.error("Error saving class: {}", cls, e);
 				}
-
 			});
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Decompilation batches build failed", e);
 		}
 		executor.addParallelTasks(decompileTasks);
 	}
@@ -483,6 +481,13 @@ synchronized ProtoXMLParser getProtoXmlParser() {
 		return protoXmlParser;
 	}
 
+	/**
+	 * Opened zip files shared between resources reads, closed with decompiler
+	 */
+	public ZipFilePool getZipFilePool() {
+		return zipFilePool;
+	}
+
 	/**
 	 * Get JavaClass by ClassNode without loading and decompilation
 	 */
@@ -674,7 +679,7 @@ public JadxPluginManager getPluginManager() {
 	}
 
 	public IDecompileScheduler getDecompileScheduler() {
-		return decompileScheduler;
+		return args.getDecompileScheduler();
 	}
 
 	public IJadxEvents events() {
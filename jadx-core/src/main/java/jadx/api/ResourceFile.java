@@ -98,6 +98,10 @@ public ZipRef getZipRef() {
 		return zipRef;
 	}
 
+	JadxDecompiler getDecompiler() {
+		return decompiler;
+	}
+
 	@Override
 	public String toString() {
 		return "ResourceFile{name='" + name + '\'' + ", type=" + type + '}';
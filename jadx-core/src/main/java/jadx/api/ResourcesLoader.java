@@ -11,6 +11,7 @@
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +24,7 @@
 import jadx.core.utils.android.Res9patchStreamDecoder;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.ZipFilePool;
 import jadx.core.xmlgen.ResContainer;
 import jadx.core.xmlgen.ResProtoParser;
 import jadx.core.xmlgen.ResTableParser;
@@ -62,7 +64,8 @@ public static <T> T decodeStream(ResourceFile rf, ResourceDecoder<T> decoder) th
 					return decoder.decode(file.length(), inputStream);
 				}
 			} else {
-				try (ZipFile zipFile = new ZipFile(zipRef.getZipFile())) {
+				try (ZipFilePool.Handle zipHandle = openZip(rf.getDecompiler(), zipRef.getZipFile())) {
+					ZipFile zipFile = zipHandle.getZipFile();
 					ZipEntry entry = zipFile.getEntry(zipRef.getEntryName());
 					if (entry == null) {
 						throw new IOException("Zip entry not found: " + zipRef);
@@ -80,9 +83,16 @@ public static <T> T decodeStream(ResourceFile rf, ResourceDecoder<T> decoder) th
 		}
 	}
 
+	private static ZipFilePool.Handle openZip(@Nullable JadxDecompiler decompiler, File file) throws IOException {
+		if (decompiler == null) {
+			return ZipFilePool.openUnpooled(file);
+		}
+		return decompiler.getZipFilePool().open(file);
+	}
+
 	static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf) {
 		try {
-			return decodeStream(rf, (size, is) -> loadContent(jadxRef, rf, is));
+			return decodeStream(rf, (size, is) -> loadContent(jadxRef, rf, size, is));
 		} catch (JadxException e) {
 			LOG.error("Decode error", e);
 			ICodeWriter cw = jadxRef.getRoot().makeCodeWriter();
@@ -93,7 +103,7 @@ static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf) {
 	}
 
 	private static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf,
-			InputStream inputStream) throws IOException {
+			long size, InputStream inputStream) throws IOException {
 		RootNode root = jadxRef.getRoot();
 		switch (rf.getType()) {
 			case MANIFEST:
@@ -102,7 +112,7 @@ private static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf,
 				if (root.isProto()) {
 					content = jadxRef.getProtoXmlParser().parse(inputStream);
 				} else {
-					content = jadxRef.getBinaryXmlParser().parse(inputStream);
+					content = jadxRef.getBinaryXmlParser().parse(size, inputStream);
 				}
 				return ResContainer.textResource(rf.getDeobfName(), content);
 			}
@@ -111,7 +121,7 @@ private static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf,
 				if (root.isProto()) {
 					return new ResProtoParser(root).decodeFiles(inputStream);
 				} else {
-					return new ResTableParser(root).decodeFiles(inputStream);
+					return new ResTableParser(root).decodeFiles(size, inputStream);
 				}
 
 			case IMG:
@@ -1,25 +1,48 @@
 package jadx.api.impl;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
+import org.jetbrains.annotations.Nullable;
+
 import jadx.api.ICodeInfo;
 import jadx.api.ICodeWriter;
 import jadx.api.JadxArgs;
 import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeMetadata;
 import jadx.api.metadata.ICodeNodeRef;
 import jadx.api.metadata.annotations.NodeDeclareRef;
 import jadx.api.metadata.annotations.VarRef;
+import jadx.api.metadata.impl.CodeMetadataStorage;
 import jadx.core.utils.StringUtils;
 
 public class AnnotatedCodeWriter extends SimpleCodeWriter implements ICodeWriter {
 
+	private static final int[] EMPTY_INTS = new int[0];
+	private static final ICodeAnnotation[] EMPTY_ANNOTATIONS = new ICodeAnnotation[0];
+
 	private int line = 1;
 	private int offset;
-	private Map<Integer, ICodeAnnotation> annotations = Collections.emptyMap();
-	private Map<Integer, Integer> lineMap = Collections.emptyMap();
+
+	/**
+	 * Append only annotations buffer, for same position later annotation replace previous.
+	 * Kept in arrays to allow bulk copy on nested writers merge.
+	 */
+	private int[] annPositions = EMPTY_INTS;
+	private ICodeAnnotation[] annValues = EMPTY_ANNOTATIONS;
+	private int annCount;
+
+	/**
+	 * Append only line mapping buffer: decompiled line -> source line
+	 */
+	private int[] lineNums = EMPTY_INTS;
+	private int[] sourceLines = EMPTY_INTS;
+	private int linesCount;
 
 	public AnnotatedCodeWriter() {
 	}
@@ -68,13 +91,19 @@ public ICodeWriter add(ICodeWriter cw) {
 		AnnotatedCodeWriter code = ((AnnotatedCodeWriter) cw);
 		line--;
 		int startPos = getLength();
-		for (Map.Entry<Integer, ICodeAnnotation> entry : code.annotations.entrySet()) {
-			int pos = entry.getKey();
-			int newPos = startPos + pos;
-			attachAnnotation(entry.getValue(), newPos);
+		int count = code.annCount;
+		if (count != 0) {
+			ensureAnnotationsCapacity(annCount + count);
+			System.arraycopy(code.annValues, 0, annValues, annCount, count);
+			copyShifted(code.annPositions, annPositions, annCount, count, startPos);
+			annCount += count;
 		}
-		for (Map.Entry<Integer, Integer> entry : code.lineMap.entrySet()) {
-			attachSourceLine(line + entry.getKey(), entry.getValue());
+		int codeLinesCount = code.linesCount;
+		if (codeLinesCount != 0) {
+			ensureLinesCapacity(linesCount + codeLinesCount);
+			System.arraycopy(code.sourceLines, 0, sourceLines, linesCount, codeLinesCount);
+			copyShifted(code.lineNums, lineNums, linesCount, codeLinesCount, line);
+			linesCount += codeLinesCount;
 		}
 		line += code.line;
 		offset = code.offset;
@@ -82,6 +111,12 @@ public ICodeWriter add(ICodeWriter cw) {
 		return this;
 	}
 
+	private static void copyShifted(int[] src, int[] dst, int dstPos, int count, int shift) {
+		for (int i = 0; i < count; i++) {
+			dst[dstPos + i] = src[i] + shift;
+		}
+	}
+
 	@Override
 	protected void addLine() {
 		buf.append(NL);
@@ -131,10 +166,19 @@ public void attachLineAnnotation(ICodeAnnotation obj) {
 	}
 
 	private void attachAnnotation(ICodeAnnotation obj, int pos) {
-		if (annotations.isEmpty()) {
-			annotations = new HashMap<>();
+		int idx = annCount;
+		ensureAnnotationsCapacity(idx + 1);
+		annPositions[idx] = pos;
+		annValues[idx] = obj;
+		annCount = idx + 1;
+	}
+
+	private void ensureAnnotationsCapacity(int capacity) {
+		if (capacity > annPositions.length) {
+			int newSize = newCapacity(annPositions.length, capacity);
+			annPositions = Arrays.copyOf(annPositions, newSize);
+			annValues = Arrays.copyOf(annValues, newSize);
 		}
-		annotations.put(pos, obj);
 	}
 
 	@Override
@@ -146,35 +190,96 @@ public void attachSourceLine(int sourceLine) {
 	}
 
 	private void attachSourceLine(int decompiledLine, int sourceLine) {
-		if (lineMap.isEmpty()) {
-			lineMap = new TreeMap<>();
+		int idx = linesCount;
+		ensureLinesCapacity(idx + 1);
+		lineNums[idx] = decompiledLine;
+		sourceLines[idx] = sourceLine;
+		linesCount = idx + 1;
+	}
+
+	private void ensureLinesCapacity(int capacity) {
+		if (capacity > lineNums.length) {
+			int newSize = newCapacity(lineNums.length, capacity);
+			lineNums = Arrays.copyOf(lineNums, newSize);
+			sourceLines = Arrays.copyOf(sourceLines, newSize);
 		}
-		lineMap.put(decompiledLine, sourceLine);
+	}
+
+	private static int newCapacity(int size, int minCapacity) {
+		return Math.max(minCapacity, Math.max(size * 2, 8));
 	}
 
 	@Override
 	public ICodeInfo finish() {
-		validateAnnotations();
+		removeUnusedAnnotations();
+		ICodeMetadata metadata = CodeMetadataStorage.build(buildLineMap(), annPositions, annValues, annCount);
 		String code = buf.toString();
 		buf = null;
-		return new AnnotatedCodeInfo(code, lineMap, annotations);
+		return new AnnotatedCodeInfo(code, metadata);
 	}
 
+	/**
+	 * Read only annotations view, use direct lookups (iteration requires full copy)
+	 */
 	@Override
 	public Map<Integer, ICodeAnnotation> getRawAnnotations() {
-		return annotations;
+		if (annCount == 0) {
+			return Collections.emptyMap();
+		}
+		return new AbstractMap<>() {
+			@Override
+			public ICodeAnnotation get(Object key) {
+				if (key instanceof Integer) {
+					return getAnnotationAt((Integer) key);
+				}
+				return null;
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return get(key) != null;
+			}
+
+			@Override
+			public Set<Entry<Integer, ICodeAnnotation>> entrySet() {
+				Map<Integer, ICodeAnnotation> map = new HashMap<>(annCount);
+				for (int i = 0; i < annCount; i++) {
+					map.put(annPositions[i], annValues[i]);
+				}
+				return Collections.unmodifiableMap(map).entrySet();
+			}
+		};
 	}
 
-	private void validateAnnotations() {
-		if (annotations.isEmpty()) {
-			return;
+	private @Nullable ICodeAnnotation getAnnotationAt(int pos) {
+		for (int i = annCount - 1; i >= 0; i--) {
+			if (annPositions[i] == pos) {
+				return annValues[i];
+			}
 		}
-		annotations.values().removeIf(v -> {
-			if (v.getAnnType() == ICodeAnnotation.AnnType.VAR_REF) {
-				VarRef varRef = (VarRef) v;
-				return varRef.getRefPos() == 0;
+		return null;
+	}
+
+	private Map<Integer, Integer> buildLineMap() {
+		if (linesCount == 0) {
+			return Collections.emptyMap();
+		}
+		Map<Integer, Integer> map = new TreeMap<>();
+		for (int i = 0; i < linesCount; i++) {
+			map.put(lineNums[i], sourceLines[i]);
+		}
+		return map;
+	}
+
+	/**
+	 * Replace not used variable references with null to remove annotation at that position
+	 */
+	private void removeUnusedAnnotations() {
+		for (int i = 0; i < annCount; i++) {
+			ICodeAnnotation ann = annValues[i];
+			if (ann.getAnnType() == ICodeAnnotation.AnnType.VAR_REF && ((VarRef) ann).getRefPos() == 0) {
+				annValues[i] = null;
 			}
-			return false;
-		});
+		}
 	}
 }
@@ -0,0 +1,178 @@
+package jadx.api.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+
+/**
+ * In memory code cache with limited size.
+ * <br>
+ * Least recently used entries are evicted when estimated size of stored code exceeds the limit,
+ * evicted classes will be decompiled again on next request.
+ */
+public class BoundedCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(BoundedCodeCache.class);
+
+	/**
+	 * Approximate size of map entry, code info object and string header
+	 */
+	private static final int ENTRY_OVERHEAD = 128;
+
+	/**
+	 * Approximate size of one metadata annotation: position, index slots and annotation object
+	 */
+	private static final int ANNOTATION_SIZE = 40;
+
+	private final long maxSize;
+	private final Map<String, Entry> storage = new LinkedHashMap<>(64, 0.75f, true);
+
+	private long size;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param maxSize max size of stored code in bytes
+	 */
+	public BoundedCodeCache(long maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Code cache size should be positive, got: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public synchronized void add(String clsFullName, ICodeInfo codeInfo) {
+		long entrySize = estimateSize(clsFullName, codeInfo);
+		Entry prev = storage.put(clsFullName, new Entry(codeInfo, entrySize));
+		if (prev != null) {
+			size -= prev.getSize();
+		}
+		size += entrySize;
+		evict();
+	}
+
+	@Override
+	public synchronized void remove(String clsFullName) {
+		Entry entry = storage.remove(clsFullName);
+		if (entry != null) {
+			size -= entry.getSize();
+		}
+	}
+
+	@Override
+	public synchronized @NotNull ICodeInfo get(String clsFullName) {
+		Entry entry = getEntry(clsFullName);
+		if (entry == null) {
+			return ICodeInfo.EMPTY;
+		}
+		return entry.getCodeInfo();
+	}
+
+	@Override
+	public synchronized @Nullable String getCode(String clsFullName) {
+		Entry entry = getEntry(clsFullName);
+		if (entry == null) {
+			return null;
+		}
+		return entry.getCodeInfo().getCodeStr();
+	}
+
+	@Override
+	public synchronized boolean contains(String clsFullName) {
+		return storage.containsKey(clsFullName);
+	}
+
+	private @Nullable Entry getEntry(String clsFullName) {
+		Entry entry = storage.get(clsFullName);
+		if (entry == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return entry;
+	}
+
+	private void evict() {
+		Iterator<Entry> it = storage.values().iterator();
+		// keep at least one (last added) entry
+		while (size > maxSize && storage.size() > 1) {
+			Entry entry = it.next();
+			it.remove();
+			size -= entry.getSize();
+			evictions++;
+		}
+	}
+
+	private static long estimateSize(String clsFullName, ICodeInfo codeInfo) {
+		long codeSize = (long) codeInfo.getCodeStr().length() * 2;
+		long annotationsSize = codeInfo.hasMetadata()
+				? (long) codeInfo.getCodeMetadata().getAsMap().size() * ANNOTATION_SIZE
+				: 0;
+		return ENTRY_OVERHEAD + clsFullName.length() * 2L + codeSize + annotationsSize;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized long getSize() {
+		return size;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Close code cache: {}", this);
+		}
+		storage.clear();
+		size = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "BoundedCodeCache: size=" + storage.size()
+				+ ", bytes=" + size + '/' + maxSize
+				+ ", hits=" + hits
+				+ ", misses=" + misses
+				+ ", evictions=" + evictions;
+	}
+
+	private static final class Entry {
+		private final ICodeInfo codeInfo;
+		private final long size;
+
+		private Entry(ICodeInfo codeInfo, long size) {
+			this.codeInfo = codeInfo;
+			this.size = size;
+		}
+
+		public ICodeInfo getCodeInfo() {
+			return codeInfo;
+		}
+
+		public long getSize() {
+			return size;
+		}
+	}
+}
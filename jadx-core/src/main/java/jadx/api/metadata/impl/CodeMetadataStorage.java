@@ -1,10 +1,15 @@
 package jadx.api.metadata.impl;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 import org.jetbrains.annotations.Nullable;
@@ -14,59 +19,181 @@
 import jadx.api.metadata.ICodeMetadata;
 import jadx.api.metadata.ICodeNodeRef;
 import jadx.api.metadata.annotations.NodeDeclareRef;
-import jadx.core.utils.Utils;
 
+/**
+ * Annotations stored in arrays sorted by position.
+ * <br>
+ * For every annotation index of enclosing class or method declaration precomputed,
+ * so nodes lookup is a binary search by position.
+ */
 public class CodeMetadataStorage implements ICodeMetadata {
 
 	public static ICodeMetadata build(Map<Integer, Integer> lines, Map<Integer, ICodeAnnotation> map) {
 		if (map.isEmpty() && lines.isEmpty()) {
 			return ICodeMetadata.EMPTY;
 		}
-		Comparator<Integer> reverseCmp = Comparator.comparingInt(Integer::intValue).reversed();
-		NavigableMap<Integer, ICodeAnnotation> navMap = new TreeMap<>(reverseCmp);
-		navMap.putAll(map);
-		return new CodeMetadataStorage(lines, navMap);
+		List<Map.Entry<Integer, ICodeAnnotation>> entries = new ArrayList<>(map.entrySet());
+		entries.sort(Map.Entry.comparingByKey());
+		int count = entries.size();
+		int[] positions = new int[count];
+		ICodeAnnotation[] annotations = new ICodeAnnotation[count];
+		for (int i = 0; i < count; i++) {
+			Map.Entry<Integer, ICodeAnnotation> entry = entries.get(i);
+			positions[i] = entry.getKey();
+			annotations[i] = entry.getValue();
+		}
+		return new CodeMetadataStorage(lines, positions, annotations);
+	}
+
+	/**
+	 * Build from annotations in unsorted arrays,
+	 * for duplicated positions annotation with higher index is used,
+	 * null annotation removes all annotations at same position.
+	 */
+	public static ICodeMetadata build(Map<Integer, Integer> lines, int[] positions, ICodeAnnotation[] annotations, int count) {
+		if (count == 0 && lines.isEmpty()) {
+			return ICodeMetadata.EMPTY;
+		}
+		// sort by position and index using packed keys
+		long[] keys = new long[count];
+		for (int i = 0; i < count; i++) {
+			keys[i] = (long) positions[i] << 32 | i;
+		}
+		Arrays.sort(keys);
+		int[] sortedPositions = new int[count];
+		ICodeAnnotation[] sortedAnnotations = new ICodeAnnotation[count];
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			int pos = (int) (keys[i] >> 32);
+			ICodeAnnotation ann = annotations[(int) keys[i]];
+			if (size != 0 && sortedPositions[size - 1] == pos) {
+				sortedAnnotations[size - 1] = ann;
+			} else {
+				sortedPositions[size] = pos;
+				sortedAnnotations[size] = ann;
+				size++;
+			}
+		}
+		int nonNullSize = 0;
+		for (int i = 0; i < size; i++) {
+			ICodeAnnotation ann = sortedAnnotations[i];
+			if (ann != null) {
+				sortedPositions[nonNullSize] = sortedPositions[i];
+				sortedAnnotations[nonNullSize] = ann;
+				nonNullSize++;
+			}
+		}
+		size = nonNullSize;
+		if (size == 0 && lines.isEmpty()) {
+			return ICodeMetadata.EMPTY;
+		}
+		if (size != count) {
+			sortedPositions = Arrays.copyOf(sortedPositions, size);
+			sortedAnnotations = Arrays.copyOf(sortedAnnotations, size);
+		}
+		return new CodeMetadataStorage(lines, sortedPositions, sortedAnnotations);
 	}
 
 	public static ICodeMetadata empty() {
-		return new CodeMetadataStorage(Collections.emptyMap(), Collections.emptyNavigableMap());
+		return new CodeMetadataStorage(Collections.emptyMap(), new int[0], new ICodeAnnotation[0]);
 	}
 
 	private final Map<Integer, Integer> lines;
 
-	private final NavigableMap<Integer, ICodeAnnotation> navMap;
+	/**
+	 * Annotations positions in ascending order
+	 */
+	private final int[] positions;
+	private final ICodeAnnotation[] annotations;
+
+	/**
+	 * Index of enclosing class or method declaration for every annotation (-1 if none)
+	 */
+	private final int[] enclosingNodes;
+
+	/**
+	 * Indexes of class and method declarations in ascending order
+	 */
+	private final int[] nodeDeclarations;
 
-	private CodeMetadataStorage(Map<Integer, Integer> lines, NavigableMap<Integer, ICodeAnnotation> navMap) {
+	private CodeMetadataStorage(Map<Integer, Integer> lines, int[] positions, ICodeAnnotation[] annotations) {
 		this.lines = lines;
-		this.navMap = navMap;
+		this.positions = positions;
+		this.annotations = annotations;
+		int count = positions.length;
+		int[] enclosing = new int[count];
+		int[] declarations = new int[count];
+		int declCount = 0;
+		for (int i = 0; i < count; i++) {
+			ICodeAnnotation ann = annotations[i];
+			if (getDeclaredNode(ann) != null) {
+				enclosing[i] = i;
+				declarations[declCount++] = i;
+			} else {
+				int prev = i == 0 ? -1 : enclosing[i - 1];
+				if (ann.getAnnType() == AnnType.END) {
+					// end of node enclosing previous annotation, use node enclosing its declaration
+					enclosing[i] = prev <= 0 ? -1 : enclosing[prev - 1];
+				} else {
+					enclosing[i] = prev;
+				}
+			}
+		}
+		this.enclosingNodes = enclosing;
+		this.nodeDeclarations = Arrays.copyOf(declarations, declCount);
+	}
+
+	private static @Nullable ICodeNodeRef getDeclaredNode(ICodeAnnotation ann) {
+		if (ann.getAnnType() == AnnType.DECLARATION) {
+			ICodeNodeRef node = ((NodeDeclareRef) ann).getNode();
+			AnnType nodeType = node.getAnnType();
+			if (nodeType == AnnType.CLASS || nodeType == AnnType.METHOD) {
+				return node;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Index of last annotation with position less or equal to {@code position}, -1 if not found
+	 */
+	private int floorIndex(int position) {
+		int idx = Arrays.binarySearch(positions, position);
+		return idx >= 0 ? idx : -idx - 2;
+	}
+
+	/**
+	 * Index of first annotation with position greater or equal to {@code position},
+	 * annotations count if not found
+	 */
+	private int ceilingIndex(int position) {
+		int idx = Arrays.binarySearch(positions, position);
+		return idx >= 0 ? idx : -idx - 1;
 	}
 
 	@Override
 	public ICodeAnnotation getAt(int position) {
-		return navMap.get(position);
+		int idx = Arrays.binarySearch(positions, position);
+		return idx >= 0 ? annotations[idx] : null;
 	}
 
 	@Override
 	public @Nullable ICodeAnnotation getClosestUp(int position) {
-		Map.Entry<Integer, ICodeAnnotation> entryBefore = navMap.higherEntry(position);
-		return entryBefore != null ? entryBefore.getValue() : null;
+		int idx = floorIndex(position - 1);
+		return idx >= 0 ? annotations[idx] : null;
 	}
 
 	@Override
 	public @Nullable ICodeAnnotation searchUp(int position, AnnType annType) {
-		for (ICodeAnnotation v : navMap.tailMap(position, true).values()) {
-			if (v.getAnnType() == annType) {
-				return v;
-			}
-		}
-		return null;
+		return searchUp(position, Integer.MIN_VALUE, annType);
 	}
 
 	@Override
 	public @Nullable ICodeAnnotation searchUp(int position, int limitPos, AnnType annType) {
-		for (ICodeAnnotation v : navMap.subMap(position, true, limitPos, true).values()) {
-			if (v.getAnnType() == annType) {
-				return v;
+		for (int i = floorIndex(position); i >= 0 && positions[i] >= limitPos; i--) {
+			ICodeAnnotation ann = annotations[i];
+			if (ann.getAnnType() == annType) {
+				return ann;
 			}
 		}
 		return null;
@@ -74,8 +201,8 @@ public ICodeAnnotation getAt(int position) {
 
 	@Override
 	public <T> @Nullable T searchUp(int startPos, BiFunction<Integer, ICodeAnnotation, T> visitor) {
-		for (Map.Entry<Integer, ICodeAnnotation> entry : navMap.tailMap(startPos, true).entrySet()) {
-			T value = visitor.apply(entry.getKey(), entry.getValue());
+		for (int i = floorIndex(startPos); i >= 0; i--) {
+			T value = visitor.apply(positions[i], annotations[i]);
 			if (value != null) {
 				return value;
 			}
@@ -85,9 +212,9 @@ public ICodeAnnotation getAt(int position) {
 
 	@Override
 	public <T> @Nullable T searchDown(int startPos, BiFunction<Integer, ICodeAnnotation, T> visitor) {
-		NavigableMap<Integer, ICodeAnnotation> map = navMap.headMap(startPos, true).descendingMap();
-		for (Map.Entry<Integer, ICodeAnnotation> entry : map.entrySet()) {
-			T value = visitor.apply(entry.getKey(), entry.getValue());
+		int count = positions.length;
+		for (int i = ceilingIndex(startPos); i < count; i++) {
+			T value = visitor.apply(positions[i], annotations[i]);
 			if (value != null) {
 				return value;
 			}
@@ -97,45 +224,36 @@ public ICodeAnnotation getAt(int position) {
 
 	@Override
 	public ICodeNodeRef getNodeAt(int position) {
-		int nesting = 0;
-		for (ICodeAnnotation ann : navMap.tailMap(position, true).values()) {
-			switch (ann.getAnnType()) {
-				case END:
-					nesting++;
-					break;
-
-				case DECLARATION:
-					ICodeNodeRef node = ((NodeDeclareRef) ann).getNode();
-					AnnType nodeType = node.getAnnType();
-					if (nodeType == AnnType.CLASS || nodeType == AnnType.METHOD) {
-						if (nesting == 0) {
-							return node;
-						}
-						nesting--;
-					}
-					break;
-			}
+		int idx = floorIndex(position);
+		if (idx < 0) {
+			return null;
 		}
-		return null;
+		int nodeIdx = enclosingNodes[idx];
+		if (nodeIdx < 0) {
+			return null;
+		}
+		return getDeclaredNode(annotations[nodeIdx]);
 	}
 
 	@Override
 	public ICodeNodeRef getNodeBelow(int position) {
-		for (ICodeAnnotation ann : navMap.headMap(position, true).descendingMap().values()) {
-			if (ann.getAnnType() == AnnType.DECLARATION) {
-				ICodeNodeRef node = ((NodeDeclareRef) ann).getNode();
-				AnnType nodeType = node.getAnnType();
-				if (nodeType == AnnType.CLASS || nodeType == AnnType.METHOD) {
-					return node;
-				}
-			}
+		int idx = ceilingIndex(position);
+		int declIdx = Arrays.binarySearch(nodeDeclarations, idx);
+		if (declIdx < 0) {
+			declIdx = -declIdx - 1;
 		}
-		return null;
+		if (declIdx >= nodeDeclarations.length) {
+			return null;
+		}
+		return getDeclaredNode(annotations[nodeDeclarations[declIdx]]);
 	}
 
+	/**
+	 * Read only view, iteration goes from higher positions to lower
+	 */
 	@Override
-	public NavigableMap<Integer, ICodeAnnotation> getAsMap() {
-		return navMap;
+	public Map<Integer, ICodeAnnotation> getAsMap() {
+		return new AnnotationsMap();
 	}
 
 	@Override
@@ -145,7 +263,64 @@ public Map<Integer, Integer> getLineMapping() {
 
 	@Override
 	public String toString() {
-		return "CodeMetadata{\nlines=" + lines
-				+ "\nannotations=\n " + Utils.listToString(navMap.descendingMap().entrySet(), "\n ") + "\n}";
+		StringBuilder sb = new StringBuilder();
+		sb.append("CodeMetadata{\nlines=").append(lines).append("\nannotations=\n");
+		for (int i = 0; i < positions.length; i++) {
+			sb.append(' ').append(positions[i]).append('=').append(annotations[i]).append('\n');
+		}
+		sb.append('}');
+		return sb.toString();
+	}
+
+	private final class AnnotationsMap extends AbstractMap<Integer, ICodeAnnotation> {
+
+		@Override
+		public int size() {
+			return positions.length;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public ICodeAnnotation get(Object key) {
+			if (key instanceof Integer) {
+				return getAt((Integer) key);
+			}
+			return null;
+		}
+
+		@Override
+		public Set<Entry<Integer, ICodeAnnotation>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<Integer, ICodeAnnotation>> iterator() {
+					return new Iterator<>() {
+						private int idx = positions.length - 1;
+
+						@Override
+						public boolean hasNext() {
+							return idx >= 0;
+						}
+
+						@Override
+						public Entry<Integer, ICodeAnnotation> next() {
+							if (idx < 0) {
+								throw new NoSuchElementException();
+							}
+							int i = idx--;
+							return new SimpleImmutableEntry<>(positions[i], annotations[i]);
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return positions.length;
+				}
+			};
+		}
 	}
 }
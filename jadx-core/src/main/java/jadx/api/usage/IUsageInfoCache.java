@@ -12,4 +12,12 @@ public interface IUsageInfoCache extends Closeable {
 	IUsageInfoData get(RootNode root);
 
 	void set(RootNode root, IUsageInfoData data);
+
+	/**
+	 * Usage data changed after class reload.
+	 * By default, processed same as {@link #set(RootNode, IUsageInfoData)}.
+	 */
+	default void update(RootNode root, IUsageInfoData data) {
+		set(root, data);
+	}
 }
@@ -1,6 +1,8 @@
 package jadx.core;
 
+import java.io.File;
 import java.util.List;
+import java.util.function.Function;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -37,7 +39,8 @@ public ProcessClass(JadxArgs args) {
 	}
 
 	@Nullable
-	private ICodeInfo process(ClassNode cls, boolean codegen) {
+	private ICodeInfo process(ClassNode cls, @Nullable Function<ClassNode, ICodeInfo> codeGen) {
+		boolean codegen = codeGen != null;
 		if (!codegen && cls.getState() == PROCESS_COMPLETE) {
 			// nothing to do
 			return null;
@@ -77,7 +80,7 @@ private ICodeInfo process(ClassNode cls, boolean codegen) {
 					cls.setState(PROCESS_COMPLETE);
 				}
 				if (codegen) {
-					ICodeInfo code = CodeGen.generate(cls);
+					ICodeInfo code = codeGen.apply(cls);
 					if (!cls.contains(AFlag.DONT_UNLOAD_CLASS)) {
 						cls.unload();
 						cls.setState(GENERATED_AND_UNLOADED);
@@ -97,25 +100,39 @@ private ICodeInfo process(ClassNode cls, boolean codegen) {
 
 	@NotNull
 	public ICodeInfo generateCode(ClassNode cls) {
+		return generateCode(cls, CodeGen::generate);
+	}
+
+	/**
+	 * Generate code and write it directly into output file, see {@link CodeGen#write(ClassNode, File)}
+	 */
+	public void writeCode(ClassNode cls, File outFile) {
+		generateCode(cls, c -> {
+			CodeGen.write(c, outFile);
+			return NOT_GENERATED;
+		});
+	}
+
+	private ICodeInfo generateCode(ClassNode cls, Function<ClassNode, ICodeInfo> codeGen) {
 		ClassNode topParentClass = cls.getTopParentClass();
 		if (topParentClass != cls) {
-			return generateCode(topParentClass);
+			return generateCode(topParentClass, codeGen);
 		}
 		try {
 			if (cls.contains(AFlag.DONT_GENERATE)) {
-				process(cls, false);
+				process(cls, null);
 				return NOT_GENERATED;
 			}
 			for (ClassNode depCls : cls.getDependencies()) {
-				process(depCls, false);
+				process(depCls, null);
 			}
 			if (!cls.getCodegenDeps().isEmpty()) {
-				process(cls, false);
+				process(cls, null);
 				for (ClassNode codegenDep : cls.getCodegenDeps()) {
-					process(codegenDep, false);
+					process(codegenDep, null);
 				}
 			}
-			ICodeInfo code = process(cls, true);
+			ICodeInfo code = process(cls, codeGen);
 			if (code == null) {
 				throw new JadxRuntimeException("Codegen failed");
 			}
@@ -2,12 +2,14 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -30,10 +32,15 @@ public class ClspGraph {
 
 	private final RootNode root;
 	private Map<String, ClspClass> nameMap;
-	private Map<String, Set<String>> superTypesCache;
-	private Map<String, List<String>> implementsCache;
+	private int nextClsId;
 
-	private final Set<String> missingClasses = new HashSet<>();
+	/**
+	 * Super types of class by class id, filled lazily
+	 */
+	private SuperTypes[] superTypesCache;
+	private volatile Map<String, List<String>> implementsCache;
+
+	private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
 
 	public ClspGraph(RootNode rootNode) {
 		this.root = rootNode;
@@ -49,6 +56,7 @@ public void addClasspath(ClsSet set) {
 		if (nameMap == null) {
 			nameMap = new HashMap<>(set.getClassesCount());
 			set.addToMap(nameMap);
+			nextClsId = set.getClassesCount();
 		} else {
 			throw new JadxRuntimeException("Classpath already loaded");
 		}
@@ -64,8 +72,15 @@ public void addApp(List<ClassNode> classes) {
 	}
 
 	public void initCache() {
-		fillSuperTypesCache();
-		fillImplementsCache();
+		for (ClspClass cls : nameMap.values()) {
+			// super types computed lazily, but report all unknown parents
+			for (ArgType parentType : cls.getParents()) {
+				if (parentType != null) {
+					getClspClass(parentType);
+				}
+			}
+		}
+		superTypesCache = new SuperTypes[nextClsId];
 	}
 
 	public boolean isClsKnown(String fullName) {
@@ -107,7 +122,7 @@ private ClspMethod getMethodFromClass(ClspClass cls, MethodInfo methodInfo) {
 	private void addClass(ClassNode cls) {
 		ArgType clsType = cls.getClassInfo().getType();
 		String rawName = clsType.getObject();
-		ClspClass clspClass = new ClspClass(clsType, -1, cls.getAccessFlags().rawValue(), ClspClassSource.APP);
+		ClspClass clspClass = new ClspClass(clsType, nextClsId++, cls.getAccessFlags().rawValue(), ClspClassSource.APP);
 		clspClass.setParents(ClsSet.makeParentsArray(cls));
 		nameMap.put(rawName, clspClass);
 	}
@@ -116,25 +131,37 @@ private void addClass(ClassNode cls) {
 	 * @return {@code clsName} instanceof {@code implClsName}
 	 */
 	public boolean isImplements(String clsName, String implClsName) {
-		Set<String> anc = getSuperTypes(clsName);
-		return anc.contains(implClsName);
+		ClspClass cls = nameMap.get(clsName);
+		if (cls == null) {
+			return false;
+		}
+		return isSuperType(getSuperTypesData(cls), implClsName);
 	}
 
 	public List<String> getImplementations(String clsName) {
-		List<String> list = implementsCache.get(clsName);
+		Map<String, List<String>> map = implementsCache;
+		if (map == null) {
+			map = fillImplementsCache();
+		}
+		List<String> list = map.get(clsName);
 		return list == null ? Collections.emptyList() : list;
 	}
 
-	private void fillImplementsCache() {
-		Map<String, List<String>> map = new HashMap<>(nameMap.size());
+	private synchronized Map<String, List<String>> fillImplementsCache() {
+		Map<String, List<String>> map = implementsCache;
+		if (map != null) {
+			return map;
+		}
+		map = new HashMap<>();
 		List<String> classes = new ArrayList<>(nameMap.keySet());
 		Collections.sort(classes);
 		for (String cls : classes) {
-			for (String st : getSuperTypes(cls)) {
+			for (String st : getSuperTypesData(nameMap.get(cls)).names) {
 				map.computeIfAbsent(st, v -> new ArrayList<>()).add(cls);
 			}
 		}
 		implementsCache = map;
+		return map;
 	}
 
 	public String getCommonAncestor(String clsName, String implClsName) {
@@ -146,17 +173,18 @@ public String getCommonAncestor(String clsName, String implClsName) {
 			missingClasses.add(clsName);
 			return null;
 		}
-		if (isImplements(clsName, implClsName)) {
+		ClspClass ancCls = nameMap.get(clsName);
+		SuperTypes anc = ancCls == null ? EMPTY_SUPER_TYPES : getSuperTypesData(ancCls);
+		if (isSuperType(anc, implClsName)) {
 			return implClsName;
 		}
-		Set<String> anc = getSuperTypes(clsName);
 		return searchCommonParent(anc, cls);
 	}
 
-	private String searchCommonParent(Set<String> anc, ClspClass cls) {
+	private String searchCommonParent(SuperTypes anc, ClspClass cls) {
 		for (ArgType p : cls.getParents()) {
 			String name = p.getObject();
-			if (anc.contains(name)) {
+			if (isSuperType(anc, name)) {
 				return name;
 			}
 			ClspClass nCls = getClspClass(p);
@@ -170,44 +198,74 @@ private String searchCommonParent(Set<String> anc, ClspClass cls) {
 		return null;
 	}
 
+	/**
+	 * Build super types set from cached data, use {@link #isImplements(String, String)} for checks.
+	 */
 	public Set<String> getSuperTypes(String clsName) {
-		Set<String> result = superTypesCache.get(clsName);
-		return result == null ? Collections.emptySet() : result;
+		ClspClass cls = nameMap.get(clsName);
+		if (cls == null) {
+			return Collections.emptySet();
+		}
+		String[] names = getSuperTypesData(cls).names;
+		switch (names.length) {
+			case 0:
+				return Collections.emptySet();
+			case 1: {
+				String supCls = names[0];
+				if (supCls.equals(Consts.CLASS_OBJECT)) {
+					return OBJECT_SINGLE_SET;
+				}
+				return Collections.singleton(supCls);
+			}
+			default:
+				// same capacity and insertion order as set copied from DFS result, so iteration order is stable
+				return new HashSet<>(Arrays.asList(names));
+		}
 	}
 
 	private static final Set<String> OBJECT_SINGLE_SET = Collections.singleton(Consts.CLASS_OBJECT);
 
-	private void fillSuperTypesCache() {
-		Map<String, Set<String>> map = new HashMap<>(nameMap.size());
+	/**
+	 * Compute and cache super types as sorted ids array and names in DFS result set order.
+	 * Concurrent computation for same class is harmless: stored objects are immutable and equal.
+	 */
+	private SuperTypes getSuperTypesData(ClspClass cls) {
+		int id = cls.getId();
+		SuperTypes cached = superTypesCache[id];
+		if (cached != null) {
+			return cached;
+		}
 		Set<String> tmpSet = new HashSet<>();
-		for (Map.Entry<String, ClspClass> entry : nameMap.entrySet()) {
-			ClspClass cls = entry.getValue();
-			tmpSet.clear();
-			addSuperTypes(cls, tmpSet);
-			Set<String> result;
-			int size = tmpSet.size();
-			switch (size) {
-				case 0: {
-					result = Collections.emptySet();
-					break;
-				}
-				case 1: {
-					String supCls = tmpSet.iterator().next();
-					if (supCls.equals(Consts.CLASS_OBJECT)) {
-						result = OBJECT_SINGLE_SET;
-					} else {
-						result = Collections.singleton(supCls);
-					}
-					break;
-				}
-				default: {
-					result = new HashSet<>(tmpSet);
-					break;
-				}
+		addSuperTypes(cls, tmpSet);
+		int[] ids = new int[tmpSet.size()];
+		int idsCount = 0;
+		for (String name : tmpSet) {
+			ClspClass superCls = nameMap.get(name);
+			if (superCls != null) {
+				ids[idsCount++] = superCls.getId();
 			}
-			map.put(cls.getName(), result);
 		}
-		superTypesCache = map;
+		int[] sortedIds = idsCount == ids.length ? ids : Arrays.copyOf(ids, idsCount);
+		Arrays.sort(sortedIds);
+		SuperTypes superTypes = new SuperTypes(sortedIds, tmpSet.toArray(new String[0]));
+		superTypesCache[id] = superTypes;
+		return superTypes;
+	}
+
+	private static final SuperTypes EMPTY_SUPER_TYPES = new SuperTypes(new int[0], new String[0]);
+
+	private boolean isSuperType(SuperTypes superTypes, String clsName) {
+		ClspClass cls = nameMap.get(clsName);
+		if (cls != null) {
+			return Arrays.binarySearch(superTypes.ids, cls.getId()) >= 0;
+		}
+		// super type missing in classpath
+		for (String name : superTypes.names) {
+			if (name.equals(clsName)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private void addSuperTypes(ClspClass cls, Set<String> result) {
@@ -251,4 +309,21 @@ public void printMissingClasses() {
 			}
 		}
 	}
+
+	private static final class SuperTypes {
+		/**
+		 * Sorted ids of known super types
+		 */
+		private final int[] ids;
+
+		/**
+		 * All super types names (including missing in classpath) in iteration order of DFS result set
+		 */
+		private final String[] names;
+
+		private SuperTypes(int[] ids, String[] names) {
+			this.ids = ids;
+			this.names = names;
+		}
+	}
 }
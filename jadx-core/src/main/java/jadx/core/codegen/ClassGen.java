@@ -1,6 +1,7 @@
 package jadx.core.codegen;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -96,18 +97,30 @@ public ClassNode getClassNode() {
 	}
 
 	public ICodeInfo makeClass() throws CodegenException {
+		List<ICodeWriter> parts = makeClassParts();
+		ICodeWriter clsCode = parts.get(0);
+		for (int i = 1; i < parts.size(); i++) {
+			clsCode.add(parts.get(i));
+		}
+		return clsCode.finish();
+	}
+
+	/**
+	 * Generate class code as not finished parts (header with imports and class body),
+	 * so parts can be written to output directly without building final code string.
+	 */
+	public List<ICodeWriter> makeClassParts() throws CodegenException {
 		if (cls.contains(AFlag.PACKAGE_INFO)) {
-			return makePackageInfo();
+			return Collections.singletonList(makePackageInfo());
 		}
 		ICodeWriter clsBody = cls.root().makeCodeWriter();
 		addClassCode(clsBody);
 
-		ICodeWriter clsCode = cls.root().makeCodeWriter();
-		addPackage(clsCode);
-		clsCode.newLine();
-		addImports(clsCode);
-		clsCode.add(clsBody);
-		return clsCode.finish();
+		ICodeWriter clsHeader = cls.root().makeCodeWriter();
+		addPackage(clsHeader);
+		clsHeader.newLine();
+		addImports(clsHeader);
+		return Arrays.asList(clsHeader, clsBody);
 	}
 
 	private void addPackage(ICodeWriter clsCode) {
@@ -137,7 +150,7 @@ private void addImports(ICodeWriter clsCode) {
 		}
 	}
 
-	private ICodeInfo makePackageInfo() {
+	private ICodeWriter makePackageInfo() {
 		ICodeWriter code = cls.root().makeCodeWriter();
 		annotationGen.addForClass(code);
 		code.newLine();
@@ -145,7 +158,7 @@ private ICodeInfo makePackageInfo() {
 		addPackage(code);
 		code.newLine();
 		addImports(code);
-		return code.finish();
+		return code;
 	}
 
 	public void addClassCode(ICodeWriter code) throws CodegenException {
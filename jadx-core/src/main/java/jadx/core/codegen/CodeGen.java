@@ -1,13 +1,19 @@
 package jadx.core.codegen;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
 import jadx.api.JadxArgs;
 import jadx.api.impl.SimpleCodeInfo;
 import jadx.core.codegen.json.JsonCodeGen;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.visitors.SaveCode;
+import jadx.core.utils.ListUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 public class CodeGen {
@@ -29,6 +35,34 @@ public static ICodeInfo generate(ClassNode cls) {
 		}
 	}
 
+	/**
+	 * Generate code and write it directly into output file without building final code string.
+	 * Code metadata is not saved.
+	 */
+	public static void write(ClassNode cls, File outFile) {
+		if (cls.contains(AFlag.DONT_GENERATE)) {
+			return;
+		}
+		JadxArgs args = cls.root().getArgs();
+		List<? extends CharSequence> codeParts;
+		switch (args.getOutputFormat()) {
+			case JAVA:
+				ClassGen clsGen = new ClassGen(cls, args);
+				List<ICodeWriter> parts = wrapCodeGen(cls, clsGen::makeClassParts);
+				codeParts = ListUtils.map(parts, ICodeWriter::getRawBuf);
+				break;
+
+			case JSON:
+				JsonCodeGen codeGen = new JsonCodeGen(cls);
+				codeParts = Collections.singletonList(wrapCodeGen(cls, codeGen::process));
+				break;
+
+			default:
+				throw new JadxRuntimeException("Unknown output format");
+		}
+		SaveCode.save(codeParts, outFile);
+	}
+
 	private static ICodeInfo generateJavaCode(ClassNode cls, JadxArgs args) {
 		ClassGen clsGen = new ClassGen(cls, args);
 		return wrapCodeGen(cls, clsGen::makeClass);
@@ -1,66 +1,61 @@
 package jadx.core.dex.info;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
 import jadx.core.dex.instructions.args.ArgType;
 
+/**
+ * Interning storage for class, method, field and package info objects.
+ * Used concurrently from all decompilation threads, so all maps are concurrent
+ * and lookups for already added objects don't take locks.
+ */
 public class InfoStorage {
 
-	private final Map<ArgType, ClassInfo> classes = new HashMap<>();
-	private final Map<FieldInfo, FieldInfo> fields = new HashMap<>();
+	private final Map<ArgType, ClassInfo> classes = new ConcurrentHashMap<>();
+	private final Map<FieldInfo, FieldInfo> fields = new ConcurrentHashMap<>();
 	// use only one MethodInfo instance
-	private final Map<MethodInfo, MethodInfo> uniqueMethods = new HashMap<>();
+	private final Map<MethodInfo, MethodInfo> uniqueMethods = new ConcurrentHashMap<>();
 	// can contain same method with different ids (from different files)
-	private final Map<Integer, MethodInfo> methods = new HashMap<>();
+	private final Map<Integer, MethodInfo> methods = new ConcurrentHashMap<>();
 
-	private final Map<String, PackageInfo> packages = new HashMap<>();
+	private final Map<String, PackageInfo> packages = new ConcurrentHashMap<>();
 
 	public ClassInfo getCls(ArgType type) {
 		return classes.get(type);
 	}
 
 	public ClassInfo putCls(ClassInfo cls) {
-		synchronized (classes) {
-			ClassInfo prev = classes.put(cls.getType(), cls);
-			return prev == null ? cls : prev;
-		}
+		ClassInfo prev = classes.putIfAbsent(cls.getType(), cls);
+		return prev == null ? cls : prev;
 	}
 
 	public MethodInfo getByUniqId(int id) {
-		synchronized (methods) {
-			return methods.get(id);
-		}
+		return methods.get(id);
 	}
 
 	public void putByUniqId(int id, MethodInfo mth) {
-		synchronized (methods) {
-			methods.put(id, mth);
-		}
+		methods.put(id, mth);
 	}
 
 	public MethodInfo putMethod(MethodInfo newMth) {
-		synchronized (uniqueMethods) {
-			MethodInfo prev = uniqueMethods.get(newMth);
-			if (prev != null) {
-				return prev;
-			}
-			uniqueMethods.put(newMth, newMth);
-			return newMth;
-		}
+		return intern(uniqueMethods, newMth);
 	}
 
 	public FieldInfo getField(FieldInfo field) {
-		synchronized (fields) {
-			FieldInfo f = fields.get(field);
-			if (f != null) {
-				return f;
-			}
-			fields.put(field, field);
-			return field;
+		return intern(fields, field);
+	}
+
+	private static <T> T intern(Map<T, T> map, T obj) {
+		// check without lock first, most requests are for already added objects
+		T prev = map.get(obj);
+		if (prev != null) {
+			return prev;
 		}
+		prev = map.putIfAbsent(obj, obj);
+		return prev == null ? obj : prev;
 	}
 
 	public @Nullable PackageInfo getPkg(String fullName) {
@@ -1,5 +1,6 @@
 package jadx.core.dex.nodes;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -51,6 +52,7 @@
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.LiteralArg;
 import jadx.core.dex.nodes.utils.TypeUtils;
+import jadx.core.dex.visitors.SaveCode;
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -225,10 +227,18 @@ public static ClassNode addSyntheticClass(RootNode root, String name, int access
 	}
 
 	public static ClassNode addSyntheticClass(RootNode root, ClassInfo clsInfo, int accessFlags) {
+		ClassNode cls = makeSyntheticClass(root, clsInfo, accessFlags);
+		root.addClassNode(cls);
+		return cls;
+	}
+
+	/**
+	 * Create synthetic class without adding it into root node
+	 */
+	public static ClassNode makeSyntheticClass(RootNode root, ClassInfo clsInfo, int accessFlags) {
 		ClassNode cls = new ClassNode(root, clsInfo, accessFlags);
 		cls.add(AFlag.SYNTHETIC);
 		cls.setState(ProcessState.PROCESS_COMPLETE);
-		root.addClassNode(cls);
 		return cls;
 	}
 
@@ -378,6 +388,22 @@ public void unloadFromCache() {
 		codeCache.remove(getRawName());
 	}
 
+	/**
+	 * Generate code and write it directly into output file without code cache usage.
+	 * Useful for one time code export.
+	 */
+	public synchronized void saveCode(File outFile) {
+		if (isInner()) {
+			return;
+		}
+		try {
+			root.getProcessClasses().writeCode(this, outFile);
+		} catch (Throwable e) {
+			addError("Code generation failed", e);
+			SaveCode.save(Utils.getStackTrace(e), outFile);
+		}
+	}
+
 	private synchronized ICodeInfo decompile(boolean searchInCache) {
 		if (isInner()) {
 			return ICodeInfo.EMPTY;
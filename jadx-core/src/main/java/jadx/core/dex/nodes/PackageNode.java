@@ -27,25 +27,33 @@ public class PackageNode extends LineAttrNode
 
 	private JavaPackage javaNode;
 
+	/**
+	 * Packages of one root updated under lock on root packages list,
+	 * so classes can be loaded in parallel.
+	 */
 	public static PackageNode getForClass(RootNode root, String fullPkg, ClassNode cls) {
-		PackageNode pkg = getOrBuild(root, fullPkg);
-		pkg.getClasses().add(cls);
-		return pkg;
+		synchronized (root.getPackages()) {
+			PackageNode pkg = getOrBuild(root, fullPkg);
+			pkg.getClasses().add(cls);
+			return pkg;
+		}
 	}
 
 	public static PackageNode getOrBuild(RootNode root, String fullPkg) {
-		PackageNode existPkg = root.resolvePackage(fullPkg);
-		if (existPkg != null) {
-			return existPkg;
-		}
-		PackageInfo pgkInfo = PackageInfo.fromFullPkg(root, fullPkg);
-		PackageNode parentPkg = getParentPkg(root, pgkInfo);
-		PackageNode pkgNode = new PackageNode(root, parentPkg, pgkInfo);
-		if (parentPkg != null) {
-			parentPkg.getSubPackages().add(pkgNode);
+		synchronized (root.getPackages()) {
+			PackageNode existPkg = root.resolvePackage(fullPkg);
+			if (existPkg != null) {
+				return existPkg;
+			}
+			PackageInfo pgkInfo = PackageInfo.fromFullPkg(root, fullPkg);
+			PackageNode parentPkg = getParentPkg(root, pgkInfo);
+			PackageNode pkgNode = new PackageNode(root, parentPkg, pgkInfo);
+			if (parentPkg != null) {
+				parentPkg.getSubPackages().add(pkgNode);
+			}
+			root.addPackage(pkgNode);
+			return pkgNode;
 		}
-		root.addPackage(pkgNode);
-		return pkgNode;
 	}
 
 	private static @Nullable PackageNode getParentPkg(RootNode root, PackageInfo pgkInfo) {
@@ -6,6 +6,12 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
@@ -44,12 +50,14 @@
 import jadx.core.dex.nodes.utils.TypeUtils;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.typeinference.TypeCompare;
 import jadx.core.dex.visitors.typeinference.TypeUpdate;
 import jadx.core.export.GradleInfoStorage;
 import jadx.core.utils.CacheStorage;
 import jadx.core.utils.ErrorsCounter;
 import jadx.core.utils.PassMerge;
+import jadx.core.utils.PassesProfiler;
 import jadx.core.utils.StringUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.android.AndroidResourcesUtils;
@@ -70,6 +78,8 @@ public class RootNode {
 
 	private final ProcessClass processClasses;
 	private final ErrorsCounter errorsCounter = new ErrorsCounter();
+	private final @Nullable PassesProfiler passesProfiler;
+	private @Nullable ForkJoinPool preDecompilePool;
 	private final StringUtils stringUtils;
 	private final ConstStorage constValues;
 	private final InfoStorage infoStorage = new InfoStorage();
@@ -109,6 +119,7 @@ public RootNode(JadxArgs args) {
 		this.typeUpdate = new TypeUpdate(this);
 		this.methodUtils = new MethodUtils(this);
 		this.typeUtils = new TypeUtils(this);
+		this.passesProfiler = args.isProfilePasses() ? new PassesProfiler() : null;
 		this.isProto = args.getInputFiles().size() > 0 && args.getInputFiles().get(0).getName().toLowerCase().endsWith(".aab");
 	}
 
@@ -122,15 +133,15 @@ public void init() {
 	}
 
 	public void loadClasses(List<ICodeLoader> loadedInputs) {
-		for (ICodeLoader codeLoader : loadedInputs) {
-			codeLoader.visitClasses(cls -> {
-				try {
-					addClassNode(new ClassNode(RootNode.this, cls));
-				} catch (Exception e) {
-					addDummyClass(cls, e);
-				}
-				Utils.checkThreadInterrupt();
-			});
+		long start = System.currentTimeMillis();
+		List<InputLoadInfo> inputsInfo;
+		if (args.isLoadClassesInParallel() && args.getThreadsCount() > 1) {
+			inputsInfo = loadInputsInParallel(loadedInputs);
+		} else {
+			inputsInfo = new ArrayList<>(loadedInputs.size());
+			for (ICodeLoader codeLoader : loadedInputs) {
+				inputsInfo.add(loadInput(codeLoader, this::addClassNode));
+			}
 		}
 		if (classes.size() != clsMap.size()) {
 			// class name duplication detected
@@ -141,7 +152,8 @@ public void loadClasses(List<ICodeLoader> loadedInputs) {
 		// print stats for loaded classes
 		int mthCount = classes.stream().mapToInt(c -> c.getMethods().size()).sum();
 		int insnsCount = classes.stream().flatMap(c -> c.getMethods().stream()).mapToInt(MethodNode::getInsnsCount).sum();
-		LOG.info("Loaded classes: {}, methods: {}, instructions: {}", classes.size(), mthCount, insnsCount);
+		LOG.info("Loaded classes: {}, methods: {}, instructions: {}, time: {}ms, inputs: {}",
+				classes.size(), mthCount, insnsCount, System.currentTimeMillis() - start, inputsInfo);
 
 		// sort classes by name, expect top classes before inner
 		classes.sort(Comparator.comparing(ClassNode::getFullName));
@@ -154,7 +166,108 @@ public void loadClasses(List<ICodeLoader> loadedInputs) {
 		Collections.sort(packages);
 	}
 
-	private void addDummyClass(IClassData classData, Exception exc) {
+	private InputLoadInfo loadInput(ICodeLoader codeLoader, Consumer<ClassNode> addCls) {
+		InputLoadInfo loadInfo = new InputLoadInfo();
+		long start = System.currentTimeMillis();
+		codeLoader.visitClasses(cls -> {
+			if (loadInfo.name == null) {
+				loadInfo.name = cls.getInputFileName();
+			}
+			try {
+				addCls.accept(new ClassNode(RootNode.this, cls));
+			} catch (Exception e) {
+				addDummyClass(cls, e, addCls);
+			}
+			loadInfo.count++;
+			Utils.checkThreadInterrupt();
+		});
+		loadInfo.time = System.currentTimeMillis() - start;
+		return loadInfo;
+	}
+
+	/**
+	 * Decode each input part in separate thread.
+	 * Loaded classes added into root only after all parts are finished to keep same order as in sequential load.
+	 */
+	private List<InputLoadInfo> loadInputsInParallel(List<ICodeLoader> loadedInputs) {
+		List<ICodeLoader> parts = new ArrayList<>();
+		for (ICodeLoader codeLoader : loadedInputs) {
+			parts.addAll(codeLoader.split());
+		}
+		int threads = Math.min(parts.size(), args.getThreadsCount());
+		if (threads <= 1) {
+			List<InputLoadInfo> inputsInfo = new ArrayList<>(parts.size());
+			for (ICodeLoader part : parts) {
+				inputsInfo.add(loadInput(part, this::addClassNode));
+			}
+			return inputsInfo;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<ClassNode>>> futures = new ArrayList<>(parts.size());
+			List<InputLoadInfo> inputsInfo = new ArrayList<>(parts.size());
+			for (ICodeLoader part : parts) {
+				InputLoadInfo loadInfo = new InputLoadInfo();
+				inputsInfo.add(loadInfo);
+				futures.add(executor.submit(() -> {
+					List<ClassNode> partClasses = new ArrayList<>();
+					loadInfo.copyFrom(loadInput(part, partClasses::add));
+					return partClasses;
+				}));
+			}
+			List<List<ClassNode>> loadedParts = new ArrayList<>(futures.size());
+			for (Future<List<ClassNode>> future : futures) {
+				loadedParts.add(future.get());
+			}
+			// workers can read root maps, so add classes only after all parts are loaded
+			for (List<ClassNode> partClasses : loadedParts) {
+				partClasses.forEach(this::addClassNode);
+			}
+			restorePackagesOrder();
+			return inputsInfo;
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Classes load failed", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Classes load interrupted", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Packages filled concurrently in parallel load, restore classes order using loaded classes list
+	 */
+	private void restorePackagesOrder() {
+		for (PackageNode pkg : packages) {
+			pkg.getClasses().clear();
+		}
+		for (ClassNode cls : classes) {
+			cls.getPackageNode().getClasses().add(cls);
+		}
+		for (PackageNode pkg : packages) {
+			Collections.sort(pkg.getSubPackages());
+		}
+	}
+
+	private static final class InputLoadInfo {
+		private String name;
+		private int count;
+		private long time;
+
+		void copyFrom(InputLoadInfo other) {
+			this.name = other.name;
+			this.count = other.count;
+			this.time = other.time;
+		}
+
+		@Override
+		public String toString() {
+			return (name == null ? "empty" : name) + ": " + count + " in " + time + "ms";
+		}
+	}
+
+	private void addDummyClass(IClassData classData, Exception exc, Consumer<ClassNode> addCls) {
 		try {
 			String typeStr = classData.getType();
 			String name = null;
@@ -169,8 +282,13 @@ private void addDummyClass(IClassData classData, Exception exc) {
 			if (name == null || name.isEmpty()) {
 				name = "CLASS_" + typeStr;
 			}
-			ClassNode clsNode = ClassNode.addSyntheticClass(this, name, classData.getAccessFlags());
+			ClassInfo dummyClsInfo = ClassInfo.fromName(this, name);
+			if (resolveClass(dummyClsInfo) != null) {
+				throw new JadxRuntimeException("Class already exist: " + name);
+			}
+			ClassNode clsNode = ClassNode.makeSyntheticClass(this, dummyClsInfo, classData.getAccessFlags());
 			ErrorsCounter.error(clsNode, "Load error", exc);
+			addCls.accept(clsNode);
 		} catch (Exception innerExc) {
 			LOG.error("Failed to load class from file: {}", classData.getInputFileName(), exc);
 		}
@@ -210,7 +328,7 @@ public void loadResources(List<ResourceFile> resources) {
 			return;
 		}
 		try {
-			IResParser parser = ResourcesLoader.decodeStream(arsc, (size, is) -> ResDecoder.decode(this, arsc, is));
+			IResParser parser = ResourcesLoader.decodeStream(arsc, (size, is) -> ResDecoder.decode(this, arsc, size, is));
 			if (parser != null) {
 				processResources(parser.getResStorage());
 				updateObfuscatedFiles(parser, resources);
@@ -327,26 +445,80 @@ public void mergePasses(Map<JadxPassType, List<JadxPass>> customPasses) {
 
 	public void runPreDecompileStage() {
 		boolean debugEnabled = LOG.isDebugEnabled();
-		for (IDexTreeVisitor pass : preDecompilePasses) {
-			Utils.checkThreadInterrupt();
-			long start = debugEnabled ? System.currentTimeMillis() : 0;
-			try {
-				pass.init(this);
-			} catch (Exception e) {
-				LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
-			}
-			for (ClassNode cls : classes) {
-				if (cls.isInner()) {
-					continue;
+		int threads = args.getThreadsCount();
+		preDecompilePool = args.isPreDecompileInParallel() && threads > 1 ? new ForkJoinPool(threads) : null;
+		try {
+			for (IDexTreeVisitor pass : preDecompilePasses) {
+				Utils.checkThreadInterrupt();
+				long start = debugEnabled ? System.currentTimeMillis() : 0;
+				if (passesProfiler != null) {
+					passesProfiler.measure(pass.getName(), null, () -> initPass(pass));
+				} else {
+					initPass(pass);
+				}
+				boolean parallel = preDecompilePool != null && isParallelPass(pass);
+				if (parallel) {
+					processTopClasses(cls -> DepthTraversal.visit(pass, cls));
+				} else {
+					for (ClassNode cls : classes) {
+						if (cls.isInner()) {
+							continue;
+						}
+						DepthTraversal.visit(pass, cls);
+					}
+				}
+				if (debugEnabled) {
+					LOG.debug("Prepare pass: '{}'{} - {}ms", pass, parallel ? " (parallel)" : "", System.currentTimeMillis() - start);
 				}
-				DepthTraversal.visit(pass, cls);
 			}
-			if (debugEnabled) {
-				LOG.debug("Prepare pass: '{}' - {}ms", pass, System.currentTimeMillis() - start);
+		} finally {
+			if (preDecompilePool != null) {
+				preDecompilePool.shutdown();
+				preDecompilePool = null;
 			}
 		}
 	}
 
+	private void initPass(IDexTreeVisitor pass) {
+		try {
+			pass.init(this);
+		} catch (Exception e) {
+			LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
+		}
+	}
+
+	private static boolean isParallelPass(IDexTreeVisitor pass) {
+		JadxVisitor visitorInfo = pass.getClass().getAnnotation(JadxVisitor.class);
+		return visitorInfo != null && visitorInfo.parallel();
+	}
+
+	/**
+	 * Run action for every top level class and wait for completion.
+	 * Classes processed concurrently if called in pre-decompile stage with parallel processing enabled,
+	 * so action must be thread safe for different top classes.
+	 */
+	public void processTopClasses(Consumer<ClassNode> action) {
+		List<ClassNode> topClasses = new ArrayList<>(classes.size());
+		for (ClassNode cls : classes) {
+			if (!cls.isInner()) {
+				topClasses.add(cls);
+			}
+		}
+		ForkJoinPool pool = preDecompilePool;
+		if (pool == null) {
+			topClasses.forEach(action);
+			return;
+		}
+		try {
+			pool.submit(() -> topClasses.parallelStream().forEach(action)).get();
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Top classes processing failed", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Top classes processing interrupted", e);
+		}
+	}
+
 	public void runPreDecompileStageForClass(ClassNode cls) {
 		for (IDexTreeVisitor pass : preDecompilePasses) {
 			DepthTraversal.visit(pass, cls);
@@ -653,6 +825,13 @@ public ErrorsCounter getErrorsCounter() {
 		return errorsCounter;
 	}
 
+	/**
+	 * Passes profiler, available only if enabled by {@link JadxArgs#setProfilePasses(boolean)}
+	 */
+	public @Nullable PassesProfiler getPassesProfiler() {
+		return passesProfiler;
+	}
+
 	@Nullable
 	public String getAppPackage() {
 		return appPackage;
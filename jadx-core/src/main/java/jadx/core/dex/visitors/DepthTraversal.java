@@ -4,13 +4,23 @@
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.DebugChecks;
+import jadx.core.utils.PassesProfiler;
 
 public class DepthTraversal {
 
 	public static void visit(IDexTreeVisitor visitor, ClassNode cls) {
+		PassesProfiler profiler = cls.root().getPassesProfiler();
+		if (profiler != null) {
+			profiler.measure(visitor.getName(), cls, () -> visitClass(visitor, cls));
+		} else {
+			visitClass(visitor, cls);
+		}
+	}
+
+	private static void visitClass(IDexTreeVisitor visitor, ClassNode cls) {
 		try {
 			if (visitor.visit(cls)) {
-				cls.getInnerClasses().forEach(inCls -> visit(visitor, inCls));
+				cls.getInnerClasses().forEach(inCls -> visitClass(visitor, inCls));
 				cls.getMethods().forEach(mth -> visit(visitor, mth));
 			}
 		} catch (StackOverflowError | Exception e) {
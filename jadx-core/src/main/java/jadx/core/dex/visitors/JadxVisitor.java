@@ -30,4 +30,10 @@
 	 * This visitor must be run <b>before</b> listed visitors
 	 */
 	Class<? extends IDexTreeVisitor>[] runBefore() default {};
+
+	/**
+	 * Visitor can process different top level classes concurrently.
+	 * Used only for pre-decompile passes, all classes processed before next pass started.
+	 */
+	boolean parallel() default false;
 }
@@ -14,7 +14,8 @@
 		desc = "Mark methods for future inline",
 		runAfter = {
 				UsageInfoVisitor.class
-		}
+		},
+		parallel = true
 )
 public class ProcessMethodsForInline extends AbstractVisitor {
 
@@ -63,10 +64,15 @@ private static void fixClassDependencies(MethodNode mth) {
 			ClassNode useTopCls = useInMth.getTopParentClass();
 			if (useTopCls != parentClass) {
 				parentClass.removeDependency(useTopCls);
-				useTopCls.addCodegenDep(parentClass);
+				// other top class can be processed concurrently in parallel mode
+				synchronized (useTopCls) {
+					useTopCls.addCodegenDep(parentClass);
+					if (Consts.DEBUG_USAGE) {
+						useTopCls.addDebugComment("Add dependency: " + parentClass + " to inline " + mth);
+					}
+				}
 				if (Consts.DEBUG_USAGE) {
 					parentClass.addDebugComment("Remove dependency: " + useTopCls + " to inline " + mth);
-					useTopCls.addDebugComment("Add dependency: " + parentClass + " to inline " + mth);
 				}
 			}
 		}
@@ -1,12 +1,19 @@
 package jadx.core.dex.visitors;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
 import jadx.api.JadxArgs;
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.core.dex.attributes.AFlag;
@@ -18,6 +25,8 @@
 public class SaveCode {
 	private static final Logger LOG = LoggerFactory.getLogger(SaveCode.class);
 
+	private static final int WRITE_CHUNK_SIZE = 8 * 1024;
+
 	private SaveCode() {
 	}
 
@@ -62,6 +71,53 @@ public static void save(String code, File file) {
 		}
 	}
 
+	/**
+	 * Generate class code and write it directly into output file.
+	 * Code cache not used and final code string not created.
+	 */
+	public static void saveStreaming(File dir, ClassNode cls) {
+		if (cls.contains(AFlag.DONT_GENERATE)) {
+			return;
+		}
+		String fileName = cls.getClassInfo().getAliasFullPath() + getFileExtension(cls.root());
+		if (!ZipSecurity.isValidZipEntryName(fileName)) {
+			return;
+		}
+		cls.saveCode(new File(dir, fileName));
+	}
+
+	/**
+	 * Write code parts into file one by one, same as {@link #save(String, File)} for joined parts
+	 */
+	public static void save(List<? extends CharSequence> codeParts, File file) {
+		if (codeParts.stream().allMatch(part -> part.length() == 0)) {
+			return;
+		}
+		File outFile = FileUtils.prepareFile(file);
+		try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8))) {
+			boolean first = true;
+			for (CharSequence part : codeParts) {
+				int start = first ? skipFirstEmptyLine(part) : 0;
+				first = false;
+				int len = part.length();
+				for (int pos = start; pos < len; pos += WRITE_CHUNK_SIZE) {
+					out.append(part, pos, Math.min(len, pos + WRITE_CHUNK_SIZE));
+				}
+			}
+			out.write(ICodeWriter.NL);
+		} catch (Exception e) {
+			LOG.error("Save file error", e);
+		}
+	}
+
+	private static int skipFirstEmptyLine(CharSequence code) {
+		int len = ICodeWriter.NL.length();
+		if (code.length() > len && code.subSequence(0, len).toString().equals(ICodeWriter.NL)) {
+			return len;
+		}
+		return 0;
+	}
+
 	public static String getFileExtension(RootNode root) {
 		JadxArgs.OutputFormatEnum outputFormat = root.getArgs().getOutputFormat();
 		switch (outputFormat) {
@@ -2,9 +2,11 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import jadx.api.usage.IUsageInfoData;
 import jadx.api.usage.IUsageInfoVisitor;
@@ -31,8 +33,20 @@ public UsageInfo(RootNode root) {
 		this.root = root;
 	}
 
+	/**
+	 * Convert any usage data into mutable {@link UsageInfo}
+	 */
+	public static UsageInfo from(RootNode root, IUsageInfoData data) {
+		if (data instanceof UsageInfo) {
+			return (UsageInfo) data;
+		}
+		UsageInfo usageInfo = new UsageInfo(root);
+		data.visitUsageData(new UsageCollector(usageInfo));
+		return usageInfo;
+	}
+
 	@Override
-	public void apply() {
+	public synchronized void apply() {
 		clsDeps.visit((cls, deps) -> cls.setDependencies(sortedList(deps)));
 		clsUsage.visit((cls, deps) -> cls.setUseIn(sortedList(deps)));
 		clsUseInMth.visit((cls, methods) -> cls.setUseInMth(sortedList(methods)));
@@ -41,7 +55,7 @@ public void apply() {
 	}
 
 	@Override
-	public void applyForClass(ClassNode cls) {
+	public synchronized void applyForClass(ClassNode cls) {
 		cls.setDependencies(sortedList(clsDeps.get(cls)));
 		cls.setUseIn(sortedList(clsUsage.get(cls)));
 		cls.setUseInMth(sortedList(clsUseInMth.get(cls)));
@@ -54,7 +68,7 @@ public void applyForClass(ClassNode cls) {
 	}
 
 	@Override
-	public void visitUsageData(IUsageInfoVisitor visitor) {
+	public synchronized void visitUsageData(IUsageInfoVisitor visitor) {
 		clsDeps.visit((cls, deps) -> visitor.visitClassDeps(cls, sortedList(deps)));
 		clsUsage.visit((cls, deps) -> visitor.visitClassUsage(cls, sortedList(deps)));
 		clsUseInMth.visit((cls, methods) -> visitor.visitClassUseInMethods(cls, sortedList(methods)));
@@ -63,6 +77,80 @@ public void visitUsageData(IUsageInfoVisitor visitor) {
 		visitor.visitComplete();
 	}
 
+	/**
+	 * Replace usage info collected from top class {@code cls} (including inner classes) with {@code clsData}.
+	 * Usage lists updated only in affected nodes.
+	 */
+	public synchronized void updateClass(ClassNode cls, UsageInfo clsData) {
+		// field and method nodes recreated on class reload, use new instances as keys
+		replaceKeys(cls);
+
+		Set<ClassNode> changedClasses = new HashSet<>();
+		Set<FieldNode> changedFields = new HashSet<>();
+		Set<MethodNode> changedMethods = new HashSet<>();
+
+		// remove old outgoing edges
+		Predicate<MethodNode> inCls = mth -> mth.getParentClass().getTopParentClass() == cls;
+		clsDeps.remove(cls);
+		clsUsage.removeUses(useCls -> useCls.getTopParentClass() == cls, changedClasses::add);
+		clsUseInMth.removeUses(inCls, changedClasses::add);
+		fieldUsage.removeUses(inCls, changedFields::add);
+		mthUsage.removeUses(inCls, changedMethods::add);
+
+		// add new edges
+		merge(clsData.clsDeps, clsDeps, changedClasses);
+		merge(clsData.clsUsage, clsUsage, changedClasses);
+		merge(clsData.clsUseInMth, clsUseInMth, changedClasses);
+		merge(clsData.fieldUsage, fieldUsage, changedFields);
+		merge(clsData.mthUsage, mthUsage, changedMethods);
+
+		for (ClassNode changedCls : changedClasses) {
+			changedCls.setDependencies(sortedList(clsDeps.get(changedCls)));
+			changedCls.setUseIn(sortedList(clsUsage.get(changedCls)));
+			changedCls.setUseInMth(sortedList(clsUseInMth.get(changedCls)));
+		}
+		for (FieldNode fld : changedFields) {
+			fld.setUseIn(sortedList(fieldUsage.get(fld)));
+		}
+		for (MethodNode mth : changedMethods) {
+			mth.setUseIn(sortedList(mthUsage.get(mth)));
+		}
+		applyForClassTree(cls);
+	}
+
+	private void replaceKeys(ClassNode cls) {
+		for (FieldNode fld : cls.getFields()) {
+			fieldUsage.replaceKey(fld);
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			mthUsage.replaceKey(mth);
+		}
+		cls.getInnerClasses().forEach(this::replaceKeys);
+	}
+
+	/**
+	 * Add all usage data collected for other classes
+	 */
+	public synchronized void addAll(UsageInfo data) {
+		data.clsDeps.visit(clsDeps::addAll);
+		data.clsUsage.visit(clsUsage::addAll);
+		data.clsUseInMth.visit(clsUseInMth::addAll);
+		data.fieldUsage.visit(fieldUsage::addAll);
+		data.mthUsage.visit(mthUsage::addAll);
+	}
+
+	private void applyForClassTree(ClassNode cls) {
+		applyForClass(cls);
+		cls.getInnerClasses().forEach(this::applyForClassTree);
+	}
+
+	private static <K, V> void merge(UseSet<K, V> from, UseSet<K, V> to, Set<K> changed) {
+		from.visit((obj, uses) -> {
+			to.addAll(obj, uses);
+			changed.add(obj);
+		});
+	}
+
 	public void clsUse(ClassNode cls, ArgType useType) {
 		processType(useType, depCls -> clsUse(cls, depCls));
 	}
@@ -140,4 +228,53 @@ private static <T extends Comparable<T>> List<T> sortedList(Set<T> deps) {
 		Collections.sort(list);
 		return list;
 	}
+
+	private static final class UsageCollector implements IUsageInfoVisitor {
+		private final UsageInfo usageInfo;
+
+		private UsageCollector(UsageInfo usageInfo) {
+			this.usageInfo = usageInfo;
+		}
+
+		@Override
+		public void visitClassDeps(ClassNode cls, List<ClassNode> deps) {
+			addAll(usageInfo.clsDeps, cls, deps);
+		}
+
+		@Override
+		public void visitClassUsage(ClassNode cls, List<ClassNode> usage) {
+			addAll(usageInfo.clsUsage, cls, usage);
+		}
+
+		@Override
+		public void visitClassUseInMethods(ClassNode cls, List<MethodNode> methods) {
+			addAll(usageInfo.clsUseInMth, cls, methods);
+		}
+
+		@Override
+		public void visitFieldsUsage(FieldNode fld, List<MethodNode> methods) {
+			addAll(usageInfo.fieldUsage, fld, methods);
+		}
+
+		@Override
+		public void visitMethodsUsage(MethodNode mth, List<MethodNode> methods) {
+			addAll(usageInfo.mthUsage, mth, methods);
+		}
+
+		@Override
+		public void visitComplete() {
+			// nothing to do
+		}
+
+		private static <K, V> void addAll(UseSet<K, V> useSet, K obj, List<V> uses) {
+			if (obj == null) {
+				return;
+			}
+			for (V use : uses) {
+				if (use != null) {
+					useSet.add(obj, use);
+				}
+			}
+		}
+	}
 }
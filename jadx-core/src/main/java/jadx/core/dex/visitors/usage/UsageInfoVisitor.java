@@ -15,6 +15,7 @@
 import jadx.api.plugins.input.insns.custom.ICustomPayload;
 import jadx.api.usage.IUsageInfoCache;
 import jadx.api.usage.IUsageInfoData;
+import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.info.FieldInfo;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.args.ArgType;
@@ -57,6 +58,45 @@ public void init(RootNode root) {
 		apply(collectedInfoData);
 	}
 
+	@Override
+	public boolean visit(ClassNode cls) {
+		if (cls.contains(AFlag.CLASS_UNLOADED)) {
+			// enter only on class reload
+			try {
+				updateClassUsage(cls);
+			} catch (Exception e) {
+				LOG.error("Failed to update usage data for class: {}", cls, e);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collect usage info only for reloaded top class and patch stored usage data
+	 */
+	private static void updateClassUsage(ClassNode cls) {
+		RootNode root = cls.root();
+		IUsageInfoCache usageCache = root.getArgs().getUsageInfoCache();
+		if (usageCache.get(root) == null) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		UsageInfo clsUsageInfo = new UsageInfo(root);
+		processClassTree(cls, clsUsageInfo);
+		synchronized (usageCache) {
+			IUsageInfoData usageInfoData = usageCache.get(root);
+			if (usageInfoData == null) {
+				return;
+			}
+			UsageInfo usageInfo = UsageInfo.from(root, usageInfoData);
+			usageInfo.updateClass(cls, clsUsageInfo);
+			usageCache.update(root, usageInfo);
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Usage data updated for class {} in {}ms", cls, System.currentTimeMillis() - start);
+		}
+	}
+
 	private static void apply(IUsageInfoData usageInfoData) {
 		long start = System.currentTimeMillis();
 		usageInfoData.apply();
@@ -65,14 +105,27 @@ private static void apply(IUsageInfoData usageInfoData) {
 		}
 	}
 
+	/**
+	 * Scan top classes (concurrently if pre-decompile stage runs in parallel),
+	 * each class collected into separate usage info and merged after
+	 */
 	private static IUsageInfoData buildUsageData(RootNode root) {
 		UsageInfo usageInfo = new UsageInfo(root);
-		for (ClassNode cls : root.getClasses()) {
-			processClass(cls, usageInfo);
-		}
+		root.processTopClasses(cls -> {
+			UsageInfo clsUsageInfo = new UsageInfo(root);
+			processClassTree(cls, clsUsageInfo);
+			usageInfo.addAll(clsUsageInfo);
+		});
 		return usageInfo;
 	}
 
+	private static void processClassTree(ClassNode cls, UsageInfo usageInfo) {
+		processClass(cls, usageInfo);
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			processClassTree(innerCls, usageInfo);
+		}
+	}
+
 	private static void processClass(ClassNode cls, UsageInfo usageInfo) {
 		usageInfo.clsUse(cls, cls.getSuperClass());
 		for (ArgType interfaceType : cls.getInterfaces()) {
@@ -5,6 +5,8 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class UseSet<K, V> {
 	private final Map<K, Set<V>> useMap = new HashMap<>();
@@ -18,10 +20,41 @@ public void add(K obj, V use) {
 		set.add(use);
 	}
 
+	public void addAll(K obj, Set<V> uses) {
+		for (V use : uses) {
+			add(obj, use);
+		}
+	}
+
 	public Set<V> get(K obj) {
 		return useMap.get(obj);
 	}
 
+	public void remove(K obj) {
+		useMap.remove(obj);
+	}
+
+	/**
+	 * Replace stored key instance with equal {@code obj}
+	 */
+	public void replaceKey(K obj) {
+		Set<V> set = useMap.remove(obj);
+		if (set != null) {
+			useMap.put(obj, set);
+		}
+	}
+
+	/**
+	 * Remove uses accepted by {@code filter}, keys with changed sets passed to {@code changed} consumer
+	 */
+	public void removeUses(Predicate<V> filter, Consumer<K> changed) {
+		for (Map.Entry<K, Set<V>> entry : useMap.entrySet()) {
+			if (entry.getValue().removeIf(filter)) {
+				changed.accept(entry.getKey());
+			}
+		}
+	}
+
 	public void visit(BiConsumer<K, Set<V>> consumer) {
 		for (Map.Entry<K, Set<V>> entry : useMap.entrySet()) {
 			consumer.accept(entry.getKey(), entry.getValue());
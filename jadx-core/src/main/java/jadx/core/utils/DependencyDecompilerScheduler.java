@@ -0,0 +1,337 @@
+package jadx.core.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.JavaClass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * Dependency aware scheduler:
+ * class processing starts as soon as all its dependencies are processed.
+ * <br>
+ * Classes with cyclic dependencies merged into one unit (strongly connected component).
+ * Ready units are stored in shared queue and taken by free workers in order of
+ * the longest weighted path to the end of dependency graph (weight is an instructions count),
+ * so long dependency chains started first and not serialize the end of processing.
+ * <br>
+ * Batches building ({@link #buildBatches(List)}) is inherited from {@link DecompilerScheduler}.
+ */
+public class DependencyDecompilerScheduler extends DecompilerScheduler {
+	private static final Logger LOG = LoggerFactory.getLogger(DependencyDecompilerScheduler.class);
+
+	@Override
+	public List<Runnable> buildTasks(List<JavaClass> classes, Consumer<JavaClass> clsProcessor) {
+		Execution execution;
+		try {
+			long start = System.currentTimeMillis();
+			execution = new Execution(buildUnits(classes));
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Build dependency graph in {}ms", System.currentTimeMillis() - start);
+			}
+		} catch (Throwable e) {
+			LOG.warn("Build dependency graph failed (continue with batches)", e);
+			return super.buildTasks(classes, clsProcessor);
+		}
+		int count = execution.getUnitsCount();
+		List<Runnable> tasks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			// every task process one unit, but unit selected only at task execution
+			tasks.add(() -> execution.processNext(clsProcessor));
+		}
+		return tasks;
+	}
+
+	private static final class Unit {
+		private final int id;
+		private final List<JavaClass> classes = new ArrayList<>();
+		private final List<Unit> dependents = new ArrayList<>();
+		private long weight;
+		/**
+		 * Weight of the longest path from this unit to the end of graph
+		 */
+		private long level;
+		private int pendingDeps;
+
+		private Unit(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public String toString() {
+			return "Unit{" + classes + ", level=" + level + '}';
+		}
+	}
+
+	private static List<Unit> buildUnits(List<JavaClass> classes) {
+		int count = classes.size();
+		Map<ClassNode, Integer> indexMap = new HashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			indexMap.put(classes.get(i).getClassNode(), i);
+		}
+		int[][] deps = new int[count][];
+		for (int i = 0; i < count; i++) {
+			ClassNode cls = classes.get(i).getClassNode();
+			int[] clsDeps = new int[cls.getTotalDepsCount()];
+			int k = 0;
+			for (ClassNode dep : cls.getDependencies()) {
+				k = addDep(indexMap, clsDeps, k, i, dep);
+			}
+			for (ClassNode dep : cls.getCodegenDeps()) {
+				k = addDep(indexMap, clsDeps, k, i, dep);
+			}
+			deps[i] = k == clsDeps.length ? clsDeps : Arrays.copyOf(clsDeps, k);
+		}
+		int[] components = new int[count];
+		int unitsCount = findComponents(deps, components);
+		List<Unit> units = new ArrayList<>(unitsCount);
+		for (int u = 0; u < unitsCount; u++) {
+			units.add(new Unit(u));
+		}
+		for (int i = 0; i < count; i++) {
+			JavaClass cls = classes.get(i);
+			Unit unit = units.get(components[i]);
+			unit.classes.add(cls);
+			unit.weight += getClassWeight(cls.getClassNode());
+		}
+		boolean[] added = new boolean[unitsCount];
+		for (Unit unit : units) {
+			List<Unit> unitDeps = new ArrayList<>();
+			for (JavaClass cls : unit.classes) {
+				for (int dep : deps[indexMap.get(cls.getClassNode())]) {
+					int depUnit = components[dep];
+					if (depUnit != unit.id && !added[depUnit]) {
+						added[depUnit] = true;
+						unitDeps.add(units.get(depUnit));
+					}
+				}
+			}
+			for (Unit depUnit : unitDeps) {
+				added[depUnit.id] = false;
+				depUnit.dependents.add(unit);
+			}
+			unit.pendingDeps = unitDeps.size();
+			if (unit.classes.size() > 1) {
+				unit.classes.sort(Comparator.comparingInt(JavaClass::getTotalDepsCount));
+			}
+		}
+		// components numbered in reverse topological order (dependencies first),
+		// so dependents always have bigger id
+		for (int u = unitsCount - 1; u >= 0; u--) {
+			Unit unit = units.get(u);
+			long maxLevel = 0;
+			for (Unit dependent : unit.dependents) {
+				maxLevel = Math.max(maxLevel, dependent.level);
+			}
+			unit.level = unit.weight + maxLevel;
+		}
+		return units;
+	}
+
+	private static int addDep(Map<ClassNode, Integer> indexMap, int[] clsDeps, int k, int clsIdx, ClassNode dep) {
+		Integer depIdx = indexMap.get(dep.getTopParentClass());
+		if (depIdx == null || depIdx == clsIdx) {
+			// dependency not in processing list
+			return k;
+		}
+		clsDeps[k] = depIdx;
+		return k + 1;
+	}
+
+	private static long getClassWeight(ClassNode cls) {
+		long weight = 1;
+		for (MethodNode mth : cls.getMethods()) {
+			weight += mth.getInsnsCount();
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			weight += getClassWeight(innerCls);
+		}
+		return weight;
+	}
+
+	/**
+	 * Iterative Tarjan's algorithm for strongly connected components.
+	 * Components are numbered in order of completion, i.e. component numbers of dependencies are lower.
+	 *
+	 * @return components count
+	 */
+	private static int findComponents(int[][] deps, int[] components) {
+		int count = deps.length;
+		int[] index = new int[count];
+		int[] lowLink = new int[count];
+		int[] edgePos = new int[count];
+		boolean[] onStack = new boolean[count];
+		Arrays.fill(index, -1);
+		Deque<Integer> stack = new ArrayDeque<>();
+		Deque<Integer> callStack = new ArrayDeque<>();
+		int nextIndex = 0;
+		int nextComponent = 0;
+		for (int root = 0; root < count; root++) {
+			if (index[root] != -1) {
+				continue;
+			}
+			callStack.push(root);
+			while (!callStack.isEmpty()) {
+				int v = callStack.peek();
+				if (index[v] == -1) {
+					index[v] = nextIndex;
+					lowLink[v] = nextIndex;
+					nextIndex++;
+					stack.push(v);
+					onStack[v] = true;
+				}
+				int[] vDeps = deps[v];
+				if (edgePos[v] < vDeps.length) {
+					int w = vDeps[edgePos[v]++];
+					if (index[w] == -1) {
+						callStack.push(w);
+					} else if (onStack[w]) {
+						lowLink[v] = Math.min(lowLink[v], index[w]);
+					}
+					continue;
+				}
+				callStack.pop();
+				if (!callStack.isEmpty()) {
+					int parent = callStack.peek();
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+				}
+				if (lowLink[v] == index[v]) {
+					int w;
+					do {
+						w = stack.pop();
+						onStack[w] = false;
+						components[w] = nextComponent;
+					} while (w != v);
+					nextComponent++;
+				}
+			}
+		}
+		return nextComponent;
+	}
+
+	private static final class Execution {
+		private final List<Unit> units;
+		private final PriorityQueue<Unit> readyQueue;
+		private final Map<String, AtomicLong> idleTimes = new ConcurrentHashMap<>();
+		private final Map<String, AtomicLong> busyTimes = new ConcurrentHashMap<>();
+		private final long totalWeight;
+		private final long criticalPath;
+
+		private int finished = 0;
+		private int maxQueueSize = 0;
+		private long queueSizeSum = 0;
+		private long startTime = 0;
+
+		private Execution(List<Unit> units) {
+			this.units = units;
+			this.readyQueue = new PriorityQueue<>(Math.max(1, units.size()),
+					Comparator.<Unit>comparingLong(u -> -u.level).thenComparingInt(u -> u.id));
+			long weightSum = 0;
+			long maxLevel = 0;
+			for (Unit unit : units) {
+				weightSum += unit.weight;
+				maxLevel = Math.max(maxLevel, unit.level);
+				if (unit.pendingDeps == 0) {
+					readyQueue.add(unit);
+				}
+			}
+			this.totalWeight = weightSum;
+			this.criticalPath = maxLevel;
+		}
+
+		public int getUnitsCount() {
+			return units.size();
+		}
+
+		public void processNext(Consumer<JavaClass> clsProcessor) {
+			long waitStart = System.nanoTime();
+			Unit unit;
+			try {
+				unit = takeNext();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			long processStart = System.nanoTime();
+			addTime(idleTimes, processStart - waitStart);
+			try {
+				for (JavaClass cls : unit.classes) {
+					clsProcessor.accept(cls);
+				}
+			} finally {
+				addTime(busyTimes, System.nanoTime() - processStart);
+				finish(unit);
+			}
+		}
+
+		private synchronized Unit takeNext() throws InterruptedException {
+			if (startTime == 0) {
+				startTime = System.currentTimeMillis();
+			}
+			while (readyQueue.isEmpty()) {
+				wait();
+			}
+			int queueSize = readyQueue.size();
+			maxQueueSize = Math.max(maxQueueSize, queueSize);
+			queueSizeSum += queueSize;
+			return readyQueue.poll();
+		}
+
+		private synchronized void finish(Unit unit) {
+			for (Unit dependent : unit.dependents) {
+				dependent.pendingDeps--;
+				if (dependent.pendingDeps == 0) {
+					readyQueue.add(dependent);
+				}
+			}
+			notifyAll();
+			finished++;
+			if (finished == units.size() && LOG.isDebugEnabled()) {
+				dumpStats();
+			}
+		}
+
+		private static void addTime(Map<String, AtomicLong> times, long nanos) {
+			String thread = Thread.currentThread().getName();
+			times.computeIfAbsent(thread, t -> new AtomicLong()).addAndGet(nanos);
+		}
+
+		private void dumpStats() {
+			int classesCount = units.stream().mapToInt(u -> u.classes.size()).sum();
+			StringBuilder sb = new StringBuilder();
+			sb.append("Dependency scheduler stats:");
+			sb.append("\n classes: ").append(classesCount);
+			sb.append(",\n units: ").append(units.size());
+			sb.append(",\n max unit size: ").append(units.stream().mapToInt(u -> u.classes.size()).max().orElse(0));
+			sb.append(",\n total weight: ").append(totalWeight);
+			sb.append(",\n critical path weight: ").append(criticalPath);
+			sb.append(",\n max parallelism: ").append(String.format("%.2f", totalWeight / (double) Math.max(1, criticalPath)));
+			sb.append(",\n max queue depth: ").append(maxQueueSize);
+			sb.append(",\n average queue depth: ").append(String.format("%.2f", queueSizeSum / (double) units.size()));
+			sb.append(",\n time: ").append(System.currentTimeMillis() - startTime).append("ms");
+			sb.append(",\n workers (busy/idle ms):");
+			busyTimes.keySet().stream().sorted().forEach(thread -> {
+				AtomicLong idle = idleTimes.get(thread);
+				sb.append("\n  ").append(thread).append(": ")
+						.append(busyTimes.get(thread).get() / 1_000_000)
+						.append('/')
+						.append(idle == null ? 0 : idle.get() / 1_000_000);
+			});
+			LOG.debug(sb.toString());
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package jadx.core.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Collect wall time, CPU time, allocated bytes and invocations count for every decompilation pass.
+ * Stats aggregated globally per pass and per top level class.
+ */
+public class PassesProfiler {
+	public static final String REPORT_JSON_FILE = "passes-profile.json";
+	public static final String REPORT_TABLE_FILE = "passes-profile.txt";
+
+	private static final int REPORT_CLASSES_COUNT = 100;
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+	private final ThreadMXBean threadBean;
+	private final @Nullable com.sun.management.ThreadMXBean allocBean;
+	private final boolean cpuTimeSupported;
+
+	private final Map<String, Stats> passes = new ConcurrentHashMap<>();
+	private final Map<String, Stats> classes = new ConcurrentHashMap<>();
+
+	public PassesProfiler() {
+		threadBean = ManagementFactory.getThreadMXBean();
+		cpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported();
+		if (cpuTimeSupported && !threadBean.isThreadCpuTimeEnabled()) {
+			threadBean.setThreadCpuTimeEnabled(true);
+		}
+		com.sun.management.ThreadMXBean sunBean = null;
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			sunBean = (com.sun.management.ThreadMXBean) threadBean;
+			if (sunBean.isThreadAllocatedMemorySupported()) {
+				sunBean.setThreadAllocatedMemoryEnabled(true);
+			} else {
+				sunBean = null;
+			}
+		}
+		allocBean = sunBean;
+	}
+
+	/**
+	 * Run {@code action} and add its measurements to pass stats and class stats (if class not null)
+	 */
+	public void measure(String passName, @Nullable ClassNode cls, Runnable action) {
+		long cpuStart = getCpuTime();
+		long allocStart = getAllocatedBytes();
+		long start = System.nanoTime();
+		try {
+			action.run();
+		} finally {
+			long wallTimeNs = System.nanoTime() - start;
+			long cpuTimeNs = getCpuTime() - cpuStart;
+			long allocated = getAllocatedBytes() - allocStart;
+			String clsName = cls == null ? null : cls.getRawName();
+			passes.computeIfAbsent(passName, Stats::new).add(wallTimeNs, cpuTimeNs, allocated, clsName);
+			if (clsName != null) {
+				classes.computeIfAbsent(clsName, Stats::new).add(wallTimeNs, cpuTimeNs, allocated, passName);
+			}
+		}
+	}
+
+	private long getCpuTime() {
+		return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+	}
+
+	private long getAllocatedBytes() {
+		com.sun.management.ThreadMXBean bean = allocBean;
+		return bean != null ? bean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+	}
+
+	public List<Stats> getPassesStats() {
+		return sortedByWallTime(passes);
+	}
+
+	public List<Stats> getClassesStats() {
+		return sortedByWallTime(classes);
+	}
+
+	private static List<Stats> sortedByWallTime(Map<String, Stats> map) {
+		List<Stats> list = new ArrayList<>(map.values());
+		list.sort(Comparator.comparingLong(Stats::getWallTime).reversed());
+		return list;
+	}
+
+	/**
+	 * Save report in json and summary table formats into {@code dir}
+	 */
+	public void saveReport(Path dir) {
+		FileUtils.makeDirs(dir);
+		Report report = new Report();
+		report.passes = getPassesStats();
+		List<Stats> classesStats = getClassesStats();
+		report.classes = classesStats.subList(0, Math.min(REPORT_CLASSES_COUNT, classesStats.size()));
+		try (Writer writer = Files.newBufferedWriter(dir.resolve(REPORT_JSON_FILE), StandardCharsets.UTF_8)) {
+			GSON.toJson(report, writer);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to save passes profile report", e);
+		}
+		try {
+			Files.write(dir.resolve(REPORT_TABLE_FILE), buildSummaryTable().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to save passes profile summary", e);
+		}
+	}
+
+	public String buildSummaryTable() {
+		List<Stats> list = getPassesStats();
+		long totalWall = 0;
+		for (Stats stats : list) {
+			totalWall += stats.getWallTime();
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-40s %10s %12s %7s %12s %12s  %s%n",
+				"Pass", "Calls", "Wall (ms)", "%", "CPU (ms)", "Alloc (MB)", "Slowest class"));
+		for (Stats stats : list) {
+			String slowest = stats.getSlowest();
+			sb.append(String.format("%-40s %10d %12.1f %6.2f%% %12.1f %12.1f  %s%n",
+					stats.getName(), stats.getCalls(),
+					toMillis(stats.getWallTime()),
+					totalWall == 0 ? 0.0 : stats.getWallTime() * 100.0 / totalWall,
+					toMillis(stats.getCpuTime()),
+					stats.getAllocatedBytes() / (1024.0 * 1024.0),
+					slowest == null ? "-" : String.format("%s (%.1f ms)", slowest, toMillis(stats.getSlowestTime()))));
+		}
+		return sb.toString();
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	@SuppressWarnings("unused")
+	private static final class Report {
+		private List<Stats> passes;
+		private List<Stats> classes;
+	}
+
+	public static final class Stats {
+		private final String name;
+		private long calls;
+		private long wallTimeNs;
+		private long cpuTimeNs;
+		private long allocatedBytes;
+
+		/**
+		 * Slowest class for pass stats or slowest pass for class stats
+		 */
+		private @Nullable String slowest;
+		private long slowestTimeNs;
+
+		private Stats(String name) {
+			this.name = name;
+		}
+
+		private synchronized void add(long wall, long cpu, long allocated, @Nullable String item) {
+			calls++;
+			wallTimeNs += wall;
+			cpuTimeNs += cpu;
+			allocatedBytes += allocated;
+			if (item != null && wall > slowestTimeNs) {
+				slowest = item;
+				slowestTimeNs = wall;
+			}
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public synchronized long getCalls() {
+			return calls;
+		}
+
+		/**
+		 * Time in nanoseconds
+		 */
+		public synchronized long getWallTime() {
+			return wallTimeNs;
+		}
+
+		/**
+		 * Time in nanoseconds, zero if not supported by JVM
+		 */
+		public synchronized long getCpuTime() {
+			return cpuTimeNs;
+		}
+
+		/**
+		 * Zero if not supported by JVM
+		 */
+		public synchronized long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+		public synchronized @Nullable String getSlowest() {
+			return slowest;
+		}
+
+		public synchronized long getSlowestTime() {
+			return slowestTimeNs;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package jadx.core.utils.files;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared opened zip files to avoid reading central directory for every entry access.
+ * <br>
+ * Zip file is opened on first request and kept open until pool close.
+ * Handles are reference counted, so zip file in use will be closed only after release.
+ * After pool close, new zip file is opened for every request.
+ */
+public final class ZipFilePool implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ZipFilePool.class);
+
+	private final Map<File, Entry> entries = new HashMap<>();
+	private boolean closed;
+
+	/**
+	 * Get opened zip file, returned handle should be closed after use.
+	 */
+	public Handle open(File file) throws IOException {
+		synchronized (this) {
+			if (!closed) {
+				Entry entry = entries.get(file);
+				if (entry == null) {
+					entry = new Entry(new ZipFile(file));
+					entries.put(file, entry);
+				}
+				entry.refCount++;
+				return new Handle(this, entry);
+			}
+		}
+		return openUnpooled(file);
+	}
+
+	/**
+	 * Open new zip file, it will be closed with returned handle
+	 */
+	public static Handle openUnpooled(File file) throws IOException {
+		return new Handle(null, new Entry(new ZipFile(file)));
+	}
+
+	private synchronized void release(Entry entry) {
+		entry.refCount--;
+		if (closed && entry.refCount == 0) {
+			closeZip(entry.zipFile);
+		}
+	}
+
+	@Override
+	public void close() {
+		List<ZipFile> unused = new ArrayList<>();
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			for (Entry entry : entries.values()) {
+				if (entry.refCount == 0) {
+					unused.add(entry.zipFile);
+				}
+			}
+			entries.clear();
+		}
+		unused.forEach(ZipFilePool::closeZip);
+	}
+
+	private static void closeZip(ZipFile zipFile) {
+		try {
+			zipFile.close();
+		} catch (Exception e) {
+			LOG.warn("Failed to close zip file: {}", zipFile.getName(), e);
+		}
+	}
+
+	private static final class Entry {
+		private final ZipFile zipFile;
+		private int refCount;
+
+		private Entry(ZipFile zipFile) {
+			this.zipFile = zipFile;
+		}
+	}
+
+	public static final class Handle implements Closeable {
+		private final @Nullable ZipFilePool pool;
+		private final Entry entry;
+		private boolean released;
+
+		private Handle(@Nullable ZipFilePool pool, Entry entry) {
+			this.pool = pool;
+			this.entry = entry;
+		}
+
+		public ZipFile getZipFile() {
+			return entry.zipFile;
+		}
+
+		@Override
+		public void close() {
+			if (released) {
+				return;
+			}
+			released = true;
+			if (pool == null) {
+				closeZip(entry.zipFile);
+			} else {
+				pool.release(entry);
+			}
+		}
+	}
+}
@@ -5,7 +5,6 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
 import org.jetbrains.annotations.Nullable;
@@ -37,11 +36,15 @@
 public class BinaryXMLParser extends CommonBinaryParser {
 	private static final Logger LOG = LoggerFactory.getLogger(BinaryXMLParser.class);
 
+	private final RootNode rootNode;
 	private final Map<Integer, String> resNames;
+	private final XmlParserSharedData sharedData;
+	private final boolean attrNewLine;
+
+	// per file parsing state
 	private Map<String, String> nsMap;
 	private Set<String> nsMapGenerated;
 	private Set<String> definedNamespaces;
-	private final Map<String, String> tagAttrDeobfNames = new HashMap<>();
 
 	private ICodeWriter writer;
 	private BinaryXMLStrings strings;
@@ -52,17 +55,13 @@ public class BinaryXMLParser extends CommonBinaryParser {
 	private boolean isOneLine = true;
 	private int namespaceDepth = 0;
 	private @Nullable int[] resourceIds;
-
-	private final RootNode rootNode;
-	private String appPackageName;
-
 	private Map<String, ClassNode> classNameCache;
-
-	private final boolean attrNewLine;
+	private @Nullable String appPackageName;
 
 	public BinaryXMLParser(RootNode rootNode) {
 		this.rootNode = rootNode;
 		this.attrNewLine = !rootNode.getArgs().isSkipXmlPrettyPrint();
+		this.sharedData = new XmlParserSharedData();
 		try {
 			ConstStorage constStorage = rootNode.getConstValues();
 			resNames = constStorage.getResourcesNames();
@@ -71,11 +70,34 @@ public BinaryXMLParser(RootNode rootNode) {
 		}
 	}
 
-	public synchronized ICodeInfo parse(InputStream inputStream) throws IOException {
-		resourceIds = null;
-		is = new ParserStream(inputStream);
+	/**
+	 * Copy shared data into new instance for single file parsing
+	 */
+	private BinaryXMLParser(BinaryXMLParser parent) {
+		this.rootNode = parent.rootNode;
+		this.attrNewLine = parent.attrNewLine;
+		this.sharedData = parent.sharedData;
+		this.resNames = parent.resNames;
+		this.appPackageName = parent.sharedData.getAppPackageName();
+	}
+
+	public ICodeInfo parse(InputStream inputStream) throws IOException {
+		return parse(-1, inputStream);
+	}
+
+	/**
+	 * Parse binary XML file, can be called concurrently.
+	 *
+	 * @param size data size or -1 if unknown
+	 */
+	public ICodeInfo parse(long size, InputStream inputStream) throws IOException {
+		return new BinaryXMLParser(this).parseFile(size, inputStream);
+	}
+
+	private ICodeInfo parseFile(long size, InputStream inputStream) throws IOException {
+		is = ParserStream.build(inputStream, size);
 		if (!isBinaryXml()) {
-			return ResourcesLoader.loadToCodeWriter(inputStream);
+			return ResourcesLoader.loadToCodeWriter(is.getRemainingInput());
 		}
 		nsMapGenerated = new HashSet<>();
 		nsMap = new HashMap<>();
@@ -84,11 +106,7 @@ public synchronized ICodeInfo parse(InputStream inputStream) throws IOException
 		writer.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
 		firstElement = true;
 		decode();
-		nsMap = null;
-		definedNamespaces = null;
-		ICodeInfo codeInfo = writer.finish();
-		this.classNameCache = null; // reset class name cache
-		return codeInfo;
+		return writer.finish();
 	}
 
 	private boolean isBinaryXml() throws IOException {
@@ -256,7 +274,7 @@ private void parseElement() throws IOException {
 		isOneLine = true;
 		isLastEnd = false;
 		currentTag = deobfClassName(getString(startNSName));
-		currentTag = getValidTagAttributeName(currentTag);
+		currentTag = sharedData.getValidTagAttributeName(currentTag);
 		writer.startLine('<').add(currentTag);
 		writer.attachSourceLine(elementBegLineNumber);
 		int attributeStart = is.readInt16();
@@ -275,7 +293,7 @@ private void parseElement() throws IOException {
 			for (Map.Entry<String, String> entry : nsMap.entrySet()) {
 				if (!definedNamespaces.contains(entry.getKey())) {
 					definedNamespaces.add(entry.getKey());
-					String nsValue = getValidTagAttributeName(entry.getValue());
+					String nsValue = sharedData.getValidTagAttributeName(entry.getValue());
 					writer.add(" xmlns");
 					if (nsValue != null && !nsValue.trim().isEmpty()) {
 						writer.add(':');
@@ -308,7 +326,7 @@ private void parseAttribute(int i, boolean newLine, Set<String> attrCache) throw
 		if (attributeNS != -1) {
 			shortNsName = getAttributeNS(attributeNS, newLine);
 		}
-		String attrName = getValidTagAttributeName(getAttributeName(attributeName));
+		String attrName = sharedData.getValidTagAttributeName(getAttributeName(attributeName));
 		String attrFullName = shortNsName != null ? shortNsName + ":" + attrName : attrName;
 		// do not dump duplicated values
 		if (XmlDeobf.isDuplicatedAttr(attrFullName, attrCache)) {
@@ -459,7 +477,7 @@ private void parseElementEnd() throws IOException {
 		int elementNS = is.readInt32();
 		int elementNameId = is.readInt32();
 		String elemName = deobfClassName(getString(elementNameId));
-		elemName = getValidTagAttributeName(elemName);
+		elemName = sharedData.getValidTagAttributeName(elemName);
 		if (currentTag.equals(elemName) && isOneLine && !isLastEnd) {
 			writer.add("/>");
 		} else {
@@ -476,31 +494,6 @@ private void parseElementEnd() throws IOException {
 		}
 	}
 
-	private String getValidTagAttributeName(String originalName) {
-		if (XMLChar.isValidName(originalName)) {
-			return originalName;
-		}
-		if (tagAttrDeobfNames.containsKey(originalName)) {
-			return tagAttrDeobfNames.get(originalName);
-		}
-		String generated;
-		do {
-			generated = generateTagAttrName();
-		} while (tagAttrDeobfNames.containsValue(generated));
-		tagAttrDeobfNames.put(originalName, generated);
-		return generated;
-	}
-
-	private static String generateTagAttrName() {
-		final int length = 6;
-		Random r = new Random();
-		StringBuilder sb = new StringBuilder();
-		for (int i = 1; i <= length; i++) {
-			sb.append((char) (r.nextInt(26) + 'a'));
-		}
-		return sb.toString();
-	}
-
 	private void attachClassNode(ICodeWriter writer, String attrFullName, String clsName) {
 		if (!writer.isMetadataSupported()) {
 			return;
@@ -538,6 +531,8 @@ private boolean isDeobfCandidateAttr(String attrFullName) {
 	private void memorizePackageName(String attrFullName, String attrValue) {
 		if ("manifest".equals(currentTag) && "package".equals(attrFullName)) {
 			appPackageName = attrValue;
+			// fallback for files without package name
+			sharedData.setAppPackageName(attrValue);
 		}
 	}
 }
@@ -2,7 +2,6 @@
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,13 +26,27 @@ public BinaryXMLStrings() {
 	}
 
 	public BinaryXMLStrings(int stringCount, long stringsStart, byte[] buffer, boolean isUtf8) {
+		this(stringCount, stringsStart, ByteBuffer.wrap(buffer), isUtf8);
+	}
+
+	/**
+	 * @param buffer strings pool data, can be a slice of array backed buffer
+	 */
+	public BinaryXMLStrings(int stringCount, long stringsStart, ByteBuffer buffer, boolean isUtf8) {
 		this.stringCount = stringCount;
 		this.stringsStart = stringsStart;
-		this.buffer = ByteBuffer.wrap(buffer);
+		this.buffer = buffer.hasArray() ? buffer : copyToHeap(buffer);
 		this.buffer.order(ByteOrder.LITTLE_ENDIAN);
 		this.isUtf8 = isUtf8;
 	}
 
+	private static ByteBuffer copyToHeap(ByteBuffer buffer) {
+		ByteBuffer heapBuffer = ByteBuffer.allocate(buffer.remaining());
+		heapBuffer.put(buffer.duplicate());
+		heapBuffer.flip();
+		return heapBuffer;
+	}
+
 	public String get(int id) {
 		String cached = cache.get(id);
 		if (cached != null) {
@@ -41,13 +54,16 @@ public String get(int id) {
 		}
 
 		long offset = stringsStart + buffer.getInt(id * 4);
+		// buffer can be a slice of bigger array
+		int arrOffset = buffer.arrayOffset();
+		int arrLimit = arrOffset + buffer.limit();
 		String extracted;
 		if (isUtf8) {
-			extracted = extractString8(this.buffer.array(), (int) offset);
+			extracted = extractString8(this.buffer.array(), arrLimit, arrOffset + (int) offset);
 		} else {
 			// don't trust specified string length, read until \0
 			// stringsOffset can be same for different indexes
-			extracted = extractString16(this.buffer.array(), (int) offset);
+			extracted = extractString16(this.buffer.array(), arrLimit, arrOffset + (int) offset);
 		}
 		cache.put(id, extracted);
 		return extracted;
@@ -61,8 +77,8 @@ public int size() {
 		return this.stringCount;
 	}
 
-	private static String extractString8(byte[] strArray, int offset) {
-		if (offset >= strArray.length) {
+	private static String extractString8(byte[] strArray, int limit, int offset) {
+		if (offset >= limit) {
 			return "STRING_DECODE_ERROR";
 		}
 		int start = offset + skipStrLen8(strArray, offset);
@@ -73,12 +89,12 @@ private static String extractString8(byte[] strArray, int offset) {
 		if ((len & 0x80) != 0) {
 			len = (len & 0x7F) << 8 | strArray[start++] & 0xFF;
 		}
-		byte[] arr = Arrays.copyOfRange(strArray, start, start + len);
-		return new String(arr, ParserStream.STRING_CHARSET_UTF8);
+		int strLen = Math.max(0, Math.min(start + len, limit) - start);
+		return new String(strArray, start, strLen, ParserStream.STRING_CHARSET_UTF8);
 	}
 
-	private static String extractString16(byte[] strArray, int offset) {
-		int len = strArray.length;
+	private static String extractString16(byte[] strArray, int limit, int offset) {
+		int len = limit;
 		int start = offset + skipStrLen16(strArray, offset);
 		int end = start;
 		while (true) {
@@ -90,8 +106,7 @@ private static String extractString16(byte[] strArray, int offset) {
 			}
 			end += 2;
 		}
-		byte[] arr = Arrays.copyOfRange(strArray, start, end);
-		return new String(arr, ParserStream.STRING_CHARSET_UTF16);
+		return new String(strArray, start, end - start, ParserStream.STRING_CHARSET_UTF16);
 	}
 
 	private static int skipStrLen8(byte[] strArray, int offset) {
@@ -0,0 +1,121 @@
+package jadx.core.xmlgen;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Parser stream for data fully loaded into memory.
+ * Use bulk reads for arrays and return buffer slices without copy.
+ */
+public class BufferParserStream extends ParserStream {
+
+	private final ByteBuffer buf;
+
+	public BufferParserStream(ByteBuffer buffer) {
+		this.buf = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	@Override
+	public long getPos() {
+		return buf.position();
+	}
+
+	@Override
+	public int readInt8() throws IOException {
+		checkRemaining(1);
+		return buf.get() & 0xFF;
+	}
+
+	@Override
+	public int readInt16() throws IOException {
+		checkRemaining(2);
+		return buf.getShort() & 0xFFFF;
+	}
+
+	@Override
+	public int readInt32() throws IOException {
+		checkRemaining(4);
+		return buf.getInt();
+	}
+
+	@Override
+	public int[] readInt32Array(int count) throws IOException {
+		if (count == 0) {
+			return EMPTY_INT_ARRAY;
+		}
+		checkRemaining(count * 4L);
+		int[] arr = new int[count];
+		buf.asIntBuffer().get(arr);
+		buf.position(buf.position() + count * 4);
+		return arr;
+	}
+
+	@Override
+	public byte[] readInt8Array(int count) throws IOException {
+		if (count == 0) {
+			return EMPTY_BYTE_ARRAY;
+		}
+		checkRemaining(count);
+		byte[] arr = new byte[count];
+		buf.get(arr);
+		return arr;
+	}
+
+	@Override
+	public ByteBuffer readBuffer(int count) throws IOException {
+		checkRemaining(count);
+		ByteBuffer slice = buf.slice();
+		slice.limit(count);
+		buf.position(buf.position() + count);
+		return slice.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	@Override
+	public void skip(long count) throws IOException {
+		if (count <= 0) {
+			return;
+		}
+		checkRemaining(count);
+		buf.position(buf.position() + (int) count);
+	}
+
+	@Override
+	public void mark(int len) {
+		buf.mark();
+	}
+
+	@Override
+	public void reset() {
+		buf.reset();
+	}
+
+	@Override
+	public InputStream getRemainingInput() {
+		ByteBuffer remaining = buf.slice();
+		if (remaining.hasArray()) {
+			return new ByteArrayInputStream(remaining.array(), remaining.arrayOffset(), remaining.remaining());
+		}
+		byte[] data = new byte[remaining.remaining()];
+		remaining.get(data);
+		return new ByteArrayInputStream(data);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		checkRemaining(len);
+		buf.get(b, off, len);
+	}
+
+	private void checkRemaining(long count) throws IOException {
+		if (count < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (buf.remaining() < count) {
+			throw new EOFException("No data, can't read " + count + " bytes at offset 0x" + Integer.toHexString(buf.position()));
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package jadx.core.xmlgen;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public class CommonBinaryParser extends ParserConstants {
 	protected ParserStream is;
@@ -24,7 +25,7 @@ protected BinaryXMLStrings parseStringPoolNoType() throws IOException {
 
 		// Correct the offset of actual strings, as the header is already read.
 		stringsStart = stringsStart - (is.getPos() - start);
-		byte[] buffer = is.readInt8Array((int) (chunkEnd - is.getPos()));
+		ByteBuffer buffer = is.readBuffer((int) (chunkEnd - is.getPos()));
 		is.checkPos(chunkEnd, "Expected strings pool end");
 
 		return new BinaryXMLStrings(
@@ -7,6 +7,13 @@ public interface IResParser {
 
 	void decode(InputStream inputStream) throws IOException;
 
+	/**
+	 * @param size data size or -1 if unknown
+	 */
+	default void decode(long size, InputStream inputStream) throws IOException {
+		decode(inputStream);
+	}
+
 	ResourceStorage getResStorage();
 
 	BinaryXMLStrings getStrings();
@@ -0,0 +1,127 @@
+package jadx.core.xmlgen;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jetbrains.annotations.NotNull;
+
+public class InputParserStream extends ParserStream {
+
+	private final InputStream input;
+	private long readPos = 0;
+	private long markPos = 0;
+
+	public InputParserStream(@NotNull InputStream inputStream) {
+		this.input = inputStream;
+	}
+
+	@Override
+	public long getPos() {
+		return readPos;
+	}
+
+	@Override
+	public int readInt8() throws IOException {
+		readPos++;
+		return input.read();
+	}
+
+	@Override
+	public int readInt16() throws IOException {
+		readPos += 2;
+		int b1 = input.read();
+		int b2 = input.read();
+		return (b2 & 0xFF) << 8 | b1 & 0xFF;
+	}
+
+	@Override
+	public int readInt32() throws IOException {
+		readPos += 4;
+		InputStream in = input;
+		int b1 = in.read();
+		int b2 = in.read();
+		int b3 = in.read();
+		int b4 = in.read();
+		return b4 << 24 | (b3 & 0xFF) << 16 | (b2 & 0xFF) << 8 | b1 & 0xFF;
+	}
+
+	@Override
+	public int[] readInt32Array(int count) throws IOException {
+		if (count == 0) {
+			return EMPTY_INT_ARRAY;
+		}
+		int[] arr = new int[count];
+		for (int i = 0; i < count; i++) {
+			arr[i] = readInt32();
+		}
+		return arr;
+	}
+
+	@Override
+	public byte[] readInt8Array(int count) throws IOException {
+		if (count == 0) {
+			return EMPTY_BYTE_ARRAY;
+		}
+		readPos += count;
+		byte[] arr = new byte[count];
+		int pos = input.read(arr, 0, count);
+		while (pos < count) {
+			int read = input.read(arr, pos, count - pos);
+			if (read == -1) {
+				throw new IOException("No data, can't read " + count + " bytes");
+			}
+			pos += read;
+		}
+		return arr;
+	}
+
+	@Override
+	public void skip(long count) throws IOException {
+		readPos += count;
+		long pos = input.skip(count);
+		while (pos < count) {
+			long skipped = input.skip(count - pos);
+			if (skipped == -1) {
+				throw new IOException("No data, can't skip " + count + " bytes");
+			}
+			pos += skipped;
+		}
+	}
+
+	@Override
+	public void mark(int len) throws IOException {
+		if (!input.markSupported()) {
+			throw new IOException("Mark not supported for input stream " + input.getClass());
+		}
+		input.mark(len);
+		markPos = readPos;
+	}
+
+	@Override
+	public void reset() throws IOException {
+		input.reset();
+		readPos = markPos;
+	}
+
+	@Override
+	public InputStream getRemainingInput() {
+		return input;
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		readPos += len;
+		if (len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		int n = 0;
+		while (n < len) {
+			int count = input.read(b, off + n, len - n);
+			if (count < 0) {
+				throw new EOFException();
+			}
+			n += count;
+		}
+	}
+}
@@ -1,52 +1,44 @@
 package jadx.core.xmlgen;
 
-import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 
-import org.jetbrains.annotations.NotNull;
-
-public class ParserStream {
+public abstract class ParserStream {
 
 	protected static final Charset STRING_CHARSET_UTF16 = Charset.forName("UTF-16LE");
 	protected static final Charset STRING_CHARSET_UTF8 = Charset.forName("UTF-8");
 
-	private static final int[] EMPTY_INT_ARRAY = new int[0];
-	private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
-
-	private final InputStream input;
-	private long readPos = 0;
-
-	public ParserStream(@NotNull InputStream inputStream) {
-		this.input = inputStream;
+	protected static final int[] EMPTY_INT_ARRAY = new int[0];
+	protected static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+
+	/**
+	 * Max data size to load into memory buffer
+	 */
+	private static final long MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Read whole data into buffer if size is known, otherwise read directly from input stream
+	 *
+	 * @param size data size or -1 if unknown
+	 */
+	public static ParserStream build(InputStream inputStream, long size) throws IOException {
+		if (size > 0 && size <= MAX_BUFFER_SIZE) {
+			byte[] data = inputStream.readNBytes((int) size);
+			return new BufferParserStream(ByteBuffer.wrap(data));
+		}
+		return new InputParserStream(inputStream);
 	}
 
-	public long getPos() {
-		return readPos;
-	}
+	public abstract long getPos();
 
-	public int readInt8() throws IOException {
-		readPos++;
-		return input.read();
-	}
+	public abstract int readInt8() throws IOException;
 
-	public int readInt16() throws IOException {
-		readPos += 2;
-		int b1 = input.read();
-		int b2 = input.read();
-		return (b2 & 0xFF) << 8 | b1 & 0xFF;
-	}
+	public abstract int readInt16() throws IOException;
 
-	public int readInt32() throws IOException {
-		readPos += 4;
-		InputStream in = input;
-		int b1 = in.read();
-		int b2 = in.read();
-		int b3 = in.read();
-		int b4 = in.read();
-		return b4 << 24 | (b3 & 0xFF) << 16 | (b2 & 0xFF) << 8 | b1 & 0xFF;
-	}
+	public abstract int readInt32() throws IOException;
 
 	public long readUInt32() throws IOException {
 		return readInt32() & 0xFFFFFFFFL;
@@ -57,46 +49,19 @@ public String readString16Fixed(int len) throws IOException {
 		return str.trim();
 	}
 
-	public int[] readInt32Array(int count) throws IOException {
-		if (count == 0) {
-			return EMPTY_INT_ARRAY;
-		}
-		int[] arr = new int[count];
-		for (int i = 0; i < count; i++) {
-			arr[i] = readInt32();
-		}
-		return arr;
-	}
+	public abstract int[] readInt32Array(int count) throws IOException;
 
-	public byte[] readInt8Array(int count) throws IOException {
-		if (count == 0) {
-			return EMPTY_BYTE_ARRAY;
-		}
-		readPos += count;
-		byte[] arr = new byte[count];
-		int pos = input.read(arr, 0, count);
-		while (pos < count) {
-			int read = input.read(arr, pos, count - pos);
-			if (read == -1) {
-				throw new IOException("No data, can't read " + count + " bytes");
-			}
-			pos += read;
-		}
-		return arr;
-	}
+	public abstract byte[] readInt8Array(int count) throws IOException;
 
-	public void skip(long count) throws IOException {
-		readPos += count;
-		long pos = input.skip(count);
-		while (pos < count) {
-			long skipped = input.skip(count - pos);
-			if (skipped == -1) {
-				throw new IOException("No data, can't skip " + count + " bytes");
-			}
-			pos += skipped;
-		}
+	/**
+	 * Read bytes into little-endian buffer, implementations can return view of underlying data without copy
+	 */
+	public ByteBuffer readBuffer(int count) throws IOException {
+		return ByteBuffer.wrap(readInt8Array(count)).order(ByteOrder.LITTLE_ENDIAN);
 	}
 
+	public abstract void skip(long count) throws IOException;
+
 	public void checkInt8(int expected, String error) throws IOException {
 		int v = readInt8();
 		if (v != expected) {
@@ -137,38 +102,23 @@ public void skipToPos(long expectedOffset, String error) throws IOException {
 		checkPos(expectedOffset, error);
 	}
 
-	public void mark(int len) throws IOException {
-		if (!input.markSupported()) {
-			throw new IOException("Mark not supported for input stream " + input.getClass());
-		}
-		input.mark(len);
-	}
+	public abstract void mark(int len) throws IOException;
 
-	public void reset() throws IOException {
-		input.reset();
-	}
+	public abstract void reset() throws IOException;
+
+	/**
+	 * Input stream with not yet read data
+	 */
+	public abstract InputStream getRemainingInput();
 
 	public void readFully(byte[] b) throws IOException {
 		readFully(b, 0, b.length);
 	}
 
-	public void readFully(byte[] b, int off, int len) throws IOException {
-		readPos += len;
-		if (len < 0) {
-			throw new IndexOutOfBoundsException();
-		}
-		int n = 0;
-		while (n < len) {
-			int count = input.read(b, off + n, len - n);
-			if (count < 0) {
-				throw new EOFException();
-			}
-			n += count;
-		}
-	}
+	public abstract void readFully(byte[] b, int off, int len) throws IOException;
 
 	@Override
 	public String toString() {
-		return "pos: 0x" + Long.toHexString(readPos);
+		return "pos: 0x" + Long.toHexString(getPos());
 	}
 }
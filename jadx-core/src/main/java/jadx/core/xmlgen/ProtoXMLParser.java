@@ -5,9 +5,10 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
+import org.jetbrains.annotations.Nullable;
+
 import com.android.aapt.Resources.XmlAttribute;
 import com.android.aapt.Resources.XmlElement;
 import com.android.aapt.Resources.XmlNamespace;
@@ -20,25 +21,41 @@
 import jadx.core.xmlgen.entry.ValuesParser;
 
 public class ProtoXMLParser extends CommonProtoParser {
-	private Map<String, String> nsMap;
-	private final Map<String, String> tagAttrDeobfNames = new HashMap<>();
+	private final RootNode rootNode;
+	private final XmlParserSharedData sharedData;
 
+	// per file parsing state
+	private Map<String, String> nsMap;
 	private ICodeWriter writer;
-
-	private final RootNode rootNode;
 	private String currentTag;
-	private String appPackageName;
+	private @Nullable String appPackageName;
 
 	public ProtoXMLParser(RootNode rootNode) {
 		this.rootNode = rootNode;
+		this.sharedData = new XmlParserSharedData();
+	}
+
+	/**
+	 * Copy shared data into new instance for single file parsing
+	 */
+	private ProtoXMLParser(ProtoXMLParser parent) {
+		this.rootNode = parent.rootNode;
+		this.sharedData = parent.sharedData;
+		this.appPackageName = parent.sharedData.getAppPackageName();
 	}
 
-	public synchronized ICodeInfo parse(InputStream inputStream) throws IOException {
+	/**
+	 * Parse XML file, can be called concurrently.
+	 */
+	public ICodeInfo parse(InputStream inputStream) throws IOException {
+		return new ProtoXMLParser(this).parseFile(inputStream);
+	}
+
+	private ICodeInfo parseFile(InputStream inputStream) throws IOException {
 		nsMap = new HashMap<>();
 		writer = rootNode.makeCodeWriter();
 		writer.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
 		decode(decodeProto(inputStream));
-		nsMap = null;
 		return writer.finish();
 	}
 
@@ -54,7 +71,7 @@ private void decode(XmlNode n) throws IOException {
 
 	private void decode(XmlElement e) throws IOException {
 		String tag = deobfClassName(e.getName());
-		tag = getValidTagAttributeName(tag);
+		tag = sharedData.getValidTagAttributeName(tag);
 		currentTag = tag;
 		writer.startLine('<').add(tag);
 		for (int i = 0; i < e.getNamespaceDeclarationCount(); i++) {
@@ -137,6 +154,8 @@ private void decode(XmlNamespace n) {
 	private void memorizePackageName(String attrName, String attrValue) {
 		if ("manifest".equals(currentTag) && "package".equals(attrName)) {
 			appPackageName = attrValue;
+			// fallback for files without package name
+			sharedData.setAppPackageName(attrValue);
 		}
 	}
 
@@ -148,31 +167,6 @@ private String deobfClassName(String className) {
 		return className;
 	}
 
-	private String getValidTagAttributeName(String originalName) {
-		if (XMLChar.isValidName(originalName)) {
-			return originalName;
-		}
-		if (tagAttrDeobfNames.containsKey(originalName)) {
-			return tagAttrDeobfNames.get(originalName);
-		}
-		String generated;
-		do {
-			generated = generateTagAttrName();
-		} while (tagAttrDeobfNames.containsValue(generated));
-		tagAttrDeobfNames.put(originalName, generated);
-		return generated;
-	}
-
-	private static String generateTagAttrName() {
-		final int length = 6;
-		Random r = new Random();
-		StringBuilder sb = new StringBuilder();
-		for (int i = 1; i <= length; i++) {
-			sb.append((char) (r.nextInt(26) + 'a'));
-		}
-		return sb.toString();
-	}
-
 	private XmlNode decodeProto(InputStream inputStream) throws IOException {
 		return XmlNode.parseFrom(XmlGenUtils.readData(inputStream));
 	}
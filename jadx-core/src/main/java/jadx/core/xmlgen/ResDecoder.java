@@ -10,7 +10,7 @@
 
 public class ResDecoder {
 
-	public static IResParser decode(RootNode root, ResourceFile resFile, InputStream is) throws IOException {
+	public static IResParser decode(RootNode root, ResourceFile resFile, long size, InputStream is) throws IOException {
 		if (resFile.getType() != ResourceType.ARSC) {
 			throw new IllegalArgumentException("Unexpected resource type for decode: " + resFile.getType() + ", expect ARSC");
 		}
@@ -25,7 +25,7 @@ public static IResParser decode(RootNode root, ResourceFile resFile, InputStream
 		if (parser == null) {
 			throw new JadxRuntimeException("Unknown type of resource file: " + fileName);
 		}
-		parser.decode(is);
+		parser.decode(size, is);
 		return parser;
 	}
 }
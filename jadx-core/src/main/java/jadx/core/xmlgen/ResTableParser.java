@@ -85,8 +85,13 @@ public ResTableParser(RootNode root, boolean useRawResNames) {
 
 	@Override
 	public void decode(InputStream inputStream) throws IOException {
+		decode(-1, inputStream);
+	}
+
+	@Override
+	public void decode(long size, InputStream inputStream) throws IOException {
 		long start = System.currentTimeMillis();
-		is = new ParserStream(inputStream);
+		is = ParserStream.build(inputStream, size);
 		decodeTableChunk();
 		resStorage.finish();
 		if (LOG.isDebugEnabled()) {
@@ -96,7 +101,11 @@ public void decode(InputStream inputStream) throws IOException {
 	}
 
 	public ResContainer decodeFiles(InputStream inputStream) throws IOException {
-		decode(inputStream);
+		return decodeFiles(-1, inputStream);
+	}
+
+	public ResContainer decodeFiles(long size, InputStream inputStream) throws IOException {
+		decode(size, inputStream);
 
 		ValuesParser vp = new ValuesParser(strings, resStorage.getResourcesNames());
 		ResXmlGen resGen = new ResXmlGen(resStorage, vp);
@@ -0,0 +1,56 @@
+package jadx.core.xmlgen;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Data shared between XML files parsing, can be accessed from several threads.
+ * Package name from last parsed manifest used as default for next parsed files,
+ * every parser instance keeps own copy.
+ */
+final class XmlParserSharedData {
+	private final Map<String, String> tagAttrDeobfNames = new HashMap<>();
+	private final Set<String> generatedNames = new HashSet<>();
+	private volatile @Nullable String appPackageName;
+
+	public @Nullable String getAppPackageName() {
+		return appPackageName;
+	}
+
+	public void setAppPackageName(String appPackageName) {
+		this.appPackageName = appPackageName;
+	}
+
+	public String getValidTagAttributeName(String originalName) {
+		if (XMLChar.isValidName(originalName)) {
+			return originalName;
+		}
+		synchronized (tagAttrDeobfNames) {
+			String name = tagAttrDeobfNames.get(originalName);
+			if (name != null) {
+				return name;
+			}
+			String generated;
+			do {
+				generated = generateTagAttrName();
+			} while (!generatedNames.add(generated));
+			tagAttrDeobfNames.put(originalName, generated);
+			return generated;
+		}
+	}
+
+	private static String generateTagAttrName() {
+		final int length = 6;
+		Random r = new Random();
+		StringBuilder sb = new StringBuilder();
+		for (int i = 1; i <= length; i++) {
+			sb.append((char) (r.nextInt(26) + 'a'));
+		}
+		return sb.toString();
+	}
+}
@@ -18,7 +18,7 @@
 public class ValuesParser extends ParserConstants {
 	private static final Logger LOG = LoggerFactory.getLogger(ValuesParser.class);
 
-	private static Map<Integer, String> androidResMap;
+	private static volatile Map<Integer, String> androidResMap;
 
 	private final BinaryXMLStrings strings;
 	private final Map<Integer, String> resMap;
@@ -30,10 +30,17 @@ public ValuesParser(BinaryXMLStrings strings, Map<Integer, String> resMap) {
 	}
 
 	public static Map<Integer, String> getAndroidResMap() {
-		if (androidResMap == null) {
-			androidResMap = loadAndroidResMap();
+		Map<Integer, String> map = androidResMap;
+		if (map == null) {
+			synchronized (ValuesParser.class) {
+				map = androidResMap;
+				if (map == null) {
+					map = loadAndroidResMap();
+					androidResMap = map;
+				}
+			}
 		}
-		return androidResMap;
+		return map;
 	}
 
 	private static Map<Integer, String> loadAndroidResMap() {
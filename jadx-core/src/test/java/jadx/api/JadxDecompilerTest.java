@@ -1,15 +1,30 @@
 package jadx.api;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.DependencyDecompilerScheduler;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.xmlgen.BinaryXMLParser;
 import jadx.plugins.input.dex.DexInputPlugin;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -56,6 +71,140 @@ public void testDirectDexInput() throws IOException {
 		}
 	}
 
+	@Test
+	public void testParallelLoad() {
+		List<String> seqClasses = loadClassesCode(false);
+		List<String> parallelClasses = loadClassesCode(true);
+		assertThat(parallelClasses, Matchers.hasSize(4));
+		assertThat(parallelClasses, Matchers.is(seqClasses));
+	}
+
+	@Test
+	public void testParallelPreDecompile() {
+		List<String> seqData = collectPreDecompileData(false);
+		List<String> parallelData = collectPreDecompileData(true);
+		assertThat(parallelData, Matchers.not(Matchers.empty()));
+		assertThat(parallelData, Matchers.is(seqData));
+	}
+
+	@Test
+	public void testDependencyScheduler() {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.setDecompileScheduler(new DependencyDecompilerScheduler());
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			List<JavaClass> classes = jadx.getClasses();
+			List<JavaClass> processed = new ArrayList<>();
+			List<Runnable> tasks = jadx.getDecompileScheduler().buildTasks(classes, processed::add);
+			tasks.forEach(Runnable::run);
+			assertThat(processed, Matchers.containsInAnyOrder(classes.toArray()));
+		}
+	}
+
+	@Test
+	public void testStreamingSave() throws IOException {
+		File outDir = FileUtils.createTempDir("jadx-streaming-save").toFile();
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.setOutDir(outDir);
+		args.setSkipResources(true);
+		args.setStreamingSave(true);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			jadx.save();
+			List<JavaClass> classes = jadx.getClasses();
+			assertThat(classes, Matchers.hasSize(3));
+			for (JavaClass cls : classes) {
+				ClassNode clsNode = cls.getClassNode();
+				// code cache not used
+				assertThat(clsNode.getCodeFromCache(), Matchers.nullValue());
+
+				String fileName = clsNode.getClassInfo().getAliasFullPath() + ".java";
+				File file = new File(args.getOutDirSrc(), fileName);
+				String savedCode = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+				assertThat(savedCode, Matchers.is(cls.getCode() + ICodeWriter.NL));
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentXmlParse() throws Exception {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		List<byte[]> files = new ArrayList<>();
+		try (ZipFile zip = new ZipFile(sampleApk)) {
+			for (String name : new String[] { "AndroidManifest.xml", "res/layout/activity_main.xml" }) {
+				try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+					files.add(in.readAllBytes());
+				}
+			}
+		}
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(sampleApk);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			BinaryXMLParser parser = jadx.getBinaryXmlParser();
+			List<String> expected = new ArrayList<>();
+			for (byte[] data : files) {
+				expected.add(parseXml(parser, data));
+			}
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+			try {
+				List<Future<String>> futures = new ArrayList<>();
+				int count = 64;
+				for (int i = 0; i < count; i++) {
+					byte[] data = files.get(i % files.size());
+					futures.add(executor.submit(() -> parseXml(parser, data)));
+				}
+				for (int i = 0; i < count; i++) {
+					assertThat(futures.get(i).get(), Matchers.is(expected.get(i % files.size())));
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private static String parseXml(BinaryXMLParser parser, byte[] data) throws IOException {
+		return parser.parse(data.length, new ByteArrayInputStream(data)).getCodeStr();
+	}
+
+	private static List<String> loadClassesCode(boolean parallelLoad) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.getInputFiles().add(getFileFromSampleDir("hello.dex"));
+		args.setThreadsCount(2);
+		args.setLoadClassesInParallel(parallelLoad);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			return jadx.getClasses().stream().map(JavaClass::getCode).collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Dump results of usage collection and methods inline marking (done for every class in parallel mode)
+	 */
+	private static List<String> collectPreDecompileData(boolean parallel) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.getInputFiles().add(getFileFromSampleDir("hello.dex"));
+		args.setThreadsCount(4);
+		args.setPreDecompileInParallel(parallel);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			List<String> data = new ArrayList<>();
+			for (ClassNode cls : jadx.getRoot().getClasses()) {
+				data.add(cls + " deps: " + cls.getDependencies() + ", codegen deps: " + cls.getCodegenDeps()
+						+ ", use in: " + cls.getUseIn() + ", use in methods: " + cls.getUseInMth());
+				for (MethodNode mth : cls.getMethods()) {
+					data.add(mth + (mth.contains(AFlag.METHOD_CANDIDATE_FOR_INLINE) ? " inline" : "")
+							+ ", use in: " + mth.getUseIn());
+				}
+			}
+			return data;
+		}
+	}
+
 	private static final String TEST_SAMPLES_DIR = "test-samples/";
 
 	public static File getFileFromSampleDir(String fileName) {
@@ -0,0 +1,80 @@
+package jadx.api.impl;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
+import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeMetadata;
+import jadx.api.metadata.annotations.InsnCodeOffset;
+import jadx.api.metadata.annotations.NodeEnd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnnotatedCodeWriterTest {
+
+	@Test
+	public void testNestedWritersMerge() {
+		InsnCodeOffset first = new InsnCodeOffset(1);
+		InsnCodeOffset second = new InsnCodeOffset(2);
+		InsnCodeOffset third = new InsnCodeOffset(3);
+
+		ICodeWriter inner = new AnnotatedCodeWriter();
+		inner.startLine("a");
+		inner.attachAnnotation(first);
+		inner.attachSourceLine(10);
+		inner.startLine("b");
+		inner.attachAnnotation(second);
+		inner.attachSourceLine(20);
+
+		ICodeWriter middle = new AnnotatedCodeWriter();
+		middle.startLine("class {");
+		middle.attachAnnotation(third);
+		middle.add(inner);
+		middle.startLine('}');
+		middle.attachAnnotation(NodeEnd.VALUE);
+
+		ICodeWriter outer = new AnnotatedCodeWriter();
+		outer.add("// header");
+		outer.add(middle);
+
+		String code = outer.getCodeStr();
+		int innerStart = code.indexOf(ICodeWriter.NL + "a");
+		int classStart = code.indexOf(ICodeWriter.NL + "class {");
+		int end = code.lastIndexOf('}');
+
+		ICodeInfo codeInfo = outer.finish();
+		ICodeMetadata metadata = codeInfo.getCodeMetadata();
+		assertThat(metadata.getAt(classStart + ICodeWriter.NL.length() + "class {".length())).isSameAs(third);
+		assertThat(metadata.getAt(innerStart + ICodeWriter.NL.length() + 1)).isSameAs(first);
+		assertThat(metadata.getAt(innerStart + ICodeWriter.NL.length() * 2 + 2)).isSameAs(second);
+		assertThat(metadata.getAt(end + 1)).isSameAs(NodeEnd.VALUE);
+		assertThat(metadata.getAsMap()).hasSize(4);
+
+		Map<Integer, Integer> lineMapping = metadata.getLineMapping();
+		assertThat(lineMapping).containsOnly(Map.entry(3, 10), Map.entry(4, 20));
+	}
+
+	@Test
+	public void testSamePositionOverride() {
+		InsnCodeOffset first = new InsnCodeOffset(1);
+		InsnCodeOffset second = new InsnCodeOffset(2);
+
+		ICodeWriter inner = new AnnotatedCodeWriter();
+		inner.attachAnnotation(second);
+
+		ICodeWriter code = new AnnotatedCodeWriter();
+		code.add("a");
+		code.attachAnnotation(first);
+		assertThat(code.getRawAnnotations()).containsEntry(1, first);
+		code.add(inner);
+		assertThat(code.getRawAnnotations()).containsEntry(1, second);
+		code.add("b");
+
+		Map<Integer, ICodeAnnotation> map = code.finish().getCodeMetadata().getAsMap();
+		assertThat(map).hasSize(1);
+		assertThat(map.get(1)).isSameAs(second);
+	}
+}
@@ -0,0 +1,55 @@
+package jadx.api.impl;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCodeCacheTest {
+
+	@Test
+	public void testEviction() {
+		ICodeInfo code = new SimpleCodeInfo("class A {}");
+		BoundedCodeCache cache = new BoundedCodeCache(1000);
+		for (int i = 0; i < 10; i++) {
+			cache.add("cls" + i, code);
+		}
+		assertThat(cache.getSize()).isLessThanOrEqualTo(1000);
+		assertThat(cache.getEvictions()).isGreaterThan(0);
+		assertThat(cache.contains("cls0")).isFalse();
+		assertThat(cache.contains("cls9")).isTrue();
+
+		assertThat(cache.get("cls0")).isSameAs(ICodeInfo.EMPTY);
+		assertThat(cache.get("cls9")).isSameAs(code);
+		assertThat(cache.getMisses()).isEqualTo(1);
+		assertThat(cache.getHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		ICodeInfo code = new SimpleCodeInfo("class A {}");
+		BoundedCodeCache cache = new BoundedCodeCache(1000);
+		cache.add("first", code);
+		cache.add("second", code);
+		// access first entry to make second least recently used
+		assertThat(cache.getCode("first")).isEqualTo("class A {}");
+		for (int i = 0; cache.getEvictions() == 0; i++) {
+			cache.add("cls" + i, code);
+		}
+		assertThat(cache.contains("second")).isFalse();
+		assertThat(cache.contains("first")).isTrue();
+	}
+
+	@Test
+	public void testRemoveAndReplace() {
+		BoundedCodeCache cache = new BoundedCodeCache(10_000);
+		cache.add("cls", new SimpleCodeInfo("class A {}"));
+		long size = cache.getSize();
+		cache.add("cls", new SimpleCodeInfo("class A {}"));
+		assertThat(cache.getSize()).isEqualTo(size);
+		cache.remove("cls");
+		assertThat(cache.getSize()).isZero();
+		assertThat(cache.getCode("cls")).isNull();
+	}
+}
@@ -0,0 +1,120 @@
+package jadx.api.metadata.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeAnnotation.AnnType;
+import jadx.api.metadata.ICodeMetadata;
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.api.metadata.annotations.NodeDeclareRef;
+import jadx.api.metadata.annotations.NodeEnd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeMetadataStorageTest {
+
+	@Test
+	public void testNodeLookup() {
+		TestNode cls = new TestNode(AnnType.CLASS);
+		TestNode mth = new TestNode(AnnType.METHOD);
+		TestNode abstractMth = new TestNode(AnnType.METHOD);
+		TestNode innerCls = new TestNode(AnnType.CLASS);
+		TestNode innerMth = new TestNode(AnnType.METHOD);
+		TestNode field = new TestNode(AnnType.FIELD);
+		TestNode var = new TestNode(AnnType.VAR);
+
+		Map<Integer, ICodeAnnotation> map = new HashMap<>();
+		map.put(10, new NodeDeclareRef(cls));
+		map.put(15, new NodeDeclareRef(field));
+		map.put(20, new NodeDeclareRef(mth));
+		map.put(25, new NodeDeclareRef(var));
+		map.put(30, NodeEnd.VALUE);
+		// method without body
+		map.put(40, new NodeDeclareRef(abstractMth));
+		map.put(50, new NodeDeclareRef(innerCls));
+		map.put(60, new NodeDeclareRef(innerMth));
+		map.put(70, NodeEnd.VALUE);
+		map.put(80, NodeEnd.VALUE);
+		map.put(90, NodeEnd.VALUE);
+		ICodeMetadata metadata = CodeMetadataStorage.build(Collections.emptyMap(), map);
+
+		assertThat(metadata.getNodeAt(5)).isNull();
+		assertThat(metadata.getNodeAt(10)).isSameAs(cls);
+		assertThat(metadata.getNodeAt(15)).isSameAs(cls);
+		assertThat(metadata.getNodeAt(27)).isSameAs(mth);
+		assertThat(metadata.getNodeAt(30)).isSameAs(cls);
+		assertThat(metadata.getNodeAt(45)).isSameAs(abstractMth);
+		assertThat(metadata.getNodeAt(65)).isSameAs(innerMth);
+		assertThat(metadata.getNodeAt(75)).isSameAs(innerCls);
+
+		assertThat(metadata.getNodeBelow(0)).isSameAs(cls);
+		assertThat(metadata.getNodeBelow(11)).isSameAs(mth);
+		assertThat(metadata.getNodeBelow(40)).isSameAs(abstractMth);
+		assertThat(metadata.getNodeBelow(61)).isNull();
+	}
+
+	@Test
+	public void testSearch() {
+		TestNode field = new TestNode(AnnType.FIELD);
+		TestNode var = new TestNode(AnnType.VAR);
+		Map<Integer, ICodeAnnotation> map = new HashMap<>();
+		map.put(3, field);
+		map.put(7, var);
+		map.put(12, NodeEnd.VALUE);
+		ICodeMetadata metadata = CodeMetadataStorage.build(Collections.emptyMap(), map);
+
+		assertThat(metadata.getAt(7)).isSameAs(var);
+		assertThat(metadata.getAt(8)).isNull();
+		assertThat(metadata.getClosestUp(7)).isSameAs(field);
+		assertThat(metadata.getClosestUp(3)).isNull();
+		assertThat(metadata.searchUp(11, AnnType.FIELD)).isSameAs(field);
+		assertThat(metadata.searchUp(11, 4, AnnType.FIELD)).isNull();
+
+		List<Integer> upPositions = new ArrayList<>();
+		metadata.searchUp(10, (pos, ann) -> {
+			upPositions.add(pos);
+			return null;
+		});
+		assertThat(upPositions).containsExactly(7, 3);
+
+		List<Integer> downPositions = new ArrayList<>();
+		metadata.searchDown(4, (pos, ann) -> {
+			downPositions.add(pos);
+			return null;
+		});
+		assertThat(downPositions).containsExactly(7, 12);
+
+		Map<Integer, ICodeAnnotation> asMap = metadata.getAsMap();
+		assertThat(asMap).hasSize(3);
+		assertThat(asMap.keySet()).containsExactly(12, 7, 3);
+		assertThat(asMap).containsEntry(3, field);
+	}
+
+	private static final class TestNode implements ICodeNodeRef {
+		private final AnnType type;
+
+		private TestNode(AnnType type) {
+			this.type = type;
+		}
+
+		@Override
+		public AnnType getAnnType() {
+			return type;
+		}
+
+		@Override
+		public int getDefPosition() {
+			return 0;
+		}
+
+		@Override
+		public void setDefPosition(int pos) {
+		}
+	}
+}
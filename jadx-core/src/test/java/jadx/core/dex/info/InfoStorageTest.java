@@ -0,0 +1,99 @@
+package jadx.core.dex.info;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.data.impl.JadxFieldRef;
+import jadx.core.dex.nodes.RootNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InfoStorageTest {
+	private static final int THREADS = 8;
+	private static final int REFS_COUNT = 2000;
+
+	@Test
+	public void concurrentIntern() throws Exception {
+		RootNode root = new RootNode(new JadxArgs());
+		CountDownLatch startLatch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<List<Object>>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					startLatch.await();
+					List<Object> result = new ArrayList<>(REFS_COUNT * 2);
+					for (int i = 0; i < REFS_COUNT; i++) {
+						String cls = "Lpkg/Cls" + i % 100 + ';';
+						result.add(FieldInfo.fromRef(root, new JadxFieldRef(cls, "f" + i, "I")));
+						result.add(MethodInfo.fromRef(root, new TestMethodRef(i + 1, cls, "m" + i)));
+					}
+					return result;
+				}));
+			}
+			startLatch.countDown();
+			List<Object> first = futures.get(0).get();
+			for (Future<List<Object>> future : futures) {
+				List<Object> infos = future.get();
+				assertThat(infos).hasSize(first.size());
+				for (int i = 0; i < infos.size(); i++) {
+					assertThat(infos.get(i)).isSameAs(first.get(i));
+				}
+			}
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+	private static final class TestMethodRef implements IMethodRef {
+		private final int id;
+		private final String cls;
+		private final String name;
+
+		private TestMethodRef(int id, String cls, String name) {
+			this.id = id;
+			this.cls = cls;
+			this.name = name;
+		}
+
+		@Override
+		public int getUniqId() {
+			return id;
+		}
+
+		@Override
+		public void load() {
+		}
+
+		@Override
+		public String getParentClassType() {
+			return cls;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public String getReturnType() {
+			return "V";
+		}
+
+		@Override
+		public List<String> getArgTypes() {
+			return Collections.emptyList();
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package jadx.core.utils.files;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZipFilePoolTest {
+
+	@TempDir
+	public Path tempDir;
+
+	@Test
+	public void testSharedZipFile() throws IOException {
+		File file = makeZip();
+		ZipFilePool pool = new ZipFilePool();
+		try (ZipFilePool.Handle first = pool.open(file);
+				ZipFilePool.Handle second = pool.open(file)) {
+			assertThat(first.getZipFile()).isSameAs(second.getZipFile());
+		}
+		ZipFile zipFile;
+		try (ZipFilePool.Handle handle = pool.open(file)) {
+			zipFile = handle.getZipFile();
+			// in use zip file closed after release
+			pool.close();
+			assertThat(zipFile.getEntry("a.txt")).isNotNull();
+		}
+		assertThatThrownBy(() -> zipFile.getEntry("a.txt")).isInstanceOf(IllegalStateException.class);
+
+		// new zip file opened after pool close
+		try (ZipFilePool.Handle handle = pool.open(file)) {
+			assertThat(handle.getZipFile()).isNotSameAs(zipFile);
+			assertThat(handle.getZipFile().getEntry("a.txt")).isNotNull();
+		}
+	}
+
+	private File makeZip() throws IOException {
+		Path zip = tempDir.resolve("test.zip");
+		try (OutputStream out = Files.newOutputStream(zip);
+				ZipOutputStream zipOut = new ZipOutputStream(out)) {
+			zipOut.putNextEntry(new ZipEntry("a.txt"));
+			zipOut.write(new byte[] { 1, 2, 3 });
+			zipOut.closeEntry();
+		}
+		return zip.toFile();
+	}
+}
@@ -0,0 +1,81 @@
+package jadx.core.xmlgen;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParserStreamTest {
+
+	@Test
+	public void testSameResults() throws IOException {
+		byte[] data = buildData();
+		ParserStream inputStream = ParserStream.build(new ByteArrayInputStream(data), -1);
+		ParserStream bufferStream = ParserStream.build(new ByteArrayInputStream(data), data.length);
+		assertThat(inputStream).isInstanceOf(InputParserStream.class);
+		assertThat(bufferStream).isInstanceOf(BufferParserStream.class);
+		checkRead(inputStream);
+		checkRead(bufferStream);
+	}
+
+	@Test
+	public void testBufferEnd() throws IOException {
+		ParserStream stream = ParserStream.build(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), 3);
+		stream.skip(2);
+		assertThatThrownBy(stream::readInt16).isInstanceOf(EOFException.class);
+		assertThat(stream.readInt8()).isEqualTo(3);
+	}
+
+	@Test
+	public void testStringsFromSlice() {
+		ByteBuffer buf = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+		buf.putInt(0xFF); // data before strings pool
+		buf.putInt(0); // offset of first string
+		buf.put((byte) 3).put((byte) 3).put("abc".getBytes(StandardCharsets.UTF_8)).put((byte) 0);
+		buf.flip();
+		buf.position(4);
+		BinaryXMLStrings strings = new BinaryXMLStrings(1, 4, buf.slice(), true);
+		assertThat(strings.get(0)).isEqualTo("abc");
+	}
+
+	private static void checkRead(ParserStream is) throws IOException {
+		assertThat(is.readInt8()).isEqualTo(0xF1);
+		assertThat(is.readInt16()).isEqualTo(0xF2F3);
+		assertThat(is.readInt32()).isEqualTo(0xF4F5F6F7);
+		assertThat(is.readUInt32()).isEqualTo(0xFFFFFFFEL);
+		assertThat(is.readInt32Array(3)).containsExactly(1, 2, 3);
+		assertThat(is.readString16Fixed(4)).isEqualTo("str");
+		is.mark(4);
+		assertThat(is.readInt16()).isEqualTo(0x1234);
+		is.reset();
+		is.skip(2);
+		assertThat(is.getPos()).isEqualTo(33);
+		ByteBuffer buf = is.readBuffer(4);
+		assertThat(buf.remaining()).isEqualTo(4);
+		assertThat(buf.getInt(0)).isEqualTo(0x55667788);
+		is.skipToPos(40, "skip to end");
+		assertThat(is.readInt8Array(2)).containsExactly(0x0A, 0x0B);
+	}
+
+	private static byte[] buildData() {
+		ByteBuffer buf = ByteBuffer.allocate(42).order(ByteOrder.LITTLE_ENDIAN);
+		buf.put((byte) 0xF1);
+		buf.putShort((short) 0xF2F3);
+		buf.putInt(0xF4F5F6F7);
+		buf.putInt(0xFFFFFFFE);
+		buf.putInt(1).putInt(2).putInt(3);
+		buf.put("str\0".getBytes(StandardCharsets.UTF_16LE));
+		buf.putShort((short) 0x1234);
+		buf.putInt(0x55667788);
+		buf.position(40);
+		buf.put((byte) 0x0A).put((byte) 0x0B);
+		return buf.array();
+	}
+}
@@ -1,17 +1,22 @@
 package jadx.tests.functional;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import jadx.api.JadxArgs;
+import jadx.core.clsp.ClspClass;
 import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.RootNode;
 
 import static jadx.core.dex.instructions.args.ArgType.STRING;
 import static jadx.core.dex.instructions.args.ArgType.object;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -44,4 +49,47 @@ public void test() {
 
 		assertTrue(ArgType.isCastNeeded(root, ArgType.OBJECT, STRING));
 	}
+
+	@Test
+	public void testHierarchy() {
+		assertThat(clsp.getSuperTypes(JAVA_LANG_EXCEPTION))
+				.contains(JAVA_LANG_THROWABLE, "java.lang.Object", "java.io.Serializable")
+				.doesNotContain(JAVA_LANG_EXCEPTION);
+		assertThat(clsp.getImplementations(JAVA_LANG_THROWABLE))
+				.contains(JAVA_LANG_EXCEPTION, "java.lang.RuntimeException")
+				.isSorted();
+		assertThat(clsp.getCommonAncestor("java.lang.RuntimeException", "java.lang.Error"))
+				.isEqualTo(JAVA_LANG_THROWABLE);
+		assertThat(clsp.getCommonAncestor("java.lang.RuntimeException", JAVA_LANG_EXCEPTION))
+				.isEqualTo(JAVA_LANG_EXCEPTION);
+		assertTrue(clsp.isImplements("java.util.ArrayList", "java.util.Collection"));
+		assertFalse(clsp.isImplements("java.util.ArrayList", "java.util.Map"));
+		assertFalse(clsp.isImplements("unknown.Cls", "java.lang.Object"));
+	}
+
+	@Test
+	public void testSuperTypesOrder() {
+		// iteration order of super types set used in type inference, keep same as in set copied from DFS result
+		for (String clsName : new String[] { JAVA_LANG_EXCEPTION, "java.util.ArrayList", "java.util.HashMap",
+				"java.lang.String", "java.util.concurrent.ConcurrentHashMap", "java.lang.Integer" }) {
+			Set<String> tmpSet = new HashSet<>();
+			addSuperTypes(object(clsName), tmpSet);
+			Set<String> expected = new HashSet<>(tmpSet);
+			assertThat(new ArrayList<>(clsp.getSuperTypes(clsName)))
+					.as(clsName)
+					.containsExactlyElementsOf(new ArrayList<>(expected));
+		}
+	}
+
+	private void addSuperTypes(ArgType type, Set<String> result) {
+		ClspClass cls = clsp.getClsDetails(type);
+		if (cls == null) {
+			return;
+		}
+		for (ArgType parentType : cls.getParents()) {
+			if (parentType != null && result.add(parentType.getObject())) {
+				addSuperTypes(parentType, result);
+			}
+		}
+	}
 }
@@ -0,0 +1,46 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.PassesProfiler;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestPassesProfiler extends IntegrationTest {
+
+	public static class TestCls {
+		public int test(int a) {
+			if (a > 0) {
+				return a * 2;
+			}
+			return -a;
+		}
+	}
+
+	@Test
+	public void test() {
+		getArgs().setProfilePasses(true);
+		ClassNode cls = getClassNode(TestCls.class);
+		assertThat(cls).code().containsOne("return a * 2;");
+
+		PassesProfiler profiler = cls.root().getPassesProfiler();
+		assertThat(profiler).isNotNull();
+		assertThat(profiler.getPassesStats())
+				.anySatisfy(stats -> {
+					assertThat(stats.getName()).isEqualTo("RegionMakerVisitor");
+					assertThat(stats.getCalls()).isGreaterThan(0);
+					assertThat(stats.getSlowest()).isEqualTo(cls.getRawName());
+				});
+		assertThat(profiler.getClassesStats())
+				.anySatisfy(stats -> assertThat(stats.getName()).isEqualTo(cls.getRawName()));
+		assertThat(profiler.buildSummaryTable()).contains("RegionMakerVisitor");
+	}
+
+	@Test
+	public void testDisabled() {
+		ClassNode cls = getClassNode(TestCls.class);
+		assertThat(cls.root().getPassesProfiler()).isNull();
+	}
+}
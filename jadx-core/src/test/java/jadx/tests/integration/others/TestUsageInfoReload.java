@@ -0,0 +1,45 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestUsageInfoReload extends IntegrationTest {
+
+	public static class TestCls {
+		private int field;
+
+		public int test() {
+			return new Inner().get() + field;
+		}
+
+		public static class Inner {
+			public int get() {
+				return 1;
+			}
+		}
+	}
+
+	@Test
+	public void test() {
+		ClassNode cls = getClassNode(TestCls.class);
+		assertThat(cls).code().containsOne("new Inner().get()");
+
+		assertThat(cls).reloadCode(this).containsOne("new Inner().get()");
+
+		// method and field nodes recreated on reload, usage lists should contain new instances
+		MethodNode testMth = cls.searchMethodByShortName("test");
+		FieldNode field = cls.searchFieldByName("field");
+		MethodNode getMth = cls.getInnerClasses().get(0).searchMethodByShortName("get");
+		assertThat(field.getUseIn()).hasSize(1);
+		assertThat(field.getUseIn().get(0)).isSameAs(testMth);
+		assertThat(getMth.getUseIn()).hasSize(1);
+		assertThat(getMth.getUseIn().get(0)).isSameAs(testMth);
+		assertThat(cls.getInnerClasses().get(0).getUseInMth()).contains(testMth);
+	}
+}
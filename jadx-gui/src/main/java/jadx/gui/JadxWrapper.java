@@ -1,5 +1,6 @@
 package jadx.gui;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -12,6 +13,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.ICodeCache;
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
@@ -27,9 +29,13 @@
 import jadx.core.dex.nodes.ProcessState;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.gui.cache.code.CodeCacheStats;
 import jadx.gui.cache.code.CodeStringCache;
 import jadx.gui.cache.code.disk.BufferCodeCache;
 import jadx.gui.cache.code.disk.DiskCodeCache;
+import jadx.gui.cache.code.disk.PackedDiskCodeCache;
+import jadx.gui.cache.search.CodeSearchIndex;
+import jadx.gui.cache.search.SearchIndexCodeCache;
 import jadx.gui.cache.usage.UsageInfoCache;
 import jadx.gui.plugins.context.CommonGuiPluginsContext;
 import jadx.gui.plugins.context.GuiPluginContext;
@@ -52,6 +58,8 @@ public class JadxWrapper {
 	private final MainWindow mainWindow;
 	private volatile @Nullable JadxDecompiler decompiler;
 	private CommonGuiPluginsContext guiPluginsContext;
+	private @Nullable CodeCacheStats codeCacheStats;
+	private @Nullable CodeSearchIndex codeSearchIndex;
 
 	public JadxWrapper(MainWindow mainWindow) {
 		this.mainWindow = mainWindow;
@@ -93,6 +101,7 @@ public void close() {
 				if (decompiler != null) {
 					decompiler.close();
 					decompiler = null;
+					codeSearchIndex = null;
 				}
 				if (guiPluginsContext != null) {
 					resetGuiPluginsContext();
@@ -107,22 +116,58 @@ public void close() {
 	}
 
 	private void initCodeCache() {
+		codeCacheStats = null;
 		switch (getSettings().getCodeCacheMode()) {
 			case MEMORY:
-				getArgs().setCodeCache(new InMemoryCodeCache());
+				setCodeCache(new InMemoryCodeCache(), null);
 				break;
-			case DISK_WITH_CACHE:
-				getArgs().setCodeCache(new CodeStringCache(buildBufferedDiskCache()));
+			case DISK_WITH_CACHE: {
+				DiskCodeCache diskCache = buildDiskCache();
+				setCodeCache(new CodeStringCache(new BufferCodeCache(diskCache)), diskCache.getBaseDir());
 				break;
-			case DISK:
-				getArgs().setCodeCache(buildBufferedDiskCache());
+			}
+			case DISK: {
+				DiskCodeCache diskCache = buildDiskCache();
+				setCodeCache(new BufferCodeCache(diskCache), diskCache.getBaseDir());
+				break;
+			}
+			case DISK_PACKED:
+				PackedDiskCodeCache packedCache = new PackedDiskCodeCache(getDecompiler().getRoot(),
+						getProject().getCacheDir(), getSettings().isCodeCacheCompression());
+				codeCacheStats = packedCache.getStats();
+				setCodeCache(new BufferCodeCache(packedCache), packedCache.getBaseDir());
 				break;
 		}
 	}
 
-	private BufferCodeCache buildBufferedDiskCache() {
-		DiskCodeCache diskCache = new DiskCodeCache(getDecompiler().getRoot(), getProject().getCacheDir());
-		return new BufferCodeCache(diskCache);
+	private DiskCodeCache buildDiskCache() {
+		DiskCodeCache diskCache = new DiskCodeCache(getDecompiler().getRoot(),
+				getProject().getCacheDir(), getSettings().isCodeCacheCompression());
+		codeCacheStats = diskCache.getStats();
+		return diskCache;
+	}
+
+	/**
+	 * Wrap code cache for update code search index.
+	 * Index saved into disk cache dir to be dropped together with cache data.
+	 */
+	private void setCodeCache(ICodeCache codeCache, @Nullable Path indexDir) {
+		codeSearchIndex = new CodeSearchIndex(indexDir);
+		getArgs().setCodeCache(new SearchIndexCodeCache(codeCache, codeSearchIndex));
+	}
+
+	/**
+	 * Trigrams index of generated code, null if decompiler not opened
+	 */
+	public @Nullable CodeSearchIndex getCodeSearchIndex() {
+		return codeSearchIndex;
+	}
+
+	/**
+	 * Storage stats for disk code cache, null if disk cache not used
+	 */
+	public @Nullable CodeCacheStats getCodeCacheStats() {
+		return codeCacheStats;
 	}
 
 	private void initUsageCache(JadxArgs jadxArgs) {
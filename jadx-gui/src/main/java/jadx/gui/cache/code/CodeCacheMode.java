@@ -7,7 +7,8 @@
 public enum CodeCacheMode {
 	MEMORY("Everything in memory: fast search, slow reopen, high memory usage"),
 	DISK_WITH_CACHE("Code saved on disk with in memory cache: medium search, fast reopen, medium memory usage"),
-	DISK("Everything on disk: slow search, fast reopen, low memory usage");
+	DISK("Everything on disk: slow search, fast reopen, low memory usage"),
+	DISK_PACKED("Everything on disk packed into single file: slow search, fastest reopen, low memory usage");
 
 	private final String desc;
 
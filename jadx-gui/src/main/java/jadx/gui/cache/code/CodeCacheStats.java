@@ -0,0 +1,52 @@
+package jadx.gui.cache.code;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disk code cache storage statistics: compression ratio and read (decode) time
+ */
+public class CodeCacheStats {
+	private final AtomicLong rawBytes = new AtomicLong();
+	private final AtomicLong storedBytes = new AtomicLong();
+	private final AtomicLong decodeCount = new AtomicLong();
+	private final AtomicLong decodeTime = new AtomicLong();
+
+	public void addWrite(int rawSize, int storedSize) {
+		rawBytes.addAndGet(rawSize);
+		storedBytes.addAndGet(storedSize);
+	}
+
+	public void addDecode(long timeNanos) {
+		decodeCount.incrementAndGet();
+		decodeTime.addAndGet(timeNanos);
+	}
+
+	/**
+	 * Stored size to raw size ratio for entries written in current session
+	 */
+	public double getCompressionRatio() {
+		long raw = rawBytes.get();
+		if (raw == 0) {
+			return 1;
+		}
+		return storedBytes.get() / (double) raw;
+	}
+
+	public double getAvgDecodeTimeMs() {
+		long count = decodeCount.get();
+		if (count == 0) {
+			return 0;
+		}
+		return decodeTime.get() / (double) count / 1_000_000;
+	}
+
+	public long getDecodeCount() {
+		return decodeCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CodeCacheStats{ratio=%.2f, decodes=%d, avgDecodeTime=%.3fms}",
+				getCompressionRatio(), getDecodeCount(), getAvgDecodeTimeMs());
+	}
+}
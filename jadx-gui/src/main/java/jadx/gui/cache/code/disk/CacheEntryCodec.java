@@ -0,0 +1,115 @@
+package jadx.gui.cache.code.disk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.gui.cache.code.CodeCacheStats;
+
+/**
+ * Encode cache entries with optional compression.
+ * <br>
+ * First byte of encoded entry contains codec id, so raw and compressed entries can be mixed.
+ */
+public class CacheEntryCodec {
+	private static final byte RAW = 0;
+	private static final byte DEFLATE = 1;
+
+	private final boolean compress;
+	private final CodeCacheStats stats = new CodeCacheStats();
+
+	public CacheEntryCodec(boolean compress) {
+		this.compress = compress;
+	}
+
+	public byte[] encode(byte[] data) {
+		byte[] result = null;
+		if (compress && data.length > 0) {
+			result = deflate(data);
+		}
+		if (result == null) {
+			// compression disabled or not effective
+			result = new byte[data.length + 1];
+			result[0] = RAW;
+			System.arraycopy(data, 0, result, 1, data.length);
+		}
+		stats.addWrite(data.length, result.length);
+		return result;
+	}
+
+	public byte[] decode(byte[] data) throws IOException {
+		return decode(data, 0, data.length);
+	}
+
+	public byte[] decode(byte[] data, int off, int len) throws IOException {
+		if (len == 0) {
+			throw new IOException("Empty cache entry");
+		}
+		long start = System.nanoTime();
+		byte[] result;
+		byte codec = data[off];
+		switch (codec) {
+			case RAW:
+				result = Arrays.copyOfRange(data, off + 1, off + len);
+				break;
+			case DEFLATE:
+				result = inflate(data, off + 1, len - 1);
+				break;
+			default:
+				throw new IOException("Unknown cache entry codec: " + codec);
+		}
+		stats.addDecode(System.nanoTime() - start);
+		return result;
+	}
+
+	private static @Nullable byte[] deflate(byte[] data) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 16);
+			out.write(DEFLATE);
+			byte[] buf = new byte[8192];
+			while (!deflater.finished()) {
+				int len = deflater.deflate(buf);
+				out.write(buf, 0, len);
+			}
+			if (out.size() >= data.length + 1) {
+				return null;
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(byte[] data, int off, int len) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data, off, len);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(len * 4);
+			byte[] buf = new byte[8192];
+			while (!inflater.finished()) {
+				int read = inflater.inflate(buf);
+				if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IOException("Truncated compressed cache entry");
+				}
+				out.write(buf, 0, read);
+			}
+			return out.toByteArray();
+		} catch (DataFormatException e) {
+			throw new IOException("Failed to decompress cache entry", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	public CodeCacheStats getStats() {
+		return stats;
+	}
+}
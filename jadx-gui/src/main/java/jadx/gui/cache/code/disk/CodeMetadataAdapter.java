@@ -1,17 +1,13 @@
 package jadx.gui.cache.code.disk;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,14 +18,9 @@
 import jadx.api.metadata.ICodeAnnotation;
 import jadx.api.metadata.ICodeMetadata;
 import jadx.core.dex.nodes.RootNode;
-import jadx.core.utils.files.FileUtils;
 import jadx.gui.cache.code.disk.adapters.CodeAnnotationAdapter;
 import jadx.gui.cache.code.disk.adapters.DataAdapterHelper;
 
-import static java.nio.file.StandardOpenOption.CREATE;
-import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
-import static java.nio.file.StandardOpenOption.WRITE;
-
 public class CodeMetadataAdapter {
 	private static final byte[] JADX_METADATA_HEADER = "jadxmd".getBytes(StandardCharsets.US_ASCII);
 
@@ -39,33 +30,40 @@ public CodeMetadataAdapter(RootNode root) {
 		codeAnnotationAdapter = new CodeAnnotationAdapter(root);
 	}
 
-	public void write(Path metadataFile, ICodeMetadata metadata) {
-		FileUtils.makeDirsForFile(metadataFile);
-		try (OutputStream fileOutput = Files.newOutputStream(metadataFile, WRITE, CREATE, TRUNCATE_EXISTING);
-				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
-			out.write(JADX_METADATA_HEADER);
-			writeLines(out, metadata.getLineMapping());
-			writeAnnotations(out, metadata.getAsMap());
+	public byte[] write(ICodeMetadata metadata) {
+		ByteArrayOutputStream byteOutput = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(byteOutput)) {
+			write(out, metadata);
 		} catch (Exception e) {
-			throw new RuntimeException("Failed to write metadata file", e);
+			throw new RuntimeException("Failed to write metadata", e);
 		}
+		return byteOutput.toByteArray();
+	}
+
+	private void write(DataOutputStream out, ICodeMetadata metadata) throws IOException {
+		out.write(JADX_METADATA_HEADER);
+		writeLines(out, metadata.getLineMapping());
+		writeAnnotations(out, metadata.getAsMap());
 	}
 
-	public ICodeInfo readAndBuild(Path metadataFile, String code) {
-		if (!Files.exists(metadataFile)) {
+	public ICodeInfo readAndBuild(byte[] metadata, int off, int len, String code) {
+		if (len == 0) {
 			return new SimpleCodeInfo(code);
 		}
-		try (InputStream fileInput = Files.newInputStream(metadataFile);
-				DataInputStream in = new DataInputStream(new BufferedInputStream(fileInput))) {
-			in.skipBytes(JADX_METADATA_HEADER.length);
-			Map<Integer, Integer> lines = readLines(in);
-			Map<Integer, ICodeAnnotation> annotations = readAnnotations(in);
-			return new AnnotatedCodeInfo(code, lines, annotations);
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(metadata, off, len))) {
+			return readAndBuild(in, code);
 		} catch (Exception e) {
 			throw new RuntimeException("Failed to parse code annotations", e);
 		}
 	}
 
+	private ICodeInfo readAndBuild(DataInputStream in, String code) throws IOException {
+		in.skipBytes(JADX_METADATA_HEADER.length);
+		Map<Integer, Integer> lines = readLines(in);
+		Map<Integer, ICodeAnnotation> annotations = readAnnotations(in);
+		return new AnnotatedCodeInfo(code, lines, annotations);
+	}
+
 	private void writeLines(DataOutput out, Map<Integer, Integer> lines) throws IOException {
 		out.writeInt(lines.size());
 		for (Map.Entry<Integer, Integer> entry : lines.entrySet()) {
@@ -2,6 +2,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -24,6 +25,7 @@
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
+import jadx.api.impl.SimpleCodeInfo;
 import jadx.core.Jadx;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
@@ -31,11 +33,12 @@
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.gui.cache.code.CodeCacheStats;
 
 public class DiskCodeCache implements ICodeCache {
 	private static final Logger LOG = LoggerFactory.getLogger(DiskCodeCache.class);
 
-	private static final int DATA_FORMAT_VERSION = 14;
+	private static final int DATA_FORMAT_VERSION = 15;
 
 	private final Path baseDir;
 	private final Path srcDir;
@@ -43,10 +46,15 @@ public class DiskCodeCache implements ICodeCache {
 	private final Path codeVersionFile;
 	private final String codeVersion;
 	private final CodeMetadataAdapter codeMetadataAdapter;
+	private final CacheEntryCodec codec;
 	private final ExecutorService writePool;
 	private final Map<String, CacheData> clsDataMap;
 
 	public DiskCodeCache(RootNode root, Path projectCacheDir) {
+		this(root, projectCacheDir, true);
+	}
+
+	public DiskCodeCache(RootNode root, Path projectCacheDir, boolean compress) {
 		baseDir = projectCacheDir.resolve("code");
 		srcDir = baseDir.resolve("sources");
 		metaDir = baseDir.resolve("metadata");
@@ -55,6 +63,7 @@ public DiskCodeCache(RootNode root, Path projectCacheDir) {
 		codeVersion = buildCodeVersion(args, root.getDecompiler());
 		writePool = Executors.newFixedThreadPool(args.getThreadsCount());
 		codeMetadataAdapter = new CodeMetadataAdapter(root);
+		codec = new CacheEntryCodec(compress);
 		clsDataMap = buildClassDataMap(root.getClasses());
 		if (checkCodeVersion()) {
 			loadCachedSet();
@@ -111,8 +120,8 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 				int clsId = clsData.getClsId();
 				ICodeInfo code = clsData.getTmpCodeInfo();
 				if (code != null) {
-					FileUtils.writeFile(getJavaFile(clsId), code.getCodeStr());
-					codeMetadataAdapter.write(getMetadataFile(clsId), code.getCodeMetadata());
+					writeEntry(getJavaFile(clsId), code.getCodeStr().getBytes(StandardCharsets.UTF_8));
+					writeEntry(getMetadataFile(clsId), codeMetadataAdapter.write(code.getCodeMetadata()));
 				}
 			} catch (Exception e) {
 				LOG.error("Failed to write code cache for " + clsFullName, e);
@@ -138,7 +147,7 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 			if (!Files.exists(javaFile)) {
 				return null;
 			}
-			return FileUtils.readFile(javaFile);
+			return new String(readEntry(javaFile), StandardCharsets.UTF_8);
 		} catch (Exception e) {
 			LOG.error("Failed to read class code for {}", clsFullName, e);
 			return null;
@@ -161,14 +170,36 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 			if (!Files.exists(javaFile)) {
 				return ICodeInfo.EMPTY;
 			}
-			String code = FileUtils.readFile(javaFile);
-			return codeMetadataAdapter.readAndBuild(getMetadataFile(clsId), code);
+			String code = new String(readEntry(javaFile), StandardCharsets.UTF_8);
+			Path metadataFile = getMetadataFile(clsId);
+			if (!Files.exists(metadataFile)) {
+				return new SimpleCodeInfo(code);
+			}
+			byte[] metadata = readEntry(metadataFile);
+			return codeMetadataAdapter.readAndBuild(metadata, 0, metadata.length, code);
 		} catch (Exception e) {
 			LOG.error("Failed to read code cache for {}", clsFullName, e);
 			return ICodeInfo.EMPTY;
 		}
 	}
 
+	private void writeEntry(Path file, byte[] data) throws IOException {
+		FileUtils.makeDirsForFile(file);
+		Files.write(file, codec.encode(data));
+	}
+
+	private byte[] readEntry(Path file) throws IOException {
+		return codec.decode(Files.readAllBytes(file));
+	}
+
+	public CodeCacheStats getStats() {
+		return codec.getStats();
+	}
+
+	public Path getBaseDir() {
+		return baseDir;
+	}
+
 	@Override
 	public boolean contains(String clsFullName) {
 		return getClsData(clsFullName).isCached();
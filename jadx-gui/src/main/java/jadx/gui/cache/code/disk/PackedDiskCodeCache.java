@@ -0,0 +1,561 @@
+package jadx.gui.cache.code.disk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.Jadx;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.Utils;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+import jadx.gui.cache.code.CodeCacheStats;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Disk code cache with all classes packed into single data file.
+ * <br>
+ * Code and metadata appended to data file, entries positions saved in index file on close.
+ * Entries read from data file using positional channel reads, so file is never mapped
+ * and can be replaced by compaction on close on all systems.
+ */
+public class PackedDiskCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(PackedDiskCodeCache.class);
+
+	private static final int DATA_FORMAT_VERSION = 2;
+	private static final byte[] INDEX_HEADER = "jadxpi".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * Run compaction on close if removed entries take more than this part of data file
+	 */
+	private static final double COMPACT_THRESHOLD = 0.25;
+
+	private final Path baseDir;
+	private final Path dataFile;
+	private final Path indexFile;
+	private final Path codeVersionFile;
+	private final String codeVersion;
+	private final CodeMetadataAdapter codeMetadataAdapter;
+	private final CacheEntryCodec codec;
+	private final ExecutorService writePool;
+	private final Map<String, CacheData> clsDataMap;
+	private final CacheData[] clsDataArr;
+
+	private volatile FileChannel dataChannel;
+	private long dataSize;
+
+	public PackedDiskCodeCache(RootNode root, Path projectCacheDir) {
+		this(root, projectCacheDir, true);
+	}
+
+	public PackedDiskCodeCache(RootNode root, Path projectCacheDir, boolean compress) {
+		baseDir = projectCacheDir.resolve("packed-code");
+		dataFile = baseDir.resolve("code.data");
+		indexFile = baseDir.resolve("code.index");
+		codeVersionFile = baseDir.resolve("code-version");
+		JadxArgs args = root.getArgs();
+		codeVersion = buildCodeVersion(args, root.getDecompiler());
+		writePool = Executors.newFixedThreadPool(args.getThreadsCount());
+		codeMetadataAdapter = new CodeMetadataAdapter(root);
+		codec = new CacheEntryCodec(compress);
+		List<ClassNode> classes = root.getClasses();
+		clsDataArr = new CacheData[classes.size()];
+		clsDataMap = buildClassDataMap(classes);
+		if (!checkCodeVersion() || !loadIndex()) {
+			reset();
+		}
+	}
+
+	private boolean checkCodeVersion() {
+		try {
+			if (!Files.exists(codeVersionFile)) {
+				return false;
+			}
+			String currentCodeVer = FileUtils.readFile(codeVersionFile);
+			return currentCodeVer.equals(codeVersion);
+		} catch (Exception e) {
+			LOG.warn("Failed to load code version file", e);
+			return false;
+		}
+	}
+
+	private void reset() {
+		try {
+			long start = System.currentTimeMillis();
+			LOG.info("Resetting packed disk code cache, base dir: {}", baseDir.toAbsolutePath());
+			closeDataChannel();
+			FileUtils.deleteDirIfExists(baseDir);
+			FileUtils.makeDirs(baseDir);
+			FileUtils.writeFile(codeVersionFile, codeVersion);
+			openDataChannel(0);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Reset done in: {}ms", System.currentTimeMillis() - start);
+			}
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to reset code cache", e);
+		} finally {
+			for (CacheData data : clsDataArr) {
+				data.setCached(false);
+				data.setEntry(null);
+			}
+		}
+	}
+
+	private void openDataChannel(long size) throws IOException {
+		dataChannel = FileChannel.open(dataFile, READ, WRITE, CREATE);
+		if (dataChannel.size() > size) {
+			// drop data not saved in index
+			dataChannel.truncate(size);
+		}
+		dataSize = size;
+	}
+
+	private void closeDataChannel() {
+		if (dataChannel != null) {
+			FileUtils.close(dataChannel);
+			dataChannel = null;
+		}
+	}
+
+	/**
+	 * Async writes backed by in-memory store
+	 */
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		CacheData clsData = getClsData(clsFullName);
+		clsData.setTmpCodeInfo(codeInfo);
+		clsData.setCached(true);
+		writePool.execute(() -> {
+			try {
+				ICodeInfo code = clsData.getTmpCodeInfo();
+				if (code != null) {
+					byte[] codeBytes = codec.encode(code.getCodeStr().getBytes(StandardCharsets.UTF_8));
+					byte[] metadata = code.hasMetadata() ? codeMetadataAdapter.write(code.getCodeMetadata()) : new byte[0];
+					byte[] metadataBytes = codec.encode(metadata);
+					append(clsData, code, codeBytes, metadataBytes);
+				}
+			} catch (Exception e) {
+				LOG.error("Failed to write code cache for " + clsFullName, e);
+				remove(clsFullName);
+			}
+		});
+	}
+
+	private synchronized void append(CacheData clsData, ICodeInfo code, byte[] codeBytes, byte[] metadataBytes)
+			throws IOException {
+		if (clsData.getTmpCodeInfo() != code) {
+			// entry removed or replaced before write
+			return;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(codeBytes);
+		crc.update(metadataBytes);
+		long offset = dataSize;
+		ByteBuffer[] buffers = { ByteBuffer.wrap(codeBytes), ByteBuffer.wrap(metadataBytes) };
+		long len = codeBytes.length + metadataBytes.length;
+		long written = 0;
+		dataChannel.position(offset);
+		while (written < len) {
+			written += dataChannel.write(buffers);
+		}
+		dataSize += len;
+		clsData.setEntry(new Entry(offset, codeBytes.length, metadataBytes.length, (int) crc.getValue()));
+		clsData.setTmpCodeInfo(null);
+	}
+
+	@Override
+	public @Nullable String getCode(String clsFullName) {
+		try {
+			if (!contains(clsFullName)) {
+				return null;
+			}
+			CacheData clsData = getClsData(clsFullName);
+			ICodeInfo tmpCodeInfo = clsData.getTmpCodeInfo();
+			if (tmpCodeInfo != null) {
+				return tmpCodeInfo.getCodeStr();
+			}
+			Entry entry = clsData.getEntry();
+			if (entry == null) {
+				return null;
+			}
+			byte[] data = readEntry(clsFullName, entry);
+			if (data == null) {
+				return null;
+			}
+			return new String(codec.decode(data, 0, entry.getCodeLen()), StandardCharsets.UTF_8);
+		} catch (Exception e) {
+			LOG.error("Failed to read class code for {}", clsFullName, e);
+			return null;
+		}
+	}
+
+	@Override
+	public @NotNull ICodeInfo get(String clsFullName) {
+		try {
+			if (!contains(clsFullName)) {
+				return ICodeInfo.EMPTY;
+			}
+			CacheData clsData = getClsData(clsFullName);
+			ICodeInfo tmpCodeInfo = clsData.getTmpCodeInfo();
+			if (tmpCodeInfo != null) {
+				return tmpCodeInfo;
+			}
+			Entry entry = clsData.getEntry();
+			if (entry == null) {
+				return ICodeInfo.EMPTY;
+			}
+			byte[] data = readEntry(clsFullName, entry);
+			if (data == null) {
+				return ICodeInfo.EMPTY;
+			}
+			int codeLen = entry.getCodeLen();
+			String code = new String(codec.decode(data, 0, codeLen), StandardCharsets.UTF_8);
+			byte[] metadata = codec.decode(data, codeLen, entry.getMetadataLen());
+			return codeMetadataAdapter.readAndBuild(metadata, 0, metadata.length, code);
+		} catch (Exception e) {
+			LOG.error("Failed to read code cache for {}", clsFullName, e);
+			return ICodeInfo.EMPTY;
+		}
+	}
+
+	private byte[] readEntry(String clsFullName, Entry entry) throws IOException {
+		byte[] data = new byte[entry.getCodeLen() + entry.getMetadataLen()];
+		readFromChannel(entry.getOffset(), data);
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		if ((int) crc.getValue() != entry.getChecksum()) {
+			LOG.warn("Checksum mismatch in code cache for class: {}, entry removed", clsFullName);
+			remove(clsFullName);
+			return null;
+		}
+		return data;
+	}
+
+	/**
+	 * Positional reads don't change channel position, so can run concurrently with appends
+	 */
+	private void readFromChannel(long offset, byte[] data) throws IOException {
+		FileChannel channel = dataChannel;
+		if (channel == null) {
+			throw new IOException("Code cache already closed");
+		}
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		long pos = offset;
+		while (buf.hasRemaining()) {
+			int read = channel.read(buf, pos);
+			if (read == -1) {
+				throw new IOException("Unexpected end of data file");
+			}
+			pos += read;
+		}
+	}
+
+	public CodeCacheStats getStats() {
+		return codec.getStats();
+	}
+
+	public Path getBaseDir() {
+		return baseDir;
+	}
+
+	@Override
+	public boolean contains(String clsFullName) {
+		return getClsData(clsFullName).isCached();
+	}
+
+	@Override
+	public synchronized void remove(String clsFullName) {
+		CacheData clsData = getClsData(clsFullName);
+		if (clsData.isCached()) {
+			clsData.setCached(false);
+			// data in file will be removed on compaction
+			clsData.setEntry(null);
+			clsData.setTmpCodeInfo(null);
+		}
+	}
+
+	private String buildCodeVersion(JadxArgs args, @Nullable JadxDecompiler decompiler) {
+		List<File> inputFiles = new ArrayList<>(args.getInputFiles());
+		if (args.getGeneratedRenamesMappingFileMode().shouldRead()
+				&& args.getGeneratedRenamesMappingFile() != null
+				&& args.getGeneratedRenamesMappingFile().exists()) {
+			inputFiles.add(args.getGeneratedRenamesMappingFile());
+		}
+		return DATA_FORMAT_VERSION
+				+ ":" + Jadx.getVersion()
+				+ ":" + args.makeCodeArgsHash(decompiler)
+				+ ":" + FileUtils.buildInputsHash(Utils.collectionMap(inputFiles, File::toPath));
+	}
+
+	private CacheData getClsData(String clsFullName) {
+		CacheData clsData = clsDataMap.get(clsFullName);
+		if (clsData == null) {
+			throw new JadxRuntimeException("Unknown class name: " + clsFullName);
+		}
+		return clsData;
+	}
+
+	private Map<String, CacheData> buildClassDataMap(List<ClassNode> classes) {
+		int clsCount = classes.size();
+		Map<String, CacheData> map = new HashMap<>(clsCount);
+		for (int i = 0; i < clsCount; i++) {
+			ClassNode cls = classes.get(i);
+			CacheData data = new CacheData(i);
+			clsDataArr[i] = data;
+			map.put(cls.getRawName(), data);
+		}
+		return map;
+	}
+
+	private boolean loadIndex() {
+		long start = System.currentTimeMillis();
+		if (!Files.exists(indexFile) || !Files.exists(dataFile)) {
+			return false;
+		}
+		try (InputStream fileInput = Files.newInputStream(indexFile);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(fileInput))) {
+			byte[] header = new byte[INDEX_HEADER.length];
+			in.readFully(header);
+			if (!Arrays.equals(header, INDEX_HEADER)) {
+				LOG.warn("Unknown code cache index file format");
+				return false;
+			}
+			long indexedSize = in.readLong();
+			if (Files.size(dataFile) < indexedSize) {
+				LOG.warn("Code cache data file truncated");
+				return false;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				int clsId = in.readInt();
+				Entry entry = new Entry(in.readLong(), in.readInt(), in.readInt(), in.readInt());
+				CacheData data = clsDataArr[clsId];
+				data.setEntry(entry);
+				data.setCached(true);
+			}
+			openDataChannel(indexedSize);
+			LOG.info("Found {} classes in packed disk cache, time: {}ms, dir: {}",
+					count, System.currentTimeMillis() - start, baseDir);
+			return true;
+		} catch (Exception e) {
+			LOG.warn("Failed to load code cache index", e);
+			return false;
+		}
+	}
+
+	private void saveIndex() throws IOException {
+		Path tmpIndexFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+		try (OutputStream fileOutput = Files.newOutputStream(tmpIndexFile, WRITE, CREATE, TRUNCATE_EXISTING);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+			List<CacheData> entries = getStoredEntries();
+			out.write(INDEX_HEADER);
+			out.writeLong(dataSize);
+			out.writeInt(entries.size());
+			for (CacheData data : entries) {
+				Entry entry = data.getEntry();
+				out.writeInt(data.getClsId());
+				out.writeLong(entry.getOffset());
+				out.writeInt(entry.getCodeLen());
+				out.writeInt(entry.getMetadataLen());
+				out.writeInt(entry.getChecksum());
+			}
+		}
+		Files.move(tmpIndexFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Entries saved in data file sorted by offset
+	 */
+	private List<CacheData> getStoredEntries() {
+		List<CacheData> list = new ArrayList<>();
+		for (CacheData data : clsDataArr) {
+			if (data.isCached() && data.getEntry() != null) {
+				list.add(data);
+			}
+		}
+		list.sort(Comparator.comparingLong(d -> d.getEntry().getOffset()));
+		return list;
+	}
+
+	/**
+	 * Copy stored entries into new data file to drop removed entries
+	 */
+	private void compact() {
+		List<CacheData> entries = getStoredEntries();
+		long liveSize = 0;
+		for (CacheData data : entries) {
+			liveSize += data.getEntry().getLength();
+		}
+		if (dataSize == 0 || dataSize - liveSize <= dataSize * COMPACT_THRESHOLD) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		Path tmpDataFile = dataFile.resolveSibling(dataFile.getFileName() + ".tmp");
+		try {
+			long[] newOffsets = new long[entries.size()];
+			try (FileChannel out = FileChannel.open(tmpDataFile, WRITE, CREATE, TRUNCATE_EXISTING)) {
+				long pos = 0;
+				for (int i = 0; i < entries.size(); i++) {
+					Entry entry = entries.get(i).getEntry();
+					long len = entry.getLength();
+					long copied = 0;
+					while (copied < len) {
+						copied += dataChannel.transferTo(entry.getOffset() + copied, len - copied, out);
+					}
+					newOffsets[i] = pos;
+					pos += len;
+				}
+			}
+			closeDataChannel();
+			Files.move(tmpDataFile, dataFile, StandardCopyOption.REPLACE_EXISTING);
+			for (int i = 0; i < entries.size(); i++) {
+				CacheData data = entries.get(i);
+				Entry entry = data.getEntry();
+				data.setEntry(new Entry(newOffsets[i], entry.getCodeLen(), entry.getMetadataLen(), entry.getChecksum()));
+			}
+			long prevSize = dataSize;
+			dataSize = liveSize;
+			LOG.debug("Code cache compacted in {}ms, size: {} -> {}", System.currentTimeMillis() - start, prevSize, liveSize);
+		} catch (Exception e) {
+			// keep old data file, index still points to it
+			LOG.warn("Code cache compaction failed", e);
+			try {
+				Files.deleteIfExists(tmpDataFile);
+			} catch (IOException ex) {
+				LOG.warn("Failed to remove temp file: {}", tmpDataFile, ex);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			writePool.shutdown();
+			boolean completed = writePool.awaitTermination(1, TimeUnit.MINUTES);
+			if (!completed) {
+				LOG.warn("Disk code cache closing terminated by timeout");
+			}
+		} catch (InterruptedException e) {
+			LOG.error("Failed to close disk code cache", e);
+		}
+		synchronized (this) {
+			if (dataChannel == null) {
+				return;
+			}
+			try {
+				compact();
+				saveIndex();
+			} finally {
+				closeDataChannel();
+			}
+		}
+	}
+
+	private static final class Entry {
+		private final long offset;
+		private final int codeLen;
+		private final int metadataLen;
+		private final int checksum;
+
+		private Entry(long offset, int codeLen, int metadataLen, int checksum) {
+			this.offset = offset;
+			this.codeLen = codeLen;
+			this.metadataLen = metadataLen;
+			this.checksum = checksum;
+		}
+
+		public long getOffset() {
+			return offset;
+		}
+
+		public int getCodeLen() {
+			return codeLen;
+		}
+
+		public int getMetadataLen() {
+			return metadataLen;
+		}
+
+		public long getLength() {
+			return (long) codeLen + metadataLen;
+		}
+
+		public int getChecksum() {
+			return checksum;
+		}
+	}
+
+	private static final class CacheData {
+		private final int clsId;
+		private volatile boolean cached;
+		private volatile @Nullable ICodeInfo tmpCodeInfo;
+		private volatile @Nullable Entry entry;
+
+		public CacheData(int clsId) {
+			this.clsId = clsId;
+		}
+
+		public int getClsId() {
+			return clsId;
+		}
+
+		public boolean isCached() {
+			return cached;
+		}
+
+		public void setCached(boolean cached) {
+			this.cached = cached;
+		}
+
+		public @Nullable ICodeInfo getTmpCodeInfo() {
+			return tmpCodeInfo;
+		}
+
+		public void setTmpCodeInfo(@Nullable ICodeInfo tmpCodeInfo) {
+			this.tmpCodeInfo = tmpCodeInfo;
+		}
+
+		public @Nullable Entry getEntry() {
+			return entry;
+		}
+
+		public void setEntry(@Nullable Entry entry) {
+			this.entry = entry;
+		}
+	}
+}
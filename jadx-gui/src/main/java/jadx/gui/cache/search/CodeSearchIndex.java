@@ -0,0 +1,264 @@
+package jadx.gui.cache.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Trigrams index of classes code used to skip classes in code search.
+ * <br>
+ * For every class a bloom filter with trigrams of case-folded code is stored,
+ * so classes without any of search string trigrams can be skipped without loading or decompiling code.
+ * Index can give false positives, so found classes still should be checked by actual search.
+ * Filter sized for about 25% false positives rate for one trigram, search strings usually contain
+ * several trigrams, so most classes without searched string still skipped.
+ * Filters for big classes will be almost full, so such classes not indexed at all to save memory.
+ * <br>
+ * If directory is set, index saved on close and loaded on next open.
+ * Index file removed after load, so index will not be used if changes was not saved (crash or kill).
+ */
+public class CodeSearchIndex {
+	private static final Logger LOG = LoggerFactory.getLogger(CodeSearchIndex.class);
+
+	private static final byte[] FILE_HEADER = "jadxsi".getBytes(StandardCharsets.US_ASCII);
+	private static final int FORMAT_VERSION = 2;
+	private static final String INDEX_FILE_NAME = "search.index";
+
+	private static final int BITS_PER_TRIGRAM = 3;
+	private static final int MAX_BITS = 8 * 1024; // 1KB per class
+
+	/**
+	 * Signature for class with too many trigrams, class code should always be checked
+	 */
+	private static final long[] NOT_INDEXED = new long[0];
+
+	private final @Nullable Path indexFile;
+	private final Map<String, long[]> signatures = new ConcurrentHashMap<>();
+
+	/**
+	 * @param dir directory for save index, null for in-memory only index
+	 */
+	public CodeSearchIndex(@Nullable Path dir) {
+		this.indexFile = dir == null ? null : dir.resolve(INDEX_FILE_NAME);
+		if (indexFile != null) {
+			load();
+		}
+	}
+
+	public void add(String clsFullName, String code) {
+		signatures.put(clsFullName, buildSignature(code));
+	}
+
+	public void remove(String clsFullName) {
+		signatures.remove(clsFullName);
+	}
+
+	public boolean contains(String clsFullName) {
+		return signatures.containsKey(clsFullName);
+	}
+
+	public int size() {
+		return signatures.size();
+	}
+
+	/**
+	 * Memory used by stored filters
+	 */
+	public long getSignaturesBytes() {
+		long size = 0;
+		for (long[] signature : signatures.values()) {
+			size += signature.length * 8L;
+		}
+		return size;
+	}
+
+	/**
+	 * Collect trigrams for search string.
+	 *
+	 * @return null if index can't be used for this string (too short)
+	 */
+	public static @Nullable long[] buildQuery(String searchStr) {
+		if (searchStr.length() < 3) {
+			return null;
+		}
+		return collectTrigrams(searchStr);
+	}
+
+	/**
+	 * Check if class code can contain string from query.
+	 *
+	 * @return false only if class indexed and string not found in code for sure
+	 */
+	public boolean mayContain(String clsFullName, long[] query) {
+		long[] signature = signatures.get(clsFullName);
+		if (signature == null || signature == NOT_INDEXED) {
+			return true;
+		}
+		long bitsCount = signature.length * 64L;
+		for (long trigram : query) {
+			long hash = mix(trigram);
+			if (!isBitSet(signature, bitIndex(hash, bitsCount))
+					|| !isBitSet(signature, bitIndex(hash >>> 32, bitsCount))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public void close() {
+		if (indexFile != null) {
+			save();
+		}
+		signatures.clear();
+	}
+
+	private static long[] buildSignature(String code) {
+		long[] trigrams = collectTrigrams(code);
+		long bits = (long) trigrams.length * BITS_PER_TRIGRAM;
+		if (bits > MAX_BITS) {
+			return NOT_INDEXED;
+		}
+		long[] signature = new long[Math.max(1, (int) ((bits + 63) / 64))];
+		long bitsCount = signature.length * 64L;
+		for (long trigram : trigrams) {
+			long hash = mix(trigram);
+			setBit(signature, bitIndex(hash, bitsCount));
+			setBit(signature, bitIndex(hash >>> 32, bitsCount));
+		}
+		return signature;
+	}
+
+	/**
+	 * Use low 32 bits of hash as bit index, filter size not limited to power of two
+	 */
+	private static int bitIndex(long hash, long bitsCount) {
+		return (int) ((hash & 0xFFFF_FFFFL) % bitsCount);
+	}
+
+	/**
+	 * Sorted unique trigrams of case-folded string, 3 chars packed into long
+	 */
+	private static long[] collectTrigrams(String str) {
+		int len = str.length();
+		if (len < 3) {
+			return new long[0];
+		}
+		long[] trigrams = new long[len - 2];
+		long trigram = (long) fold(str.charAt(0)) << 16 | fold(str.charAt(1));
+		for (int i = 2; i < len; i++) {
+			trigram = (trigram << 16 | fold(str.charAt(i))) & 0xFFFF_FFFF_FFFFL;
+			trigrams[i - 2] = trigram;
+		}
+		Arrays.sort(trigrams);
+		int count = 0;
+		for (int i = 0; i < trigrams.length; i++) {
+			if (i == 0 || trigrams[i] != trigrams[count - 1]) {
+				trigrams[count++] = trigrams[i];
+			}
+		}
+		return count == trigrams.length ? trigrams : Arrays.copyOf(trigrams, count);
+	}
+
+	/**
+	 * Same chars equality as in case-insensitive {@link String#regionMatches(boolean, int, String, int, int)}
+	 */
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static long mix(long value) {
+		long h = value * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 29);
+	}
+
+	private static boolean isBitSet(long[] words, int bit) {
+		return (words[bit >>> 6] & (1L << bit)) != 0;
+	}
+
+	private static void setBit(long[] words, int bit) {
+		words[bit >>> 6] |= 1L << bit;
+	}
+
+	private void load() {
+		if (!Files.exists(indexFile)) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		try (InputStream fileInput = Files.newInputStream(indexFile);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(fileInput))) {
+			byte[] header = new byte[FILE_HEADER.length];
+			in.readFully(header);
+			if (!Arrays.equals(header, FILE_HEADER) || in.readInt() != FORMAT_VERSION) {
+				LOG.warn("Unknown code search index file format, ignore");
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String clsName = in.readUTF();
+				int len = in.readInt();
+				long[] signature = len == 0 ? NOT_INDEXED : new long[len];
+				for (int j = 0; j < signature.length; j++) {
+					signature[j] = in.readLong();
+				}
+				signatures.put(clsName, signature);
+			}
+			LOG.debug("Loaded code search index for {} classes in {}ms, size: {} bytes",
+					count, System.currentTimeMillis() - start, getSignaturesBytes());
+		} catch (Exception e) {
+			LOG.warn("Failed to load code search index", e);
+			signatures.clear();
+		}
+		try {
+			Files.delete(indexFile);
+		} catch (Exception e) {
+			LOG.warn("Failed to remove code search index file", e);
+			signatures.clear();
+		}
+	}
+
+	private void save() {
+		if (!Files.isDirectory(indexFile.getParent())) {
+			// cache dir removed
+			return;
+		}
+		Path tmpFile = indexFile.resolveSibling(INDEX_FILE_NAME + ".tmp");
+		try {
+			try (OutputStream fileOutput = Files.newOutputStream(tmpFile, WRITE, CREATE, TRUNCATE_EXISTING);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+				out.write(FILE_HEADER);
+				out.writeInt(FORMAT_VERSION);
+				Map<String, long[]> entries = Map.copyOf(signatures);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+					long[] signature = entry.getValue();
+					out.writeUTF(entry.getKey());
+					out.writeInt(signature.length);
+					for (long word : signature) {
+						out.writeLong(word);
+					}
+				}
+			}
+			Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+		} catch (Exception e) {
+			LOG.warn("Failed to save code search index", e);
+		}
+	}
+}
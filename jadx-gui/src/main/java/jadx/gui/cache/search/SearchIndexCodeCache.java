@@ -0,0 +1,41 @@
+package jadx.gui.cache.search;
+
+import java.io.IOException;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.impl.DelegateCodeCache;
+
+/**
+ * Update code search index on code cache changes
+ */
+public class SearchIndexCodeCache extends DelegateCodeCache {
+
+	private final CodeSearchIndex searchIndex;
+
+	public SearchIndexCodeCache(ICodeCache backCache, CodeSearchIndex searchIndex) {
+		super(backCache);
+		this.searchIndex = searchIndex;
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		backCache.add(clsFullName, codeInfo);
+		searchIndex.add(clsFullName, codeInfo.getCodeStr());
+	}
+
+	@Override
+	public void remove(String clsFullName) {
+		searchIndex.remove(clsFullName);
+		backCache.remove(clsFullName);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			backCache.close();
+		} finally {
+			searchIndex.close();
+		}
+	}
+}
@@ -1,8 +1,10 @@
 package jadx.gui.cache.usage;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,28 +14,38 @@
 import jadx.core.dex.nodes.FieldNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.RootNode;
-import jadx.core.utils.Utils;
-import jadx.core.utils.exceptions.JadxRuntimeException;
 
 class UsageData implements IUsageInfoData {
 	private static final Logger LOG = LoggerFactory.getLogger(UsageData.class);
 
 	private final RootNode root;
-	private final RawUsageData rawUsageData;
+	private final UsageFileData fileData;
 
-	public UsageData(RootNode root, RawUsageData rawUsageData) {
+	/**
+	 * Resolved nodes cache, indexed by ids from usage file.
+	 * Guarded by this data instance lock, methods and fields usage lists can be resolved concurrently.
+	 */
+	private final ClassNode[] classes;
+	private final MethodNode[] methods;
+
+	public UsageData(RootNode root, UsageFileData fileData) {
 		this.root = root;
-		this.rawUsageData = rawUsageData;
+		this.fileData = fileData;
+		this.classes = new ClassNode[fileData.getClassesTotal()];
+		this.methods = new MethodNode[fileData.getMethodsCount()];
 	}
 
+	/**
+	 * Apply usage lists for all classes, methods and fields usage lists resolved into nodes only on first access
+	 */
 	@Override
 	public void apply() {
-		Map<String, ClsUsageData> clsMap = rawUsageData.getClsMap();
-		for (ClassNode cls : root.getClasses()) {
-			String clsRawName = cls.getRawName();
-			ClsUsageData clsUsageData = clsMap.get(clsRawName);
-			if (clsUsageData != null) {
-				applyForClass(clsUsageData, cls);
+		int count = fileData.getClassesCount();
+		for (int clsId = 0; clsId < count; clsId++) {
+			ClassNode cls = resolveCls(clsId);
+			if (cls != null) {
+				applyClassUsage(clsId, cls);
+				applyMembersUsage(clsId, cls);
 			}
 		}
 	}
@@ -41,45 +53,112 @@ public void apply() {
 	@Override
 	public void applyForClass(ClassNode cls) {
 		String clsRawName = cls.getRawName();
-		ClsUsageData clsUsageData = rawUsageData.getClsMap().get(clsRawName);
-		if (clsUsageData == null) {
+		int clsId = fileData.searchClass(clsRawName);
+		if (clsId == -1) {
 			LOG.debug("No usage data for class: {}", clsRawName);
 			return;
 		}
-		applyForClass(clsUsageData, cls);
+		applyClassUsage(clsId, cls);
+		applyMembersUsage(clsId, cls);
 	}
 
-	private void applyForClass(ClsUsageData clsUsageData, ClassNode cls) {
-		cls.setDependencies(resolveClsList(clsUsageData.getClsDeps()));
-		cls.setUseIn(resolveClsList(clsUsageData.getClsUsage()));
-		cls.setUseInMth(resolveMthList(clsUsageData.getClsUseInMth()));
+	private void applyClassUsage(int clsId, ClassNode cls) {
+		cls.setDependencies(resolveClsList(fileData.getClsDeps(), clsId));
+		cls.setUseIn(resolveClsList(fileData.getClsUsage(), clsId));
+		cls.setUseInMth(resolveMthList(fileData.getClsUseInMth(), clsId));
+	}
 
-		Map<String, MthUsageData> mthUsage = clsUsageData.getMthUsage();
-		for (MethodNode mth : cls.getMethods()) {
-			MthUsageData mthUsageData = mthUsage.get(mth.getMethodInfo().getShortId());
-			if (mthUsageData != null) {
-				mth.setUseIn(resolveMthList(mthUsageData.getUsage()));
+	private void applyMembersUsage(int clsId, ClassNode cls) {
+		int mthEnd = fileData.getClassMethodsEnd(clsId);
+		for (int mthId = fileData.getClassMethodsStart(clsId); mthId < mthEnd; mthId++) {
+			MethodNode mth = cls.searchMethodByShortId(fileData.getMethodShortId(mthId));
+			if (mth != null) {
+				mth.setUseIn(lazyMthList(fileData.getMthUsage(), mthId));
 			}
 		}
-		Map<String, FldUsageData> fldUsage = clsUsageData.getFldUsage();
-		for (FieldNode fld : cls.getFields()) {
-			FldUsageData fldUsageData = fldUsage.get(fld.getFieldInfo().getShortId());
-			if (fldUsageData != null) {
-				fld.setUseIn(resolveMthList(fldUsageData.getUsage()));
+		int fldEnd = fileData.getClassFieldsEnd(clsId);
+		for (int fldId = fileData.getClassFieldsStart(clsId); fldId < fldEnd; fldId++) {
+			FieldNode fld = cls.searchFieldByShortId(fileData.getFieldShortId(fldId));
+			if (fld != null) {
+				fld.setUseIn(lazyMthList(fileData.getFldUsage(), fldId));
 			}
 		}
 	}
 
 	@Override
 	public void visitUsageData(IUsageInfoVisitor visitor) {
-		throw new JadxRuntimeException("Not implemented");
+		int count = fileData.getClassesCount();
+		for (int clsId = 0; clsId < count; clsId++) {
+			ClassNode cls = resolveCls(clsId);
+			if (cls == null) {
+				continue;
+			}
+			visitor.visitClassDeps(cls, resolveClsList(fileData.getClsDeps(), clsId));
+			visitor.visitClassUsage(cls, resolveClsList(fileData.getClsUsage(), clsId));
+			visitor.visitClassUseInMethods(cls, resolveMthList(fileData.getClsUseInMth(), clsId));
+
+			int mthEnd = fileData.getClassMethodsEnd(clsId);
+			for (int mthId = fileData.getClassMethodsStart(clsId); mthId < mthEnd; mthId++) {
+				visitor.visitMethodsUsage(resolveMth(mthId), resolveMthList(fileData.getMthUsage(), mthId));
+			}
+			int fldEnd = fileData.getClassFieldsEnd(clsId);
+			for (int fldId = fileData.getClassFieldsStart(clsId); fldId < fldEnd; fldId++) {
+				FieldNode fld = cls.searchFieldByShortId(fileData.getFieldShortId(fldId));
+				if (fld != null) {
+					visitor.visitFieldsUsage(fld, resolveMthList(fileData.getFldUsage(), fldId));
+				}
+			}
+		}
+		visitor.visitComplete();
+	}
+
+	private List<ClassNode> resolveClsList(UsageFileData.Adjacency adjacency, int idx) {
+		if (adjacency.getStart(idx) == adjacency.getEnd(idx)) {
+			return Collections.emptyList();
+		}
+		int[] ids = adjacency.getValues(idx);
+		List<ClassNode> list = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			list.add(resolveCls(id));
+		}
+		return list;
+	}
+
+	private List<MethodNode> resolveMthList(UsageFileData.Adjacency adjacency, int idx) {
+		if (adjacency.getStart(idx) == adjacency.getEnd(idx)) {
+			return Collections.emptyList();
+		}
+		int[] ids = adjacency.getValues(idx);
+		List<MethodNode> list = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			list.add(resolveMth(id));
+		}
+		return list;
 	}
 
-	private List<ClassNode> resolveClsList(List<String> clsList) {
-		return Utils.collectionMap(clsList, root::resolveRawClass);
+	private List<MethodNode> lazyMthList(UsageFileData.Adjacency adjacency, int idx) {
+		if (adjacency.getStart(idx) == adjacency.getEnd(idx)) {
+			return Collections.emptyList();
+		}
+		return new UsageList<>(adjacency, idx, this::resolveMth);
 	}
 
-	private List<MethodNode> resolveMthList(List<MthRef> mthRefList) {
-		return Utils.collectionMap(mthRefList, m -> root.resolveDirectMethod(m.getCls(), m.getShortId()));
+	private synchronized @Nullable ClassNode resolveCls(int clsId) {
+		ClassNode cls = classes[clsId];
+		if (cls == null) {
+			cls = root.resolveRawClass(fileData.getClassName(clsId));
+			classes[clsId] = cls;
+		}
+		return cls;
+	}
+
+	private synchronized MethodNode resolveMth(int mthId) {
+		MethodNode mth = methods[mthId];
+		if (mth == null) {
+			String clsName = fileData.getClassName(fileData.getMethodClass(mthId));
+			mth = root.resolveDirectMethod(clsName, fileData.getMethodShortId(mthId));
+			methods[mthId] = mth;
+		}
+		return mth;
 	}
 }
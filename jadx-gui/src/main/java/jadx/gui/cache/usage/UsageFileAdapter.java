@@ -1,20 +1,22 @@
 package jadx.gui.cache.usage;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.Nullable;
@@ -22,53 +24,72 @@
 import org.slf4j.LoggerFactory;
 
 import jadx.api.usage.IUsageInfoData;
-import jadx.core.utils.Utils;
+import jadx.core.utils.ListUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
-import jadx.gui.cache.code.disk.adapters.DataAdapterHelper;
 
 import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static java.nio.file.StandardOpenOption.WRITE;
 
-public class UsageFileAdapter extends DataAdapterHelper {
+/**
+ * Usage data file format (all numbers are 4 bytes big endian integers):
+ * <ul>
+ * <li>header: 'jadx.usage', data version, inputs hash (as UTF string)</li>
+ * <li>counts: classes with data, all classes, methods, fields, strings</li>
+ * <li>strings table: offsets array (strings count + 1) and UTF-8 bytes of all strings</li>
+ * <li>classes names (string ids), classes with data placed first and sorted by name</li>
+ * <li>methods: class id and short id (string id) arrays, methods grouped by class</li>
+ * <li>start indexes of class methods and fields (classes with data count + 1)</li>
+ * <li>fields short ids (string ids), fields grouped by class</li>
+ * <li>usage lists (class dependencies, class usage, class usage in methods, methods usage, fields usage)
+ * in CSR format: offsets array (nodes count + 1) and all values array</li>
+ * </ul>
+ * File kept open while data in use: offsets and ids arrays loaded into heap,
+ * strings and usage lists read from file by position on request.
+ */
+public class UsageFileAdapter {
 	private static final Logger LOG = LoggerFactory.getLogger(UsageFileAdapter.class);
 
-	private static final int USAGE_DATA_VERSION = 1;
+	private static final int USAGE_DATA_VERSION = 2;
 	private static final byte[] JADX_USAGE_HEADER = "jadx.usage".getBytes(StandardCharsets.US_ASCII);
 
-	public static synchronized @Nullable RawUsageData load(Path usageFile, List<File> inputs) {
+	static synchronized @Nullable UsageFileData load(Path usageFile, List<File> inputs) {
 		if (!Files.isRegularFile(usageFile)) {
 			return null;
 		}
 		long start = System.currentTimeMillis();
-		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(usageFile)))) {
-			in.skipBytes(JADX_USAGE_HEADER.length);
-			int dataVersion = in.readInt();
-			if (dataVersion != USAGE_DATA_VERSION) {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(usageFile, READ);
+			int headerLen = JADX_USAGE_HEADER.length;
+			ByteBuffer buf = UsageFileData.read(channel, 0, headerLen + 6);
+			byte[] header = new byte[headerLen];
+			buf.get(header);
+			int dataVersion = buf.getInt();
+			if (!Arrays.equals(header, JADX_USAGE_HEADER) || dataVersion != USAGE_DATA_VERSION) {
 				LOG.debug("Found old usage data format");
-				FileUtils.deleteFileIfExists(usageFile);
+				closeAndDelete(channel, usageFile);
 				return null;
 			}
+			int hashLen = buf.getShort() & 0xFFFF;
+			ByteBuffer hashBuf = UsageFileData.read(channel, headerLen + 6, hashLen);
 			String inputsHash = buildInputsHash(inputs);
-			String fileInputsHash = in.readUTF();
+			String fileInputsHash = new String(hashBuf.array(), 0, hashLen, StandardCharsets.UTF_8);
 			if (!inputsHash.equals(fileInputsHash)) {
 				LOG.debug("Found usage data with different inputs hash");
-				FileUtils.deleteFileIfExists(usageFile);
+				closeAndDelete(channel, usageFile);
 				return null;
 			}
-			RawUsageData data = readData(in);
+			UsageFileData data = new UsageFileData(channel, headerLen + 6 + hashLen);
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("Loaded usage data from disk cache, classes count: {}, time: {}ms, file: {}",
-						data.getClsMap().size(), System.currentTimeMillis() - start, usageFile);
+						data.getClassesCount(), System.currentTimeMillis() - start, usageFile);
 			}
 			return data;
 		} catch (Exception e) {
-			try {
-				FileUtils.deleteFileIfExists(usageFile);
-			} catch (IOException ex) {
-				// ignore
-			}
+			closeAndDelete(channel, usageFile);
 			LOG.error("Failed to load usage data file", e);
 			return null;
 		}
@@ -88,163 +109,170 @@ public static synchronized void save(IUsageInfoData data, Path usageFile, List<F
 			writeData(out, usageData);
 		} catch (Exception e) {
 			LOG.error("Failed to save usage data file", e);
-			try {
-				FileUtils.deleteFileIfExists(usageFile);
-			} catch (IOException ex) {
-				LOG.error("Failed to delete usage data file: {}", usageFile, ex);
-			}
+			deleteFile(usageFile);
 		}
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Usage data saved, time: {}ms, file: {}", System.currentTimeMillis() - start, usageFile);
 		}
 	}
 
-	private static RawUsageData readData(DataInputStream in) throws IOException {
-		RawUsageData data = new RawUsageData();
-		int clsCount = readUVInt(in);
-		int clsWithoutDataCount = readUVInt(in);
-
-		String[] clsNames = new String[clsCount + clsWithoutDataCount];
-		ClsUsageData[] classes = new ClsUsageData[clsCount];
-		int c = 0;
-		for (int i = 0; i < clsCount; i++) {
-			String clsRawName = in.readUTF();
-			classes[i] = data.getClassData(clsRawName);
-			clsNames[c++] = clsRawName;
-		}
-		for (int i = 0; i < clsWithoutDataCount; i++) {
-			clsNames[c++] = in.readUTF();
-		}
-		int mthCount = readUVInt(in);
-		MthRef[] methods = new MthRef[mthCount];
-		for (int i = 0; i < mthCount; i++) {
-			int clsId = readUVInt(in);
-			String mthShortId = in.readUTF();
-			ClsUsageData cls = classes[clsId];
-			MthRef mthRef = new MthRef(cls.getRawName(), mthShortId);
-			cls.getMthUsage().put(mthShortId, new MthUsageData(mthRef));
-			methods[i] = mthRef;
-		}
-		for (int i = 0; i < clsCount; i++) {
-			ClsUsageData cls = data.getClassData(clsNames[i]);
-			cls.setClsDeps(readClsList(in, clsNames));
-			cls.setClsUsage(readClsList(in, clsNames));
-			cls.setClsUseInMth(readMthList(in, methods));
-
-			int mCount = readUVInt(in);
-			for (int m = 0; m < mCount; m++) {
-				MthRef mthRef = methods[readUVInt(in)];
-				cls.getMthUsage().get(mthRef.getShortId())
-						.setUsage(readMthList(in, methods));
-			}
-			int fCount = readUVInt(in);
-			for (int f = 0; f < fCount; f++) {
-				String fldShortId = in.readUTF();
-				cls.getFldUsage().computeIfAbsent(fldShortId,
-						fldId -> new FldUsageData(new FldRef(cls.getRawName(), fldId)))
-						.setUsage(readMthList(in, methods));
-			}
-		}
-		return data;
-	}
-
 	private static void writeData(DataOutputStream out, RawUsageData usageData) throws IOException {
-		Map<String, Integer> clsMap = new HashMap<>();
-		Map<MthRef, Integer> mthMap = new HashMap<>();
 		Map<String, ClsUsageData> clsDataMap = usageData.getClsMap();
 		List<String> classes = new ArrayList<>(clsDataMap.keySet());
 		Collections.sort(classes);
 		List<String> classesWithoutData = usageData.getClassesWithoutData();
+		int clsCount = classes.size();
 
-		writeUVInt(out, classes.size());
-		writeUVInt(out, classesWithoutData.size());
-		int i = 0;
+		StringsTable strings = new StringsTable();
+		Map<String, Integer> clsMap = new HashMap<>();
+		IntArray clsNames = new IntArray();
 		for (String cls : classes) {
-			out.writeUTF(cls);
-			clsMap.put(cls, i++);
+			clsMap.put(cls, clsNames.size());
+			clsNames.add(strings.add(cls));
 		}
 		for (String cls : classesWithoutData) {
-			out.writeUTF(cls);
-			clsMap.put(cls, i++);
-		}
-		List<MthRef> methods = clsDataMap.values().stream()
-				.flatMap(c -> c.getMthUsage().values().stream())
-				.map(MthUsageData::getMthRef)
-				.collect(Collectors.toList());
-		writeUVInt(out, methods.size());
-		int j = 0;
-		for (MthRef mth : methods) {
-			writeUVInt(out, clsMap.get(mth.getCls()));
-			out.writeUTF(mth.getShortId());
-			mthMap.put(mth, j++);
+			clsMap.put(cls, clsNames.size());
+			clsNames.add(strings.add(cls));
 		}
-		for (String cls : classes) {
-			ClsUsageData clsData = clsDataMap.get(cls);
-			writeClsList(out, clsMap, clsData.getClsDeps());
-			writeClsList(out, clsMap, clsData.getClsUsage());
-			writeMthList(out, mthMap, clsData.getClsUseInMth());
+		List<ClsUsageData> clsDataList = ListUtils.map(classes, clsDataMap::get);
 
-			writeUVInt(out, clsData.getMthUsage().size());
+		Map<MthRef, Integer> mthMap = new HashMap<>();
+		List<MthUsageData> methods = new ArrayList<>();
+		IntArray mthCls = new IntArray();
+		IntArray mthNames = new IntArray();
+		IntArray clsMthStart = new IntArray();
+		List<FldUsageData> fields = new ArrayList<>();
+		IntArray fldNames = new IntArray();
+		IntArray clsFldStart = new IntArray();
+		for (int clsId = 0; clsId < clsCount; clsId++) {
+			ClsUsageData clsData = clsDataList.get(clsId);
+			clsMthStart.add(methods.size());
 			for (MthUsageData mthData : clsData.getMthUsage().values()) {
-				writeUVInt(out, mthMap.get(mthData.getMthRef()));
-				writeMthList(out, mthMap, mthData.getUsage());
+				MthRef mthRef = mthData.getMthRef();
+				mthMap.put(mthRef, methods.size());
+				methods.add(mthData);
+				mthCls.add(clsId);
+				mthNames.add(strings.add(mthRef.getShortId()));
 			}
-
-			writeUVInt(out, clsData.getFldUsage().size());
+			clsFldStart.add(fields.size());
 			for (FldUsageData fldData : clsData.getFldUsage().values()) {
-				out.writeUTF(fldData.getFldRef().getShortId());
-				writeMthList(out, mthMap, fldData.getUsage());
+				fields.add(fldData);
+				fldNames.add(strings.add(fldData.getFldRef().getShortId()));
 			}
 		}
+		clsMthStart.add(methods.size());
+		clsFldStart.add(fields.size());
+
+		out.writeInt(clsCount);
+		out.writeInt(clsNames.size());
+		out.writeInt(methods.size());
+		out.writeInt(fields.size());
+		strings.write(out);
+		clsNames.write(out);
+		mthCls.write(out);
+		mthNames.write(out);
+		clsMthStart.write(out);
+		clsFldStart.write(out);
+		fldNames.write(out);
+		writeLists(out, clsDataList, c -> ListUtils.map(c.getClsDeps(), clsName -> getId(clsMap, clsName)));
+		writeLists(out, clsDataList, c -> ListUtils.map(c.getClsUsage(), clsName -> getId(clsMap, clsName)));
+		writeLists(out, clsDataList, c -> ListUtils.map(c.getClsUseInMth(), mth -> getId(mthMap, mth)));
+		writeLists(out, methods, m -> ListUtils.map(m.getUsage(), mth -> getId(mthMap, mth)));
+		writeLists(out, fields, f -> ListUtils.map(f.getUsage(), mth -> getId(mthMap, mth)));
 	}
 
-	private static List<String> readClsList(DataInputStream in, String[] classes) throws IOException {
-		int count = readUVInt(in);
-		if (count == 0) {
-			return Collections.emptyList();
-		}
-		List<String> list = new ArrayList<>(count);
-		for (int i = 0; i < count; i++) {
-			list.add(classes[readUVInt(in)]);
+	private static <T> Integer getId(Map<T, Integer> map, T obj) {
+		Integer id = map.get(obj);
+		if (id == null) {
+			throw new JadxRuntimeException("Unknown node in usage: " + obj);
 		}
-		return list;
+		return id;
 	}
 
-	private static void writeClsList(DataOutputStream out, Map<String, Integer> clsMap, List<String> clsList) throws IOException {
-		if (Utils.isEmpty(clsList)) {
-			writeUVInt(out, 0);
-			return;
+	/**
+	 * Write lists in CSR format: offsets array and all values array
+	 */
+	private static <T> void writeLists(DataOutputStream out, List<T> nodes, Function<T, List<Integer>> listGetter) throws IOException {
+		IntArray offsets = new IntArray();
+		IntArray values = new IntArray();
+		for (T node : nodes) {
+			offsets.add(values.size());
+			for (Integer id : listGetter.apply(node)) {
+				values.add(id);
+			}
 		}
-		writeUVInt(out, clsList.size());
-		for (String cls : clsList) {
-			Integer clsId = clsMap.get(cls);
-			if (clsId == null) {
-				throw new JadxRuntimeException("Unknown class in usage: " + cls);
+		offsets.add(values.size());
+		offsets.write(out);
+		values.write(out);
+	}
+
+	private static void closeAndDelete(@Nullable FileChannel channel, Path usageFile) {
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LOG.error("Failed to close usage data file: {}", usageFile, e);
 			}
-			writeUVInt(out, clsId);
 		}
+		deleteFile(usageFile);
 	}
 
-	private static List<MthRef> readMthList(DataInputStream in, MthRef[] methods) throws IOException {
-		int count = readUVInt(in);
-		if (count == 0) {
-			return Collections.emptyList();
+	private static void deleteFile(Path usageFile) {
+		try {
+			FileUtils.deleteFileIfExists(usageFile);
+		} catch (IOException e) {
+			LOG.error("Failed to delete usage data file: {}", usageFile, e);
 		}
-		List<MthRef> list = new ArrayList<>(count);
-		for (int i = 0; i < count; i++) {
-			list.add(methods[readUVInt(in)]);
+	}
+
+	private static final class StringsTable {
+		private final Map<String, Integer> map = new HashMap<>();
+		private final List<byte[]> strings = new ArrayList<>();
+
+		public int add(String str) {
+			Integer id = map.get(str);
+			if (id != null) {
+				return id;
+			}
+			int newId = strings.size();
+			strings.add(str.getBytes(StandardCharsets.UTF_8));
+			map.put(str, newId);
+			return newId;
+		}
+
+		public void write(DataOutputStream out) throws IOException {
+			out.writeInt(strings.size());
+			int offset = 0;
+			out.writeInt(offset);
+			for (byte[] bytes : strings) {
+				offset += bytes.length;
+				out.writeInt(offset);
+			}
+			for (byte[] bytes : strings) {
+				out.write(bytes);
+			}
 		}
-		return list;
 	}
 
-	private static void writeMthList(DataOutputStream out, Map<MthRef, Integer> mthMap, List<MthRef> mthList) throws IOException {
-		if (Utils.isEmpty(mthList)) {
-			writeUVInt(out, 0);
-			return;
+	private static final class IntArray {
+		private int[] data = new int[16];
+		private int size;
+
+		public void add(int value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = value;
+		}
+
+		public int size() {
+			return size;
 		}
-		writeUVInt(out, mthList.size());
-		for (MthRef mth : mthList) {
-			writeUVInt(out, mthMap.get(mth));
+
+		public void write(DataOutputStream out) throws IOException {
+			for (int i = 0; i < size; i++) {
+				out.writeInt(data[i]);
+			}
 		}
 	}
 
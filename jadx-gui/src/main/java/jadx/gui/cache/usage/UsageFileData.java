@@ -0,0 +1,267 @@
+package jadx.gui.cache.usage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Read only view of usage data stored in binary usage file (see {@link UsageFileAdapter} for format).
+ * Only offsets and ids arrays loaded into heap, strings and usage lists read from opened file on request,
+ * so full object graph never built.
+ */
+final class UsageFileData {
+	private static final Logger LOG = LoggerFactory.getLogger(UsageFileData.class);
+
+	private final FileChannel channel;
+
+	private final int clsCount;
+	private final int clsTotal;
+	private final int mthCount;
+
+	private final int[] strOffsets;
+	private final long strDataPos;
+	private final int[] clsNames;
+	private final int[] mthCls;
+	private final int[] mthNames;
+	private final int[] clsMthStart;
+	private final int[] clsFldStart;
+	private final int[] fldNames;
+
+	private final Adjacency clsDeps;
+	private final Adjacency clsUsage;
+	private final Adjacency clsUseInMth;
+	private final Adjacency mthUsage;
+	private final Adjacency fldUsage;
+
+	/**
+	 * Read data arrays from file starting at {@code startPos}, channel stays open until {@link #close()}
+	 */
+	UsageFileData(FileChannel channel, long startPos) throws IOException {
+		this.channel = channel;
+		long pos = startPos;
+		int[] counts = readInts(pos, 5);
+		clsCount = counts[0];
+		clsTotal = counts[1];
+		mthCount = counts[2];
+		int fldCount = counts[3];
+		int strCount = counts[4];
+		pos += 20;
+		strOffsets = readInts(pos, strCount + 1);
+		pos += (strCount + 1) * 4L;
+		strDataPos = pos;
+		pos += strOffsets[strCount];
+		clsNames = readInts(pos, clsTotal);
+		pos += clsTotal * 4L;
+		mthCls = readInts(pos, mthCount);
+		pos += mthCount * 4L;
+		mthNames = readInts(pos, mthCount);
+		pos += mthCount * 4L;
+		clsMthStart = readInts(pos, clsCount + 1);
+		pos += (clsCount + 1) * 4L;
+		clsFldStart = readInts(pos, clsCount + 1);
+		pos += (clsCount + 1) * 4L;
+		fldNames = readInts(pos, fldCount);
+		pos += fldCount * 4L;
+		clsDeps = new Adjacency(pos, clsCount);
+		clsUsage = new Adjacency(clsDeps.getEndPos(), clsCount);
+		clsUseInMth = new Adjacency(clsUsage.getEndPos(), clsCount);
+		mthUsage = new Adjacency(clsUseInMth.getEndPos(), mthCount);
+		fldUsage = new Adjacency(mthUsage.getEndPos(), fldCount);
+		long fileSize = channel.size();
+		if (fldUsage.getEndPos() != fileSize) {
+			throw new JadxRuntimeException("Unexpected usage data size: " + fileSize + ", expected: " + fldUsage.getEndPos());
+		}
+	}
+
+	/**
+	 * Count of classes with usage data, class ids in range [0, count) have data
+	 * and sorted by raw name.
+	 */
+	public int getClassesCount() {
+		return clsCount;
+	}
+
+	/**
+	 * Count of all classes, including classes without usage data (referenced from usage lists)
+	 */
+	public int getClassesTotal() {
+		return clsTotal;
+	}
+
+	public String getClassName(int clsId) {
+		return getString(clsNames[clsId]);
+	}
+
+	/**
+	 * Search class id by raw name, return -1 if class don't have usage data
+	 */
+	public int searchClass(String rawName) {
+		int low = 0;
+		int high = clsCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = getClassName(mid).compareTo(rawName);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	public int getMethodsCount() {
+		return mthCount;
+	}
+
+	public int getMethodClass(int mthId) {
+		return mthCls[mthId];
+	}
+
+	public String getMethodShortId(int mthId) {
+		return getString(mthNames[mthId]);
+	}
+
+	/**
+	 * Methods with usage data of class with id {@code clsId} are in range [start, end)
+	 */
+	public int getClassMethodsStart(int clsId) {
+		return clsMthStart[clsId];
+	}
+
+	public int getClassMethodsEnd(int clsId) {
+		return clsMthStart[clsId + 1];
+	}
+
+	public int getClassFieldsStart(int clsId) {
+		return clsFldStart[clsId];
+	}
+
+	public int getClassFieldsEnd(int clsId) {
+		return clsFldStart[clsId + 1];
+	}
+
+	public String getFieldShortId(int fldId) {
+		return getString(fldNames[fldId]);
+	}
+
+	/**
+	 * Class ids of class dependencies
+	 */
+	public Adjacency getClsDeps() {
+		return clsDeps;
+	}
+
+	/**
+	 * Class ids of class usage
+	 */
+	public Adjacency getClsUsage() {
+		return clsUsage;
+	}
+
+	/**
+	 * Method ids of class usage in methods
+	 */
+	public Adjacency getClsUseInMth() {
+		return clsUseInMth;
+	}
+
+	/**
+	 * Method ids of method usage
+	 */
+	public Adjacency getMthUsage() {
+		return mthUsage;
+	}
+
+	/**
+	 * Method ids of field usage
+	 */
+	public Adjacency getFldUsage() {
+		return fldUsage;
+	}
+
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			LOG.error("Failed to close usage data file", e);
+		}
+	}
+
+	private String getString(int strId) {
+		int start = strOffsets[strId];
+		int len = strOffsets[strId + 1] - start;
+		try {
+			ByteBuffer buf = read(channel, strDataPos + start, len);
+			return new String(buf.array(), 0, len, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to read usage data", e);
+		}
+	}
+
+	private int[] readInts(long pos, int count) throws IOException {
+		int[] arr = new int[count];
+		read(channel, pos, count * 4).asIntBuffer().get(arr);
+		return arr;
+	}
+
+	/**
+	 * Positional read, don't change channel position, so can be used concurrently
+	 */
+	static ByteBuffer read(FileChannel channel, long pos, int len) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(len);
+		long readPos = pos;
+		while (buf.hasRemaining()) {
+			int read = channel.read(buf, readPos);
+			if (read == -1) {
+				throw new IOException("Unexpected end of usage data file");
+			}
+			readPos += read;
+		}
+		buf.flip();
+		return buf;
+	}
+
+	/**
+	 * Lists of ids stored as offsets array and one values array,
+	 * offsets kept in memory, values read from file for every requested list
+	 */
+	final class Adjacency {
+		private final int[] offsets;
+		private final long valuesPos;
+
+		private Adjacency(long pos, int count) throws IOException {
+			this.offsets = readInts(pos, count + 1);
+			this.valuesPos = pos + (count + 1) * 4L;
+		}
+
+		public int getStart(int idx) {
+			return offsets[idx];
+		}
+
+		public int getEnd(int idx) {
+			return offsets[idx + 1];
+		}
+
+		public int[] getValues(int idx) {
+			int start = offsets[idx];
+			try {
+				return readInts(valuesPos + start * 4L, offsets[idx + 1] - start);
+			} catch (IOException e) {
+				throw new JadxRuntimeException("Failed to read usage data", e);
+			}
+		}
+
+		private long getEndPos() {
+			return valuesPos + offsets[offsets.length - 1] * 4L;
+		}
+	}
+}
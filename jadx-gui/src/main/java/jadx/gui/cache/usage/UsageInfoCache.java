@@ -18,7 +18,12 @@ public class UsageInfoCache implements IUsageInfoCache {
 	private final Path usageFile;
 	private final List<File> inputs;
 	private final InMemoryUsageInfoCache memCache = new InMemoryUsageInfoCache();
-	private @Nullable RawUsageData rawUsageData;
+	private @Nullable UsageFileData usageFileData;
+
+	/**
+	 * Data updated after classes reload, saved on close
+	 */
+	private @Nullable IUsageInfoData unsavedData;
 
 	public UsageInfoCache(Path cacheDir, List<File> inputFiles) {
 		usageFile = cacheDir.resolve("usage");
@@ -32,11 +37,11 @@ public UsageInfoCache(Path cacheDir, List<File> inputFiles) {
 			return memData;
 		}
 		synchronized (LOAD_DATA_SYNC) {
-			if (rawUsageData == null) {
-				rawUsageData = UsageFileAdapter.load(usageFile, inputs);
+			if (usageFileData == null) {
+				usageFileData = UsageFileAdapter.load(usageFile, inputs);
 			}
-			if (rawUsageData != null) {
-				UsageData data = new UsageData(root, rawUsageData);
+			if (usageFileData != null) {
+				UsageData data = new UsageData(root, usageFileData);
 				memCache.set(root, data);
 				return data;
 			}
@@ -47,12 +52,38 @@ public UsageInfoCache(Path cacheDir, List<File> inputFiles) {
 	@Override
 	public void set(RootNode root, IUsageInfoData data) {
 		memCache.set(root, data);
+		unsavedData = null;
+		closeFileData();
 		UsageFileAdapter.save(data, usageFile, inputs);
 	}
 
+	@Override
+	public void update(RootNode root, IUsageInfoData data) {
+		memCache.set(root, data);
+		unsavedData = data;
+	}
+
 	@Override
 	public void close() {
-		rawUsageData = null;
+		closeFileData();
+		IUsageInfoData data = unsavedData;
+		if (data != null) {
+			unsavedData = null;
+			UsageFileAdapter.save(data, usageFile, inputs);
+		}
 		memCache.close();
 	}
+
+	/**
+	 * Release opened usage file before overwrite
+	 */
+	private void closeFileData() {
+		synchronized (LOAD_DATA_SYNC) {
+			UsageFileData fileData = usageFileData;
+			if (fileData != null) {
+				usageFileData = null;
+				fileData.close();
+			}
+		}
+	}
 }
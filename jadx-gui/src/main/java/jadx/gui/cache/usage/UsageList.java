@@ -0,0 +1,75 @@
+package jadx.gui.cache.usage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Usage list of one node from usage file.
+ * Ids read from file and resolved into nodes only on first access to list elements,
+ * size available without resolving. Resolved list is mutable, like lists built by usage collector.
+ */
+final class UsageList<T> extends AbstractList<T> implements RandomAccess {
+	private final UsageFileData.Adjacency adjacency;
+	private final int idx;
+	private final int size;
+	private final IntFunction<T> resolver;
+
+	private volatile @Nullable List<T> list;
+
+	UsageList(UsageFileData.Adjacency adjacency, int idx, IntFunction<T> resolver) {
+		this.adjacency = adjacency;
+		this.idx = idx;
+		this.size = adjacency.getEnd(idx) - adjacency.getStart(idx);
+		this.resolver = resolver;
+	}
+
+	private List<T> getList() {
+		List<T> resolved = list;
+		if (resolved != null) {
+			return resolved;
+		}
+		synchronized (this) {
+			resolved = list;
+			if (resolved == null) {
+				int[] ids = adjacency.getValues(idx);
+				resolved = new ArrayList<>(ids.length);
+				for (int id : ids) {
+					resolved.add(resolver.apply(id));
+				}
+				list = resolved;
+			}
+			return resolved;
+		}
+	}
+
+	@Override
+	public int size() {
+		List<T> resolved = list;
+		return resolved != null ? resolved.size() : size;
+	}
+
+	@Override
+	public T get(int index) {
+		return getList().get(index);
+	}
+
+	@Override
+	public T set(int index, T element) {
+		return getList().set(index, element);
+	}
+
+	@Override
+	public void add(int index, T element) {
+		getList().add(index, element);
+	}
+
+	@Override
+	public T remove(int index) {
+		return getList().remove(index);
+	}
+}
@@ -1,5 +1,8 @@
 package jadx.gui.search;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,10 +13,22 @@ public class SearchJob implements Runnable {
 	private static final Logger LOG = LoggerFactory.getLogger(SearchJob.class);
 	private final SearchTask searchTask;
 	private final ISearchProvider provider;
+	private final boolean ordered;
+
+	/**
+	 * Results not yet passed to search task listener (only for ordered jobs, guarded by search task lock)
+	 */
+	private final Deque<JNode> pendingResults = new ArrayDeque<>();
+	private boolean complete;
 
 	public SearchJob(SearchTask task, ISearchProvider provider) {
+		this(task, provider, false);
+	}
+
+	public SearchJob(SearchTask task, ISearchProvider provider, boolean ordered) {
 		this.searchTask = task;
 		this.provider = provider;
+		this.ordered = ordered;
 	}
 
 	@Override
@@ -22,13 +37,15 @@ public void run() {
 			try {
 				JNode result = provider.next(searchTask);
 				if (result == null) {
+					searchTask.jobComplete(this);
 					return;
 				}
-				if (searchTask.addResult(result)) {
+				if (searchTask.addResult(this, result)) {
 					return;
 				}
 			} catch (Exception e) {
 				LOG.warn("Search error, provider: {}", provider.getClass().getSimpleName(), e);
+				searchTask.jobComplete(this);
 				return;
 			}
 		}
@@ -37,4 +54,20 @@ public void run() {
 	public ISearchProvider getProvider() {
 		return provider;
 	}
+
+	boolean isOrdered() {
+		return ordered;
+	}
+
+	Deque<JNode> getPendingResults() {
+		return pendingResults;
+	}
+
+	boolean isComplete() {
+		return complete;
+	}
+
+	void setComplete() {
+		this.complete = true;
+	}
 }
@@ -1,6 +1,7 @@
 package jadx.gui.search;
 
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -8,12 +9,14 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.JavaClass;
 import jadx.api.utils.tasks.ITaskExecutor;
 import jadx.core.utils.tasks.TaskExecutor;
 import jadx.gui.jobs.BackgroundExecutor;
@@ -29,11 +32,30 @@
 public class SearchTask extends CancelableBackgroundTask {
 	private static final Logger LOG = LoggerFactory.getLogger(SearchTask.class);
 
+	/**
+	 * Minimal classes count in one shard, smaller ranges not worth separate job
+	 */
+	private static final int MIN_SHARD_SIZE = 256;
+
+	/**
+	 * Several shards per thread to balance load between workers
+	 */
+	private static final int SHARDS_PER_THREAD = 4;
+
 	private final BackgroundExecutor backgroundExecutor;
 	private final Consumer<JNode> resultsListener;
 	private final BiConsumer<ITaskInfo, Boolean> onFinish;
 	private final List<SearchJob> jobs = new ArrayList<>();
+	/**
+	 * Ordered jobs in results order, see {@link #addOrderedProviderJob(ISearchProvider)}
+	 */
+	private final List<SearchJob> orderedJobs = new ArrayList<>();
+	/**
+	 * Index of first not complete ordered job, only this job results passed to listener
+	 */
+	private int orderedJobsPos;
 	private final TaskProgress taskProgress = new TaskProgress();
+	private final int threadsCount;
 
 	private final AtomicInteger resultsCount = new AtomicInteger(0);
 	private int resultsLimit;
@@ -42,15 +64,49 @@ public class SearchTask extends CancelableBackgroundTask {
 	private Consumer<ITaskProgress> progressListener;
 
 	public SearchTask(MainWindow mainWindow, Consumer<JNode> results, BiConsumer<ITaskInfo, Boolean> onFinish) {
-		this.backgroundExecutor = mainWindow.getBackgroundExecutor();
+		this(mainWindow.getBackgroundExecutor(), mainWindow.getSettings().getThreadsCount(), results, onFinish);
+	}
+
+	SearchTask(BackgroundExecutor backgroundExecutor, int threadsCount,
+			Consumer<JNode> results, BiConsumer<ITaskInfo, Boolean> onFinish) {
+		this.backgroundExecutor = backgroundExecutor;
 		this.resultsListener = results;
 		this.onFinish = onFinish;
+		this.threadsCount = threadsCount;
 	}
 
 	public void addProviderJob(ISearchProvider provider) {
 		jobs.add(new SearchJob(this, provider));
 	}
 
+	/**
+	 * Add job with stable results order: results of all ordered jobs passed to listener
+	 * in same order as in sequential execution of these jobs in adding order.
+	 * Results of job are buffered until all previous ordered jobs complete.
+	 */
+	public void addOrderedProviderJob(ISearchProvider provider) {
+		SearchJob job = new SearchJob(this, provider, true);
+		jobs.add(job);
+		orderedJobs.add(job);
+	}
+
+	/**
+	 * Split classes into ranges and add ordered job for every provider and range,
+	 * so search in different ranges can be executed in parallel.
+	 * Results passed to listener by providers order and then by ranges order.
+	 */
+	public void addShardedProviderJobs(List<JavaClass> classes, List<Function<List<JavaClass>, ISearchProvider>> providerBuilders) {
+		int size = classes.size();
+		int shardsCount = Math.max(1, threadsCount * SHARDS_PER_THREAD);
+		int shardSize = Math.max(MIN_SHARD_SIZE, (size + shardsCount - 1) / shardsCount);
+		for (Function<List<JavaClass>, ISearchProvider> providerBuilder : providerBuilders) {
+			for (int start = 0; start < size; start += shardSize) {
+				List<JavaClass> shard = classes.subList(start, Math.min(size, start + shardSize));
+				addOrderedProviderJob(providerBuilder.apply(shard));
+			}
+		}
+	}
+
 	public void setResultsLimit(int limit) {
 		this.resultsLimit = limit;
 	}
@@ -59,10 +115,14 @@ public synchronized void fetchResults() {
 		if (future != null) {
 			throw new IllegalStateException("Previous task not yet finished");
 		}
+		prepareFetch();
+		future = backgroundExecutor.execute(this);
+	}
+
+	synchronized void prepareFetch() {
 		resetCancel();
 		resultsCount.set(0);
 		taskProgress.updateTotal(jobs.stream().mapToInt(s -> s.getProvider().total()).sum());
-		future = backgroundExecutor.execute(this);
 	}
 
 	public synchronized boolean addResult(JNode resultNode) {
@@ -70,6 +130,10 @@ public synchronized boolean addResult(JNode resultNode) {
 			// ignore new results after cancel
 			return true;
 		}
+		return acceptResult(resultNode);
+	}
+
+	private boolean acceptResult(JNode resultNode) {
 		this.resultsListener.accept(resultNode);
 		if (resultsLimit != 0 && resultsCount.incrementAndGet() >= resultsLimit) {
 			cancel();
@@ -78,6 +142,57 @@ public synchronized boolean addResult(JNode resultNode) {
 		return false;
 	}
 
+	/**
+	 * Add result from job
+	 *
+	 * @return true if job should be stopped
+	 */
+	synchronized boolean addResult(SearchJob job, JNode resultNode) {
+		if (!job.isOrdered()) {
+			return addResult(resultNode);
+		}
+		// keep result after cancel, it will be released on next fetch
+		job.getPendingResults().add(resultNode);
+		if (releaseOrderedResults()) {
+			return true;
+		}
+		// no need to search more than can be shown after release of previous jobs results
+		return resultsLimit != 0 && job.getPendingResults().size() >= resultsLimit;
+	}
+
+	/**
+	 * Job provider returned all results.
+	 * Ignored after cancel: providers also stop on cancel, so job will be checked again on next fetch.
+	 */
+	synchronized void jobComplete(SearchJob job) {
+		if (job.isOrdered() && !isCanceled()) {
+			job.setComplete();
+			releaseOrderedResults();
+		}
+	}
+
+	/**
+	 * Pass pending results of ordered jobs to listener, stop at first not complete job
+	 *
+	 * @return true if results limit reached or task canceled
+	 */
+	private boolean releaseOrderedResults() {
+		while (orderedJobsPos < orderedJobs.size()) {
+			SearchJob job = orderedJobs.get(orderedJobsPos);
+			Deque<JNode> pendingResults = job.getPendingResults();
+			while (!pendingResults.isEmpty()) {
+				if (isCanceled() || acceptResult(pendingResults.poll())) {
+					return true;
+				}
+			}
+			if (!job.isComplete()) {
+				return false;
+			}
+			orderedJobsPos++;
+		}
+		return false;
+	}
+
 	public synchronized void waitTask() {
 		if (future != null) {
 			try {
@@ -13,6 +13,7 @@
 import jadx.api.metadata.ICodeMetadata;
 import jadx.api.metadata.ICodeNodeRef;
 import jadx.gui.JadxWrapper;
+import jadx.gui.cache.search.CodeSearchIndex;
 import jadx.gui.jobs.Cancelable;
 import jadx.gui.search.SearchSettings;
 import jadx.gui.treemodel.CodeNode;
@@ -27,6 +28,8 @@ public final class CodeSearchProvider extends BaseSearchProvider {
 
 	private final ICodeCache codeCache;
 	private final JadxWrapper wrapper;
+	private final @Nullable CodeSearchIndex searchIndex;
+	private final @Nullable long[] indexQuery;
 
 	private @Nullable String code;
 	private int clsNum = 0;
@@ -36,6 +39,9 @@ public CodeSearchProvider(MainWindow mw, SearchSettings searchSettings, List<Jav
 		super(mw, searchSettings, classes);
 		this.codeCache = mw.getWrapper().getArgs().getCodeCache();
 		this.wrapper = mw.getWrapper();
+		this.searchIndex = wrapper.getCodeSearchIndex();
+		// regex can't be checked using index, use full scan
+		this.indexQuery = searchSettings.isUseRegex() ? null : CodeSearchIndex.buildQuery(searchStr);
 	}
 
 	@Override
@@ -46,7 +52,7 @@ public CodeSearchProvider(MainWindow mw, SearchSettings searchSettings, List<Jav
 			}
 			JavaClass cls = classes.get(clsNum);
 			String clsCode = code;
-			if (clsCode == null && !cls.isInner() && !cls.isNoCode()) {
+			if (clsCode == null && !cls.isInner() && !cls.isNoCode() && mayContain(cls)) {
 				clsCode = getClassCode(cls, codeCache);
 			}
 			if (clsCode != null) {
@@ -62,6 +68,13 @@ public CodeSearchProvider(MainWindow mw, SearchSettings searchSettings, List<Jav
 		}
 	}
 
+	private boolean mayContain(JavaClass cls) {
+		if (searchIndex == null || indexQuery == null) {
+			return true;
+		}
+		return searchIndex.mayContain(cls.getRawName(), indexQuery);
+	}
+
 	@Nullable
 	private JNode searchNext(JavaClass javaClass, String clsCode) {
 		int newPos = searchMth.find(clsCode, searchStr, pos);
@@ -97,6 +110,10 @@ private String getClassCode(JavaClass javaClass, ICodeCache codeCache) {
 			// quick check for if code already in cache
 			String code = codeCache.getCode(javaClass.getRawName());
 			if (code != null) {
+				if (searchIndex != null && !searchIndex.contains(javaClass.getRawName())) {
+					// class loaded from disk cache saved without index
+					searchIndex.add(javaClass.getRawName(), code);
+				}
 				return code;
 			}
 			return javaClass.getCode();
@@ -53,7 +53,7 @@ public class JadxSettings extends JadxCLIArgs {
 
 	private static final Path USER_HOME = Paths.get(System.getProperty("user.home"));
 	private static final int RECENT_PROJECTS_COUNT = 30;
-	private static final int CURRENT_SETTINGS_VERSION = 20;
+	private static final int CURRENT_SETTINGS_VERSION = 21;
 
 	private static final Font DEFAULT_FONT = new RSyntaxTextArea().getFont();
 
@@ -122,6 +122,7 @@ public void setSaveOption(SAVEOPTION saveOption) {
 
 	private CodeCacheMode codeCacheMode = CodeCacheMode.DISK;
 	private UsageCacheMode usageCacheMode = UsageCacheMode.DISK;
+	private boolean codeCacheCompression = true;
 	private @Nullable String cacheDir = null; // null - default (system), "." - at project dir, other - custom
 
 	private boolean jumpOnDoubleClick = true;
@@ -437,6 +438,10 @@ public void setInlineAnonymousClasses(boolean inlineAnonymousClasses) {
 		this.inlineAnonymousClasses = inlineAnonymousClasses;
 	}
 
+	public void setProfilePasses(boolean profilePasses) {
+		this.profilePasses = profilePasses;
+	}
+
 	public void setInlineMethods(boolean inlineMethods) {
 		this.inlineMethods = inlineMethods;
 	}
@@ -711,6 +716,14 @@ public void setCodeCacheMode(CodeCacheMode codeCacheMode) {
 		this.codeCacheMode = codeCacheMode;
 	}
 
+	public boolean isCodeCacheCompression() {
+		return codeCacheCompression;
+	}
+
+	public void setCodeCacheCompression(boolean codeCacheCompression) {
+		this.codeCacheCompression = codeCacheCompression;
+	}
+
 	public UsageCacheMode getUsageCacheMode() {
 		return usageCacheMode;
 	}
@@ -805,6 +818,10 @@ private void upgradeSettings(int fromVersion) {
 			tabDndGhostType = TabDndGhostType.OUTLINE;
 			fromVersion++;
 		}
+		if (fromVersion == 20) {
+			codeCacheCompression = true;
+			fromVersion++;
+		}
 		if (fromVersion != CURRENT_SETTINGS_VERSION) {
 			LOG.warn("Incorrect settings upgrade. Expected version: {}, got: {}", CURRENT_SETTINGS_VERSION, fromVersion);
 		}
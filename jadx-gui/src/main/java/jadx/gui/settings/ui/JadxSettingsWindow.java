@@ -520,6 +520,13 @@ private SettingsGroup makeDecompilationGroup() {
 			needReload();
 		});
 
+		JCheckBox profilePasses = new JCheckBox();
+		profilePasses.setSelected(settings.isProfilePasses());
+		profilePasses.addItemListener(e -> {
+			settings.setProfilePasses(e.getStateChange() == ItemEvent.SELECTED);
+			needReload();
+		});
+
 		JCheckBox inlineMethods = new JCheckBox();
 		inlineMethods.setSelected(settings.isInlineMethods());
 		inlineMethods.addItemListener(e -> {
@@ -599,6 +606,7 @@ private SettingsGroup makeDecompilationGroup() {
 		other.addRow(NLS.str("preferences.useKotlinMethodsForVarNames"), kotlinRenameVars);
 		other.addRow(NLS.str("preferences.commentsLevel"), commentsLevel);
 		other.addRow(NLS.str("preferences.integerFormat"), integerFormat);
+		other.addRow(NLS.str("preferences.profilePasses"), profilePasses);
 		return other;
 	}
 
@@ -2,6 +2,7 @@
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
+import java.awt.event.ItemEvent;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
@@ -12,6 +13,7 @@
 import javax.swing.BoxLayout;
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JFileChooser;
@@ -26,6 +28,7 @@
 
 import jadx.api.plugins.gui.ISettingsGroup;
 import jadx.gui.cache.code.CodeCacheMode;
+import jadx.gui.cache.code.CodeCacheStats;
 import jadx.gui.cache.usage.UsageCacheMode;
 import jadx.gui.settings.JadxSettings;
 import jadx.gui.settings.ui.JadxSettingsWindow;
@@ -186,6 +189,13 @@ private JComponent buildBaseOptions() {
 			settingsWindow.needReload();
 		});
 
+		JCheckBox compressionCheckBox = new JCheckBox();
+		compressionCheckBox.setSelected(settings.isCodeCacheCompression());
+		compressionCheckBox.addItemListener(e -> {
+			settings.setCodeCacheCompression(e.getStateChange() == ItemEvent.SELECTED);
+			settingsWindow.needReload();
+		});
+
 		JComboBox<UsageCacheMode> usageCacheModeComboBox = new JComboBox<>(UsageCacheMode.values());
 		usageCacheModeComboBox.setSelectedItem(settings.getUsageCacheMode());
 		usageCacheModeComboBox.addActionListener(e -> {
@@ -195,6 +205,13 @@ private JComponent buildBaseOptions() {
 
 		SettingsGroup group = new SettingsGroup(title);
 		group.addRow(NLS.str("preferences.codeCacheMode"), CodeCacheMode.buildToolTip(), codeCacheModeComboBox);
+		group.addRow(NLS.str("preferences.codeCacheCompression"), compressionCheckBox);
+		CodeCacheStats stats = settingsWindow.getMainWindow().getWrapper().getCodeCacheStats();
+		if (stats != null) {
+			JLabel statsLabel = new JLabel(NLS.str("preferences.codeCacheStats.value",
+					stats.getCompressionRatio() * 100, stats.getAvgDecodeTimeMs(), stats.getDecodeCount()));
+			group.addRow(NLS.str("preferences.codeCacheStats"), statsLabel);
+		}
 		group.addRow(NLS.str("preferences.usageCacheMode"), usageCacheModeComboBox);
 		return group.buildComponent();
 	}
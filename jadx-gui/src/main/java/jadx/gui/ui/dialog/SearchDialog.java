@@ -13,6 +13,7 @@
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -44,13 +45,13 @@
 import jadx.core.utils.ListUtils;
 import jadx.gui.jobs.ITaskInfo;
 import jadx.gui.jobs.ITaskProgress;
+import jadx.gui.search.ISearchProvider;
 import jadx.gui.search.SearchSettings;
 import jadx.gui.search.SearchTask;
 import jadx.gui.search.providers.ClassSearchProvider;
 import jadx.gui.search.providers.CodeSearchProvider;
 import jadx.gui.search.providers.CommentSearchProvider;
 import jadx.gui.search.providers.FieldSearchProvider;
-import jadx.gui.search.providers.MergedSearchProvider;
 import jadx.gui.search.providers.MethodSearchProvider;
 import jadx.gui.search.providers.ResourceSearchProvider;
 import jadx.gui.treemodel.JClass;
@@ -473,21 +474,22 @@ private boolean buildSearch(SearchTask newSearchTask, String text, SearchSetting
 			newSearchTask.addProviderJob(new CommentSearchProvider(mainWindow, searchSettings));
 			return true;
 		}
-		// using ordered execution for fast tasks
-		MergedSearchProvider merged = new MergedSearchProvider();
+		// ordered jobs: fast names search results shown first, code search results after them
+		List<Function<List<JavaClass>, ISearchProvider>> namesSearch = new ArrayList<>();
 		if (options.contains(CLASS)) {
-			merged.add(new ClassSearchProvider(mainWindow, searchSettings, allClasses));
+			namesSearch.add(classes -> new ClassSearchProvider(mainWindow, searchSettings, classes));
 		}
 		if (options.contains(METHOD)) {
-			merged.add(new MethodSearchProvider(mainWindow, searchSettings, allClasses));
+			namesSearch.add(classes -> new MethodSearchProvider(mainWindow, searchSettings, classes));
 		}
 		if (options.contains(FIELD)) {
-			merged.add(new FieldSearchProvider(mainWindow, searchSettings, allClasses));
+			namesSearch.add(classes -> new FieldSearchProvider(mainWindow, searchSettings, classes));
 		}
+		newSearchTask.addShardedProviderJobs(allClasses, namesSearch);
 		if (options.contains(CODE)) {
 			int clsCount = allClasses.size();
 			if (clsCount == 1) {
-				newSearchTask.addProviderJob(new CodeSearchProvider(mainWindow, searchSettings, allClasses));
+				newSearchTask.addOrderedProviderJob(new CodeSearchProvider(mainWindow, searchSettings, allClasses));
 			} else if (clsCount > 1) {
 				List<List<JavaClass>> batches = mainWindow.getCacheObject().getDecompileBatches();
 				if (batches == null) {
@@ -496,7 +498,7 @@ private boolean buildSearch(SearchTask newSearchTask, String text, SearchSetting
 					mainWindow.getCacheObject().setDecompileBatches(batches);
 				}
 				for (List<JavaClass> batch : batches) {
-					newSearchTask.addProviderJob(new CodeSearchProvider(mainWindow, searchSettings, batch));
+					newSearchTask.addOrderedProviderJob(new CodeSearchProvider(mainWindow, searchSettings, batch));
 				}
 			}
 		}
@@ -506,8 +508,6 @@ private boolean buildSearch(SearchTask newSearchTask, String text, SearchSetting
 		if (options.contains(COMMENT)) {
 			newSearchTask.addProviderJob(new CommentSearchProvider(mainWindow, searchSettings));
 		}
-		merged.prepare();
-		newSearchTask.addProviderJob(merged);
 		return true;
 	}
 
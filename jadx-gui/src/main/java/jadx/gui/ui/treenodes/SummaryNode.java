@@ -2,6 +2,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -24,6 +25,7 @@
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.ProcessState;
 import jadx.core.utils.ErrorsCounter;
+import jadx.core.utils.PassesProfiler;
 import jadx.core.utils.Utils;
 import jadx.gui.JadxWrapper;
 import jadx.gui.treemodel.JClass;
@@ -55,6 +57,7 @@ public ICodeInfo getCodeInfo() {
 			builder.append("<body>");
 			writeInputSummary(builder);
 			writeDecompilationSummary(builder);
+			writePassesProfile(builder);
 			builder.append("</body>");
 		} catch (Exception e) {
 			builder.append("Error build summary: ");
@@ -190,6 +193,24 @@ private void writeDecompilationSummary(StringEscapeUtils.Builder builder) {
 		builder.append("</ul>");
 	}
 
+	private void writePassesProfile(StringEscapeUtils.Builder builder) {
+		PassesProfiler profiler = wrapper.getRootNode().getPassesProfiler();
+		if (profiler == null) {
+			return;
+		}
+		Path reportDir = wrapper.getProject().getCacheDir();
+		profiler.saveReport(reportDir);
+		builder.append("<h2>Passes profile</h2>");
+		builder.append("<ul>");
+		builder.append("<li>Report saved to: ");
+		builder.escape(reportDir.resolve(PassesProfiler.REPORT_JSON_FILE).toAbsolutePath().toString());
+		builder.append("</li>");
+		builder.append("</ul>");
+		builder.append("<pre>");
+		builder.escape(profiler.buildSummaryTable());
+		builder.append("</pre>");
+	}
+
 	private String valueAndPercent(long value, int total) {
 		return String.format("%d (%.2f%%)", value, value * 100 / ((double) total));
 	}
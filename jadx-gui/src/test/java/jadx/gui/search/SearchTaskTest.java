@@ -0,0 +1,166 @@
+package jadx.gui.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JavaClass;
+import jadx.api.utils.tasks.ITaskExecutor;
+import jadx.gui.jobs.Cancelable;
+import jadx.gui.treemodel.JNode;
+import jadx.gui.treemodel.TextNode;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class SearchTaskTest {
+	private static final int THREADS = 4;
+	private static final int CLASSES_COUNT = 1024; // 4 shards
+	private static final int SHARDS = 4;
+	private static final int RESULTS_PER_SHARD = 5;
+
+	private final List<String> results = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void testResultsLimit() {
+		SearchTask task = buildTask();
+		task.setResultsLimit(12);
+		fetch(task);
+		List<String> expected = expectedResults();
+		assertThat(results, is(expected.subList(0, 12)));
+
+		// load next page
+		fetch(task);
+		assertThat(results, is(expected.subList(0, 24)));
+
+		// load all
+		task.setResultsLimit(0);
+		fetch(task);
+		assertThat(results, is(expected));
+	}
+
+	@Test
+	public void testCancel() {
+		AtomicInteger cancelAt = new AtomicInteger(7);
+		SearchTask[] taskRef = new SearchTask[1];
+		SearchTask task = new SearchTask(null, THREADS, node -> {
+			results.add(node.makeString());
+			if (results.size() == cancelAt.get()) {
+				taskRef[0].cancel();
+			}
+		}, (t, complete) -> {
+		});
+		taskRef[0] = task;
+		addJobs(task);
+		fetch(task);
+		List<String> expected = expectedResults();
+		assertThat(results, is(expected.subList(0, 7)));
+
+		cancelAt.set(-1);
+		fetch(task);
+		assertThat(results, is(expected));
+	}
+
+	@Test
+	public void testOrderedProviderJobs() {
+		SearchTask task = buildTask();
+		for (int batch = 0; batch < SHARDS; batch++) {
+			task.addOrderedProviderJob(new TestProvider("code", batch));
+		}
+		List<String> expected = expectedResults();
+		for (int batch = 0; batch < SHARDS; batch++) {
+			for (int i = 0; i < RESULTS_PER_SHARD; i++) {
+				expected.add("code:" + batch + ':' + i);
+			}
+		}
+		task.setResultsLimit(25);
+		fetch(task);
+		assertThat(results, is(expected.subList(0, 25)));
+
+		task.setResultsLimit(0);
+		fetch(task);
+		assertThat(results, is(expected));
+	}
+
+	private SearchTask buildTask() {
+		SearchTask task = new SearchTask(null, THREADS, node -> results.add(node.makeString()), (t, complete) -> {
+		});
+		addJobs(task);
+		return task;
+	}
+
+	private static void addJobs(SearchTask task) {
+		List<JavaClass> classes = Collections.nCopies(CLASSES_COUNT, null);
+		List<Function<List<JavaClass>, ISearchProvider>> providers = new ArrayList<>();
+		providers.add(shardedProvider("cls"));
+		providers.add(shardedProvider("mth"));
+		task.addShardedProviderJobs(classes, providers);
+	}
+
+	private static void fetch(SearchTask task) {
+		task.prepareFetch();
+		ITaskExecutor executor = task.scheduleTasks();
+		executor.setThreadsCount(THREADS);
+		executor.execute();
+		executor.awaitTermination();
+	}
+
+	private static List<String> expectedResults() {
+		List<String> list = new ArrayList<>();
+		for (String name : new String[] { "cls", "mth" }) {
+			for (int shard = 0; shard < SHARDS; shard++) {
+				for (int i = 0; i < RESULTS_PER_SHARD; i++) {
+					list.add(name + ':' + shard + ':' + i);
+				}
+			}
+		}
+		return list;
+	}
+
+	private static Function<List<JavaClass>, ISearchProvider> shardedProvider(String name) {
+		AtomicInteger shardNum = new AtomicInteger();
+		return classes -> new TestProvider(name, shardNum.getAndIncrement());
+	}
+
+	private static final class TestProvider implements ISearchProvider {
+		private final String name;
+		private final int shard;
+		private int pos;
+
+		private TestProvider(String name, int shard) {
+			this.name = name;
+			this.shard = shard;
+		}
+
+		@Override
+		public @Nullable JNode next(Cancelable cancelable) {
+			if (cancelable.isCanceled() || pos >= RESULTS_PER_SHARD) {
+				return null;
+			}
+			if (shard == 0) {
+				// make first shard slower to get results from other shards earlier
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return new TextNode(name + ':' + shard + ':' + pos++);
+		}
+
+		@Override
+		public int progress() {
+			return pos;
+		}
+
+		@Override
+		public int total() {
+			return RESULTS_PER_SHARD;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package jadx.gui.utils.cache.code;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.ICodeInfo;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.gui.cache.code.disk.PackedDiskCodeCache;
+import jadx.tests.api.IntegrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedDiskCodeCacheTest extends IntegrationTest {
+
+	@TempDir
+	public Path tempDir;
+
+	@Test
+	public void test() throws IOException {
+		disableCompilation();
+		getArgs().setCodeCache(NoOpCodeCache.INSTANCE);
+		ClassNode clsNode = getClassNode(PackedDiskCodeCacheTest.class);
+		ICodeInfo codeInfo = clsNode.getCode();
+		String clsKey = clsNode.getFullName();
+
+		PackedDiskCodeCache cache = new PackedDiskCodeCache(clsNode.root(), tempDir);
+		cache.add(clsKey, codeInfo);
+		checkCodeInfo(cache.get(clsKey), codeInfo);
+		cache.close();
+
+		// load from index
+		PackedDiskCodeCache reopenedCache = new PackedDiskCodeCache(clsNode.root(), tempDir);
+		assertThat(reopenedCache.contains(clsKey)).isTrue();
+		checkCodeInfo(reopenedCache.get(clsKey), codeInfo);
+		assertThat(reopenedCache.getCode(clsKey)).isEqualTo(codeInfo.getCodeStr());
+
+		// replaced entry removed by compaction on close
+		reopenedCache.add(clsKey, codeInfo);
+		reopenedCache.close();
+
+		PackedDiskCodeCache compactedCache = new PackedDiskCodeCache(clsNode.root(), tempDir);
+		checkCodeInfo(compactedCache.get(clsKey), codeInfo);
+		compactedCache.remove(clsKey);
+		assertThat(compactedCache.contains(clsKey)).isFalse();
+		assertThat(compactedCache.get(clsKey)).isSameAs(ICodeInfo.EMPTY);
+		compactedCache.close();
+	}
+
+	private static void checkCodeInfo(ICodeInfo readCodeInfo, ICodeInfo codeInfo) {
+		assertThat(readCodeInfo).isNotNull();
+		assertThat(readCodeInfo.getCodeStr()).isEqualTo(codeInfo.getCodeStr());
+		assertThat(readCodeInfo.getCodeMetadata().getLineMapping()).isEqualTo(codeInfo.getCodeMetadata().getLineMapping());
+		assertThat(readCodeInfo.getCodeMetadata().getAsMap()).hasSameSizeAs(codeInfo.getCodeMetadata().getAsMap());
+	}
+}
@@ -0,0 +1,40 @@
+package jadx.gui.utils.cache.code.disk;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.gui.cache.code.disk.CacheEntryCodec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheEntryCodecTest {
+
+	@Test
+	public void testCompressed() throws IOException {
+		byte[] data = "public class A {\n}\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+		CacheEntryCodec codec = new CacheEntryCodec(true);
+		byte[] encoded = codec.encode(data);
+		assertThat(encoded.length).isLessThan(data.length);
+		assertThat(codec.decode(encoded)).isEqualTo(data);
+		assertThat(codec.getStats().getCompressionRatio()).isLessThan(1);
+		assertThat(codec.getStats().getDecodeCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testMixedEntries() throws IOException {
+		byte[] data = "class B {}".repeat(50).getBytes(StandardCharsets.UTF_8);
+		byte[] raw = new CacheEntryCodec(false).encode(data);
+		byte[] compressed = new CacheEntryCodec(true).encode(data);
+		CacheEntryCodec codec = new CacheEntryCodec(true);
+		assertThat(codec.decode(raw)).isEqualTo(data);
+		assertThat(codec.decode(compressed)).isEqualTo(data);
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		CacheEntryCodec codec = new CacheEntryCodec(true);
+		assertThat(codec.decode(codec.encode(new byte[0]))).isEmpty();
+	}
+}
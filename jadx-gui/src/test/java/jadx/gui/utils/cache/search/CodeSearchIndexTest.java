@@ -0,0 +1,99 @@
+package jadx.gui.utils.cache.search;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.gui.cache.search.CodeSearchIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeSearchIndexTest {
+	private static final String CODE = "public class A {\n    public void someMethod() {\n        System.out.println(\"Hello\");\n    }\n}\n";
+
+	@TempDir
+	public Path tempDir;
+
+	@Test
+	public void testQuery() {
+		CodeSearchIndex index = new CodeSearchIndex(null);
+		index.add("A", CODE);
+		assertThat(mayContain(index, "A", "someMethod")).isTrue();
+		assertThat(mayContain(index, "A", "SOMEMETHOD")).isTrue();
+		assertThat(mayContain(index, "A", "println(\"hello")).isTrue();
+		assertThat(mayContain(index, "A", "otherMethod")).isFalse();
+		assertThat(mayContain(index, "A", "zzz")).isFalse();
+		// not indexed class
+		assertThat(mayContain(index, "B", "zzz")).isTrue();
+
+		assertThat(CodeSearchIndex.buildQuery("ab")).isNull();
+
+		index.add("A", "class A {}");
+		assertThat(mayContain(index, "A", "someMethod")).isFalse();
+		index.remove("A");
+		assertThat(mayContain(index, "A", "someMethod")).isTrue();
+	}
+
+	@Test
+	public void testSkipClasses() {
+		CodeSearchIndex index = new CodeSearchIndex(null);
+		int count = 1000;
+		for (int i = 0; i < count; i++) {
+			index.add("Cls" + i, buildClassCode(i, i == 500 ? "uniqueMarker" : "value" + i));
+		}
+		List<String> candidates = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			if (mayContain(index, "Cls" + i, "uniqueMarker")) {
+				candidates.add("Cls" + i);
+			}
+		}
+		// not matching classes skipped, only matching class should be checked
+		assertThat(candidates).containsExactly("Cls500");
+		assertThat(index.getSignaturesBytes()).isLessThan(count * 64L);
+	}
+
+	@Test
+	public void testBigClass() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10_000; i++) {
+			sb.append("field").append(i).append(" = ").append(Integer.toString(i * 7919, 36)).append("();\n");
+		}
+		CodeSearchIndex index = new CodeSearchIndex(null);
+		index.add("Big", sb.toString());
+		assertThat(index.contains("Big")).isTrue();
+		// too many trigrams, class code should always be checked
+		assertThat(index.getSignaturesBytes()).isZero();
+		assertThat(mayContain(index, "Big", "field9999 = ")).isTrue();
+		assertThat(mayContain(index, "Big", "zzz")).isTrue();
+	}
+
+	@Test
+	public void testSaveAndLoad() {
+		CodeSearchIndex index = new CodeSearchIndex(tempDir);
+		index.add("A", CODE);
+		index.close();
+
+		CodeSearchIndex loadedIndex = new CodeSearchIndex(tempDir);
+		assertThat(loadedIndex.contains("A")).isTrue();
+		assertThat(mayContain(loadedIndex, "A", "someMethod")).isTrue();
+		assertThat(mayContain(loadedIndex, "A", "otherMethod")).isFalse();
+
+		// index file removed until next save
+		CodeSearchIndex notSavedIndex = new CodeSearchIndex(tempDir);
+		assertThat(notSavedIndex.size()).isZero();
+		loadedIndex.close();
+		assertThat(tempDir).isNotEmptyDirectory();
+	}
+
+	private static String buildClassCode(int num, String str) {
+		return "public class Cls" + num + " {\n    private int field" + num + ";\n\n"
+				+ "    public void method" + num + "() {\n        call(\"" + str + "\");\n    }\n}\n";
+	}
+
+	private static boolean mayContain(CodeSearchIndex index, String cls, String searchStr) {
+		return index.mayContain(cls, CodeSearchIndex.buildQuery(searchStr));
+	}
+}
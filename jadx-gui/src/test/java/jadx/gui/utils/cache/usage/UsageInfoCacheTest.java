@@ -0,0 +1,84 @@
+package jadx.gui.utils.cache.usage;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.usage.IUsageInfoData;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.gui.cache.usage.UsageInfoCache;
+import jadx.tests.api.IntegrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsageInfoCacheTest extends IntegrationTest {
+
+	@SuppressWarnings("unused")
+	public static class TestCls {
+		private int field;
+
+		public void use() {
+			field = new Inner().get();
+		}
+
+		public static class Inner {
+			public int get() {
+				return 1;
+			}
+		}
+	}
+
+	@TempDir
+	public Path tempDir;
+
+	@Test
+	public void test() {
+		disableCompilation();
+		ClassNode cls = getClassNode(TestCls.class);
+		RootNode root = cls.root();
+		ClassNode innerCls = cls.getInnerClasses().get(0);
+		MethodNode getMth = innerCls.searchMethodByShortId("get()I");
+		FieldNode field = cls.searchFieldByShortId("field:I");
+		List<ClassNode> innerUseIn = innerCls.getUseIn();
+		List<MethodNode> getMthUseIn = getMth.getUseIn();
+		List<MethodNode> fieldUseIn = field.getUseIn();
+		assertThat(getMthUseIn).isNotEmpty();
+		assertThat(fieldUseIn).isNotEmpty();
+
+		List<File> inputs = root.getArgs().getInputFiles();
+		IUsageInfoData usageInfo = root.getArgs().getUsageInfoCache().get(root);
+		assertThat(usageInfo).isNotNull();
+		UsageInfoCache cache = new UsageInfoCache(tempDir, inputs);
+		cache.set(root, usageInfo);
+		cache.close();
+
+		UsageInfoCache loadedCache = new UsageInfoCache(tempDir, inputs);
+		IUsageInfoData loadedInfo = loadedCache.get(root);
+		assertThat(loadedInfo).isNotNull();
+
+		innerCls.setUseIn(List.of());
+		getMth.setUseIn(List.of());
+		field.setUseIn(List.of());
+		loadedInfo.applyForClass(cls);
+		loadedInfo.applyForClass(innerCls);
+		assertThat(innerCls.getUseIn()).isEqualTo(innerUseIn);
+		assertThat(getMth.getUseIn()).isEqualTo(getMthUseIn);
+		assertThat(field.getUseIn()).isEqualTo(fieldUseIn);
+
+		// methods and fields usage lists resolved on first access to elements
+		innerCls.setUseIn(List.of());
+		getMth.setUseIn(List.of());
+		field.setUseIn(List.of());
+		loadedInfo.apply();
+		assertThat(innerCls.getUseIn()).isEqualTo(innerUseIn);
+		assertThat(getMth.getUseIn()).isEqualTo(getMthUseIn);
+		assertThat(field.getUseIn()).isEqualTo(fieldUseIn);
+		loadedCache.close();
+	}
+}
@@ -6,7 +6,11 @@
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -62,6 +66,9 @@ private List<DexReader> load(@Nullable File file, InputStream inputStream, Strin
 			}
 			if (isStartWithBytes(magic, DexConsts.DEX_FILE_MAGIC) || fileName.endsWith(".dex")) {
 				in.reset();
+				if (options.isUseMmap()) {
+					return Collections.singletonList(loadMappedDexReader(file, in, fileName));
+				}
 				byte[] content = readAllBytes(in);
 				DexReader dexReader = loadDexReader(fileName, content);
 				return Collections.singletonList(dexReader);
@@ -83,6 +90,41 @@ public DexReader loadDexReader(String fileName, byte[] content) {
 		return new DexReader(getNextUniqId(), fileName, content);
 	}
 
+	public DexReader loadDexReader(String fileName, ByteBuffer content) {
+		if (options.isVerifyChecksum()) {
+			DexCheckSum.verify(content, fileName);
+		}
+		return new DexReader(getNextUniqId(), fileName, content);
+	}
+
+	/**
+	 * Map dex file into memory to keep content out of heap.
+	 * Zip entries saved into temp file first, file removed right after mapping.
+	 */
+	private DexReader loadMappedDexReader(@Nullable File file, InputStream in, String fileName) throws IOException {
+		if (file != null) {
+			return loadDexReader(fileName, mapFile(file.toPath()));
+		}
+		Path tempFile = CommonFileUtils.saveToTempFile(in, ".dex");
+		try {
+			return loadDexReader(fileName, mapFile(tempFile));
+		} finally {
+			try {
+				Files.deleteIfExists(tempFile);
+			} catch (Exception e) {
+				// can't delete mapped file on some systems
+				tempFile.toFile().deleteOnExit();
+			}
+		}
+	}
+
+	private static ByteBuffer mapFile(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// mapping stays valid after channel close
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
 	private List<DexReader> collectDexFromZip(File file) {
 		List<DexReader> result = new ArrayList<>();
 		try {
@@ -5,6 +5,7 @@
 public class DexInputOptions extends BasePluginOptionsBuilder {
 
 	private boolean verifyChecksum;
+	private boolean useMmap;
 
 	@Override
 	public void registerOptions() {
@@ -12,9 +13,17 @@ public void registerOptions() {
 				.description("verify dex file checksum before load")
 				.defaultValue(true)
 				.setter(v -> verifyChecksum = v);
+		boolOption(DexInputPlugin.PLUGIN_ID + ".mmap")
+				.description("memory map dex files instead of loading into heap")
+				.defaultValue(false)
+				.setter(v -> useMmap = v);
 	}
 
 	public boolean isVerifyChecksum() {
 		return verifyChecksum;
 	}
+
+	public boolean isUseMmap() {
+		return useMmap;
+	}
 }
@@ -1,5 +1,6 @@
 package jadx.plugins.input.dex;
 
+import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
@@ -15,11 +16,30 @@ public class DexReader {
 	private final ByteBuffer buf;
 	private final DexHeader header;
 
+	/**
+	 * Decoded types indexed by type id
+	 */
+	private final String[] typesCache;
+
+	/**
+	 * Decoded strings indexed by string id.
+	 * Strings pool can be big, so cache can be released by GC on memory pressure.
+	 */
+	private volatile SoftReference<String[]> stringsCacheRef = new SoftReference<>(null);
+
 	public DexReader(int uniqId, String inputFileName, byte[] content) {
+		this(uniqId, inputFileName, ByteBuffer.wrap(content));
+	}
+
+	/**
+	 * @param buf dex file content, can be a direct (memory mapped) buffer
+	 */
+	public DexReader(int uniqId, String inputFileName, ByteBuffer buf) {
 		this.uniqId = uniqId;
 		this.inputFileName = inputFileName;
-		this.buf = ByteBuffer.wrap(content);
+		this.buf = buf;
 		this.header = new DexHeader(new SectionReader(this, 0));
+		this.typesCache = new String[header.getTypeIdsSize()];
 	}
 
 	public void visitClasses(Consumer<IClassData> consumer) {
@@ -41,10 +61,44 @@ public ByteBuffer getBuf() {
 		return buf;
 	}
 
+	/**
+	 * Dex file content as byte array (copy will be created for direct buffer)
+	 */
+	public byte[] getContent() {
+		if (buf.hasArray() && buf.arrayOffset() == 0) {
+			return buf.array();
+		}
+		ByteBuffer dupBuf = buf.duplicate();
+		dupBuf.position(0);
+		byte[] content = new byte[dupBuf.limit()];
+		dupBuf.get(content);
+		return content;
+	}
+
 	public DexHeader getHeader() {
 		return header;
 	}
 
+	/**
+	 * Lazily filled types cache, shared between threads.
+	 * Concurrent fill is safe because equal immutable strings stored at same index.
+	 */
+	public String[] getTypesCache() {
+		return typesCache;
+	}
+
+	/**
+	 * Lazily filled strings cache, shared between threads (see {@link #getTypesCache()})
+	 */
+	public String[] getStringsCache() {
+		String[] cache = stringsCacheRef.get();
+		if (cache == null) {
+			cache = new String[header.getStringIdsSize()];
+			stringsCacheRef = new SoftReference<>(cache);
+		}
+		return cache;
+	}
+
 	public String getInputFileName() {
 		return inputFileName;
 	}
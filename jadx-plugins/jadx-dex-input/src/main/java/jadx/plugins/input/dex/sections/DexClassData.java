@@ -207,7 +207,7 @@ public int getClassDefOffset() {
 
 	@Override
 	public String getDisassembledCode() {
-		byte[] dexBuf = in.getDexReader().getBuf().array();
+		byte[] dexBuf = in.getDexReader().getContent();
 		return SmaliUtils.getSmaliCode(dexBuf, getClassDefOffset());
 	}
 
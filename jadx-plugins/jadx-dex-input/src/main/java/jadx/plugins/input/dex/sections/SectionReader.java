@@ -159,6 +159,19 @@ public String getType(int idx) {
 		if (idx == NO_INDEX) {
 			return null;
 		}
+		String[] typesCache = dexReader.getTypesCache();
+		if (idx < typesCache.length) {
+			String type = typesCache[idx];
+			if (type == null) {
+				type = decodeType(idx);
+				typesCache[idx] = type;
+			}
+			return type;
+		}
+		return decodeType(idx);
+	}
+
+	private String decodeType(int idx) {
 		int typeIdsOff = dexReader.getHeader().getTypeIdsOff();
 		absPos(typeIdsOff + idx * 4);
 		int strIdx = readInt();
@@ -170,7 +183,19 @@ public String getString(int idx) {
 		if (idx == NO_INDEX) {
 			return null;
 		}
-		// TODO: make string pool cache?
+		String[] stringsCache = dexReader.getStringsCache();
+		if (idx < stringsCache.length) {
+			String str = stringsCache[idx];
+			if (str == null) {
+				str = decodeString(idx);
+				stringsCache[idx] = str;
+			}
+			return str;
+		}
+		return decodeString(idx);
+	}
+
+	private String decodeString(int idx) {
 		int stringIdsOff = dexReader.getHeader().getStringIdsOff();
 		absPos(stringIdsOff + idx * 4);
 		int strOff = readInt();
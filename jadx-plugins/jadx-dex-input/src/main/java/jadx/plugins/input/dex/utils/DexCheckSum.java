@@ -10,13 +10,19 @@
 public class DexCheckSum {
 
 	public static void verify(byte[] content, String fileName) {
-		int len = content.length;
+		verify(ByteBuffer.wrap(content), fileName);
+	}
+
+	public static void verify(ByteBuffer content, String fileName) {
+		ByteBuffer buf = content.duplicate().order(LITTLE_ENDIAN);
+		int len = buf.limit();
 		if (len < 12) {
 			throw new DexException("Dex file truncated, length: " + len + ", file: " + fileName);
 		}
-		int checksum = ByteBuffer.wrap(content, 8, 4).order(LITTLE_ENDIAN).getInt();
+		int checksum = buf.getInt(8);
+		buf.position(12);
 		Adler32 adler32 = new Adler32();
-		adler32.update(content, 12, len - 12);
+		adler32.update(buf);
 		int fileChecksum = (int) (adler32.getValue());
 		if (checksum != fileChecksum) {
 			throw new DexException(String.format("Bad dex file checksum: 0x%08x, expected: 0x%08x, file: %s",
@@ -3,8 +3,10 @@
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@
 import jadx.api.plugins.input.data.AccessFlags;
 import jadx.api.plugins.input.data.AccessFlagsScope;
 import jadx.api.plugins.input.data.ICodeReader;
+import jadx.plugins.input.dex.sections.SectionReader;
 import jadx.plugins.input.dex.utils.SmaliTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +37,49 @@ public void loadTestSmali() throws Exception {
 		processFile(SmaliTestUtils.compileSmaliFromResource("samples/test.smali"));
 	}
 
+	@Test
+	public void loadWithMmap() throws Exception {
+		for (String sample : List.of("samples/app-with-fake-dex.apk", "samples/hello.dex")) {
+			List<Path> files = Collections.singletonList(Paths.get(ClassLoader.getSystemResource(sample).toURI()));
+			List<String> expected = collectClasses(new DexFileLoader(buildOptions(false)).collectDexFiles(files));
+			List<DexReader> mappedReaders = new DexFileLoader(buildOptions(true)).collectDexFiles(files);
+			assertThat(mappedReaders).allMatch(dexReader -> dexReader.getBuf().isDirect());
+			assertThat(collectClasses(mappedReaders)).isNotEmpty().isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void stringsCache() throws Exception {
+		List<Path> files = Collections.singletonList(Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI()));
+		List<DexReader> dexReaders = new DexFileLoader(buildOptions(false)).collectDexFiles(files);
+		List<String> expected = collectClasses(dexReaders);
+		assertThat(collectClasses(dexReaders)).isNotEmpty().isEqualTo(expected);
+
+		DexReader dexReader = dexReaders.get(0);
+		SectionReader in = new SectionReader(dexReader, 0);
+		String type = in.getType(0);
+		assertThat(type).isNotNull();
+		assertThat(in.getType(0)).isSameAs(type);
+		assertThat(dexReader.getTypesCache()[0]).isSameAs(type);
+	}
+
+	private static DexInputOptions buildOptions(boolean useMmap) {
+		DexInputOptions options = new DexInputOptions();
+		options.setOptions(Map.of(DexInputPlugin.PLUGIN_ID + ".mmap", useMmap ? "yes" : "no"));
+		return options;
+	}
+
+	private static List<String> collectClasses(List<DexReader> dexReaders) {
+		List<String> list = new ArrayList<>();
+		for (DexReader dexReader : dexReaders) {
+			dexReader.visitClasses(cls -> {
+				list.add(cls.getType());
+				cls.visitFieldsAndMethods(fld -> list.add(fld.toString()), mth -> list.add(mth.disassembleMethod()));
+			});
+		}
+		return list;
+	}
+
 	private static void processFile(Path sample) throws IOException {
 		System.out.println("Input file: " + sample.toAbsolutePath());
 		long start = System.currentTimeMillis();
@@ -1,6 +1,8 @@
 package jadx.api.plugins.input;
 
 import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 import jadx.api.plugins.input.data.IClassData;
@@ -10,4 +12,14 @@ public interface ICodeLoader extends Closeable {
 	void visitClasses(Consumer<IClassData> consumer);
 
 	boolean isEmpty();
+
+	/**
+	 * Split loader into independent parts, which can be visited concurrently.
+	 * <br>
+	 * Parts share resources with this loader, so only this loader should be closed.
+	 * Default implementation don't support splitting and return only this loader.
+	 */
+	default List<ICodeLoader> split() {
+		return Collections.singletonList(this);
+	}
 }
@@ -0,0 +1,188 @@
+package jadx.plugins.input.javaconvert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Disk cache for converted dex files.
+ * Key is a hash of original input files content and convert options,
+ * so cache checked before any unpacking or repacking of input jars.
+ * Least recently used entries removed if entries count exceed limit.
+ */
+public class ConvertCache {
+	private static final Logger LOG = LoggerFactory.getLogger(ConvertCache.class);
+
+	/**
+	 * Increment on changes in conversion to invalidate old entries
+	 */
+	private static final int CACHE_VERSION = 2;
+
+	private static final int MAX_ENTRIES = 64;
+
+	private static final String TMP_DIR_SUFFIX = ".tmp-";
+
+	private final Path cacheDir;
+	private final String optionsKey;
+	private final int maxEntries;
+
+	public ConvertCache(Path cacheDir, JavaConvertOptions options) {
+		this(cacheDir, options, MAX_ENTRIES);
+	}
+
+	ConvertCache(Path cacheDir, JavaConvertOptions options, int maxEntries) {
+		this.cacheDir = cacheDir;
+		this.maxEntries = maxEntries;
+		this.optionsKey = "v" + CACHE_VERSION
+				+ '-' + options.getMode().name().toLowerCase(Locale.ROOT)
+				+ (options.isD8Desugar() ? "-desugar" : "");
+	}
+
+	/**
+	 * Build key for all dex files converted from provided input files (including nested jars)
+	 */
+	public String buildKey(List<Path> inputFiles) throws IOException {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			byte[] buffer = new byte[64 * 1024];
+			for (Path inputFile : inputFiles) {
+				try (InputStream in = Files.newInputStream(inputFile)) {
+					while (true) {
+						int len = in.read(buffer);
+						if (len == -1) {
+							break;
+						}
+						md.update(buffer, 0, len);
+					}
+				}
+			}
+			return FileUtils.bytesToHex(md.digest()) + '-' + optionsKey;
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException("Failed to build hash for files: " + inputFiles, e);
+		}
+	}
+
+	/**
+	 * Return cached dex files or null if not found
+	 */
+	public @Nullable List<Path> get(String key) {
+		Path entryDir = cacheDir.resolve(key);
+		if (!Files.isDirectory(entryDir)) {
+			return null;
+		}
+		try {
+			List<Path> files = JavaConvertLoader.collectFilesInDir(entryDir);
+			if (files.isEmpty()) {
+				return null;
+			}
+			files.sort(Comparator.comparing(Path::getFileName));
+			touch(entryDir);
+			return files;
+		} catch (Exception e) {
+			LOG.warn("Failed to read convert cache entry: {}", entryDir, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Copy dex files into cache, entry directory published by atomic move
+	 * so concurrent or interrupted writes never visible as partial entry.
+	 * Files order preserved by index prefix in file names.
+	 */
+	public void put(String key, List<Path> dexFiles) {
+		Path entryDir = cacheDir.resolve(key);
+		Path tmpDir = null;
+		try {
+			Files.createDirectories(cacheDir);
+			tmpDir = Files.createTempDirectory(cacheDir, key + TMP_DIR_SUFFIX);
+			int count = dexFiles.size();
+			for (int i = 0; i < count; i++) {
+				Path dexFile = dexFiles.get(i);
+				String fileName = String.format("%04d-%s", i, dexFile.getFileName());
+				Files.copy(dexFile, tmpDir.resolve(fileName));
+			}
+			Files.move(tmpDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+			tmpDir = null;
+		} catch (Exception e) {
+			if (!Files.isDirectory(entryDir)) {
+				LOG.warn("Failed to save converted files to cache: {}", entryDir, e);
+			}
+		} finally {
+			if (tmpDir != null) {
+				FileUtils.deleteDirIfExists(tmpDir);
+			}
+		}
+		evict();
+	}
+
+	private void evict() {
+		List<Path> entries;
+		try (Stream<Path> pathStream = Files.list(cacheDir)) {
+			entries = pathStream
+					.filter(Files::isDirectory)
+					.filter(p -> !p.getFileName().toString().contains(TMP_DIR_SUFFIX))
+					.collect(Collectors.toList());
+		} catch (Exception e) {
+			LOG.warn("Failed to list convert cache dir: {}", cacheDir, e);
+			return;
+		}
+		int removeCount = entries.size() - maxEntries;
+		if (removeCount <= 0) {
+			return;
+		}
+		List<EntryInfo> entriesInfo = new ArrayList<>(entries.size());
+		for (Path entry : entries) {
+			entriesInfo.add(new EntryInfo(entry, getLastModifiedTime(entry)));
+		}
+		entriesInfo.sort(Comparator.comparingLong(e -> e.lastUse));
+		for (int i = 0; i < removeCount; i++) {
+			Path entryDir = entriesInfo.get(i).dir;
+			LOG.debug("Remove convert cache entry: {}", entryDir);
+			FileUtils.deleteDirIfExists(entryDir);
+		}
+	}
+
+	private static void touch(Path entryDir) {
+		try {
+			Files.setLastModifiedTime(entryDir, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (Exception e) {
+			LOG.debug("Failed to update convert cache entry time: {}", entryDir, e);
+		}
+	}
+
+	private static long getLastModifiedTime(Path path) {
+		try {
+			return Files.getLastModifiedTime(path).toMillis();
+		} catch (Exception e) {
+			return 0;
+		}
+	}
+
+	private static final class EntryInfo {
+		private final Path dir;
+		private final long lastUse;
+
+		private EntryInfo(Path dir, long lastUse) {
+			this.dir = dir;
+			this.lastUse = lastUse;
+		}
+	}
+}
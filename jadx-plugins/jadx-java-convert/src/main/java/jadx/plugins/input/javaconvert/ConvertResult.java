@@ -19,24 +19,24 @@ public class ConvertResult implements Closeable {
 	private final List<Path> converted = new ArrayList<>();
 	private final List<Path> tmpPaths = new ArrayList<>();
 
-	public List<Path> getConverted() {
+	public synchronized List<Path> getConverted() {
 		return converted;
 	}
 
-	public void addConvertedFiles(List<Path> paths) {
+	public synchronized void addConvertedFiles(List<Path> paths) {
 		converted.addAll(paths);
 	}
 
-	public void addTempPath(Path path) {
+	public synchronized void addTempPath(Path path) {
 		tmpPaths.add(path);
 	}
 
-	public boolean isEmpty() {
+	public synchronized boolean isEmpty() {
 		return converted.isEmpty();
 	}
 
 	@Override
-	public void close() {
+	public synchronized void close() {
 		for (Path tmpPath : tmpPaths) {
 			try {
 				delete(tmpPath);
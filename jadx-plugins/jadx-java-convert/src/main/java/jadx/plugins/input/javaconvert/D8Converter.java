@@ -1,6 +1,7 @@
 package jadx.plugins.input.javaconvert;
 
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,7 +17,12 @@
 public class D8Converter {
 	private static final Logger LOG = LoggerFactory.getLogger(D8Converter.class);
 
-	public static void run(Path path, Path tempDirectory, JavaConvertOptions options) throws CompilationFailedException {
+	/**
+	 * Run D8 on provided executor, so concurrent conversions share the same threads
+	 * instead of starting a new thread pool for each run
+	 */
+	public static void run(Path path, Path tempDirectory, JavaConvertOptions options,
+			ExecutorService executor) throws CompilationFailedException {
 		D8Command d8Command = D8Command.builder(new LogHandler())
 				.addProgramFiles(path)
 				.setOutput(tempDirectory, OutputMode.DexIndexed)
@@ -25,7 +31,7 @@ public static void run(Path path, Path tempDirectory, JavaConvertOptions options
 				.setIntermediate(true)
 				.setDisableDesugaring(!options.isD8Desugar())
 				.build();
-		D8.run(d8Command);
+		D8.run(d8Command, executor);
 	}
 
 	private static class LogHandler implements DiagnosticsHandler {
@@ -6,14 +6,21 @@
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
 import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,33 +31,55 @@ public class JavaConvertLoader {
 	private static final Logger LOG = LoggerFactory.getLogger(JavaConvertLoader.class);
 
 	private final JavaConvertOptions options;
+	private int threadsCount = 1;
 
 	public JavaConvertLoader(JavaConvertOptions options) {
 		this.options = options;
 	}
 
+	public void setThreadsCount(int threadsCount) {
+		this.threadsCount = Math.max(1, threadsCount);
+	}
+
+	/**
+	 * Jars collected and repacked sequentially, conversions to dex run in parallel.
+	 * Converted files added to result in collect order, so loading order stays stable.
+	 * D8 runs share one separate pool: D8 splits work into tasks and waits for them,
+	 * so it can't use convert pool without risk of deadlock.
+	 */
 	public ConvertResult process(List<Path> input) {
 		ConvertResult result = new ConvertResult();
-		processJars(input, result);
-		processAars(input, result);
-		processClassFiles(input, result);
+		ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+		ExecutorService d8Executor = Executors.newFixedThreadPool(threadsCount);
+		try {
+			ConvertTasks tasks = new ConvertTasks(result, executor, d8Executor, buildCache());
+			processJars(input, tasks);
+			processAars(input, tasks);
+			processClassFiles(input, tasks);
+			tasks.waitAll();
+		} finally {
+			executor.shutdownNow();
+			d8Executor.shutdownNow();
+		}
 		return result;
 	}
 
-	private void processJars(List<Path> input, ConvertResult result) {
+	private @Nullable ConvertCache buildCache() {
+		String cacheDir = options.getCacheDir();
+		if (cacheDir == null || cacheDir.isEmpty()) {
+			return null;
+		}
+		return new ConvertCache(Paths.get(cacheDir), options);
+	}
+
+	private void processJars(List<Path> input, ConvertTasks tasks) {
 		PathMatcher jarMatcher = FileSystems.getDefault().getPathMatcher("glob:**.jar");
 		input.stream()
 				.filter(jarMatcher::matches)
-				.forEach(path -> {
-					try {
-						convertJar(result, path);
-					} catch (Exception e) {
-						LOG.error("Failed to convert file: {}", path.toAbsolutePath(), e);
-					}
-				});
+				.forEach(path -> processInput(tasks, Collections.singletonList(path), () -> convertJar(tasks, path)));
 	}
 
-	private void processClassFiles(List<Path> input, ConvertResult result) {
+	private void processClassFiles(List<Path> input, ConvertTasks tasks) {
 		PathMatcher jarMatcher = FileSystems.getDefault().getPathMatcher("glob:**.class");
 		List<Path> clsFiles = input.stream()
 				.filter(jarMatcher::matches)
@@ -58,7 +87,7 @@ private void processClassFiles(List<Path> input, ConvertResult result) {
 		if (clsFiles.isEmpty()) {
 			return;
 		}
-		try {
+		processInput(tasks, clsFiles, () -> {
 			LOG.debug("Converting class files ...");
 			Path jarFile = Files.createTempFile("jadx-", ".jar");
 			try (JarOutputStream jo = new JarOutputStream(Files.newOutputStream(jarFile))) {
@@ -70,41 +99,64 @@ private void processClassFiles(List<Path> input, ConvertResult result) {
 					addFileToJar(jo, file, clsName + ".class");
 				}
 			}
-			result.addTempPath(jarFile);
+			tasks.result.addTempPath(jarFile);
 			LOG.debug("Packed {} class files into jar: {}", clsFiles.size(), jarFile);
-			convertJar(result, jarFile);
-		} catch (Exception e) {
-			LOG.error("Error process class files", e);
-		}
+			convertJar(tasks, jarFile);
+		});
 	}
 
-	private void processAars(List<Path> input, ConvertResult result) {
+	private void processAars(List<Path> input, ConvertTasks tasks) {
 		PathMatcher aarMatcher = FileSystems.getDefault().getPathMatcher("glob:**.aar");
 		input.stream()
 				.filter(aarMatcher::matches)
-				.forEach(path -> ZipSecurity.readZipEntries(path.toFile(), (entry, in) -> {
-					try {
-						String entryName = entry.getName();
-						if (entryName.endsWith(".jar")) {
-							Path tempJar = CommonFileUtils.saveToTempFile(in, ".jar");
-							result.addTempPath(tempJar);
-							LOG.debug("Loading jar: {} ...", entryName);
-							convertJar(result, tempJar);
-						}
-					} catch (Exception e) {
-						LOG.error("Failed to process zip entry: {}", entry, e);
-					}
-				}));
+				.forEach(path -> processInput(tasks, Collections.singletonList(path),
+						() -> ZipSecurity.readZipEntries(path.toFile(), (entry, in) -> {
+							try {
+								String entryName = entry.getName();
+								if (entryName.endsWith(".jar")) {
+									Path tempJar = CommonFileUtils.saveToTempFile(in, ".jar");
+									tasks.result.addTempPath(tempJar);
+									LOG.debug("Loading jar: {} ...", entryName);
+									convertJar(tasks, tempJar);
+								}
+							} catch (Exception e) {
+								tasks.current().markFailed();
+								LOG.error("Failed to process zip entry: {}", entry, e);
+							}
+						})));
 	}
 
-	private void convertJar(ConvertResult result, Path path) throws Exception {
-		if (repackAndConvertJar(result, path)) {
+	/**
+	 * Collect conversions for one input. All dex files converted from input (including nested jars)
+	 * stored in cache as one entry, so cache hit skips unpacking and repacking of input.
+	 */
+	private void processInput(ConvertTasks tasks, List<Path> files, InputProcessor processor) {
+		InputConvert inputConvert = tasks.startInput(files);
+		if (inputConvert.cachedFiles != null) {
+			LOG.debug("Loaded {} dex files from cache for {}", inputConvert.cachedFiles.size(), files);
 			return;
 		}
-		convertSimpleJar(result, path);
+		try {
+			processor.process();
+		} catch (Exception e) {
+			inputConvert.markFailed();
+			LOG.error("Failed to convert files: {}", files, e);
+		}
+	}
+
+	@FunctionalInterface
+	private interface InputProcessor {
+		void process() throws Exception;
 	}
 
-	private boolean repackAndConvertJar(ConvertResult result, Path path) throws Exception {
+	private void convertJar(ConvertTasks tasks, Path path) throws Exception {
+		if (repackAndConvertJar(tasks, path)) {
+			return;
+		}
+		convertSimpleJar(tasks, path);
+	}
+
+	private boolean repackAndConvertJar(ConvertTasks tasks, Path path) throws Exception {
 		// check if jar need a full repackage
 		Boolean repackNeeded = ZipSecurity.visitZipEntries(path.toFile(), (zipFile, zipEntry) -> {
 			String entryName = zipEntry.getName();
@@ -129,7 +181,7 @@ private boolean repackAndConvertJar(ConvertResult result, Path path) throws Exce
 		}
 		LOG.debug("Repacking jar file: {} ...", path.toAbsolutePath());
 		Path jarFile = Files.createTempFile("jadx-classes-", ".jar");
-		result.addTempPath(jarFile);
+		tasks.result.addTempPath(jarFile);
 		try (JarOutputStream jo = new JarOutputStream(Files.newOutputStream(jarFile))) {
 			ZipSecurity.readZipEntries(path.toFile(), (entry, in) -> {
 				try {
@@ -148,63 +200,81 @@ private boolean repackAndConvertJar(ConvertResult result, Path path) throws Exce
 						addJarEntry(jo, clsName + ".class", clsFileContent, entry.getLastModifiedTime());
 					} else if (entryName.endsWith(".jar")) {
 						Path tempJar = CommonFileUtils.saveToTempFile(in, ".jar");
-						result.addTempPath(tempJar);
-						convertJar(result, tempJar);
+						tasks.result.addTempPath(tempJar);
+						convertJar(tasks, tempJar);
 					}
 				} catch (Exception e) {
+					tasks.current().markFailed();
 					LOG.error("Failed to process jar entry: {} in {}", entry, path, e);
 				}
 			});
 		}
-		convertSimpleJar(result, jarFile);
+		convertSimpleJar(tasks, jarFile);
 		return true;
 	}
 
-	private void convertSimpleJar(ConvertResult result, Path path) throws Exception {
+	private void convertSimpleJar(ConvertTasks tasks, Path path) {
+		InputConvert inputConvert = tasks.current();
+		inputConvert.add(path, tasks.executor.submit(() -> convertToDex(tasks, inputConvert, path)));
+	}
+
+	private List<Path> convertToDex(ConvertTasks tasks, InputConvert inputConvert, Path path) throws Exception {
 		Path tempDirectory = Files.createTempDirectory("jadx-");
-		result.addTempPath(tempDirectory);
+		tasks.result.addTempPath(tempDirectory);
 		LOG.debug("Converting to dex ...");
-		convert(path, tempDirectory);
+		if (!convert(path, tempDirectory, tasks.d8Executor)) {
+			inputConvert.markFailed();
+		}
 		List<Path> dexFiles = collectFilesInDir(tempDirectory);
 		LOG.debug("Converted {} to {} dex", path.toAbsolutePath(), dexFiles.size());
-		result.addConvertedFiles(dexFiles);
+		return dexFiles;
 	}
 
-	private void convert(Path path, Path tempDirectory) {
+	/**
+	 * @return false if conversion failed
+	 */
+	private boolean convert(Path path, Path tempDirectory, ExecutorService d8Executor) {
 		JavaConvertOptions.Mode mode = options.getMode();
 		switch (mode) {
 			case DX:
 				try {
 					DxConverter.run(path, tempDirectory);
+					return true;
 				} catch (Throwable e) {
 					LOG.error("DX convert failed, path: {}", path, e);
+					return false;
 				}
-				break;
 
 			case D8:
 				try {
-					D8Converter.run(path, tempDirectory, options);
+					D8Converter.run(path, tempDirectory, options, d8Executor);
+					return true;
 				} catch (Throwable e) {
 					LOG.error("D8 convert failed, path: {}", path, e);
+					return false;
 				}
-				break;
 
 			case BOTH:
 				try {
 					DxConverter.run(path, tempDirectory);
+					return true;
 				} catch (Throwable e) {
 					LOG.warn("DX convert failed, trying D8, path: {}", path);
 					try {
-						D8Converter.run(path, tempDirectory, options);
+						D8Converter.run(path, tempDirectory, options, d8Executor);
+						return true;
 					} catch (Throwable ex) {
 						LOG.error("D8 convert failed: {}", ex.getMessage());
+						return false;
 					}
 				}
-				break;
+
+			default:
+				return false;
 		}
 	}
 
-	private static List<Path> collectFilesInDir(Path tempDirectory) throws IOException {
+	static List<Path> collectFilesInDir(Path tempDirectory) throws IOException {
 		PathMatcher dexMatcher = FileSystems.getDefault().getPathMatcher("glob:**.dex");
 		try (Stream<Path> pathStream = Files.walk(tempDirectory, 1)) {
 			return pathStream
@@ -230,4 +300,92 @@ private static void addJarEntry(JarOutputStream jar, String entryName, byte[] co
 		jar.write(content);
 		jar.closeEntry();
 	}
+
+	private static final class ConvertTasks {
+		private final ConvertResult result;
+		private final ExecutorService executor;
+		private final ExecutorService d8Executor;
+		private final @Nullable ConvertCache cache;
+		private final List<InputConvert> inputs = new ArrayList<>();
+
+		private ConvertTasks(ConvertResult result, ExecutorService executor, ExecutorService d8Executor,
+				@Nullable ConvertCache cache) {
+			this.result = result;
+			this.executor = executor;
+			this.d8Executor = d8Executor;
+			this.cache = cache;
+		}
+
+		private InputConvert startInput(List<Path> files) {
+			String cacheKey = null;
+			List<Path> cachedFiles = null;
+			if (cache != null) {
+				try {
+					cacheKey = cache.buildKey(files);
+					cachedFiles = cache.get(cacheKey);
+				} catch (Exception e) {
+					LOG.warn("Failed to build convert cache key for: {}", files, e);
+				}
+			}
+			InputConvert inputConvert = new InputConvert(cacheKey, cachedFiles);
+			inputs.add(inputConvert);
+			return inputConvert;
+		}
+
+		private InputConvert current() {
+			return inputs.get(inputs.size() - 1);
+		}
+
+		private void waitAll() {
+			for (InputConvert input : inputs) {
+				if (input.cachedFiles != null) {
+					result.addConvertedFiles(input.cachedFiles);
+					continue;
+				}
+				List<Path> dexFiles = new ArrayList<>();
+				int count = input.futures.size();
+				for (int i = 0; i < count; i++) {
+					try {
+						dexFiles.addAll(input.futures.get(i).get());
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						LOG.warn("Java convert interrupted");
+						return;
+					} catch (Exception e) {
+						input.markFailed();
+						LOG.error("Failed to convert file: {}", input.paths.get(i).toAbsolutePath(), e);
+					}
+				}
+				result.addConvertedFiles(dexFiles);
+				if (cache != null && input.cacheKey != null && !input.failed && !dexFiles.isEmpty()) {
+					cache.put(input.cacheKey, dexFiles);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Conversions of one input, dex files put into cache only if all conversions succeed
+	 */
+	private static final class InputConvert {
+		private final @Nullable String cacheKey;
+		private final @Nullable List<Path> cachedFiles;
+		private final List<Path> paths = new ArrayList<>();
+		private final List<Future<List<Path>>> futures = new ArrayList<>();
+		private volatile boolean failed;
+
+		private InputConvert(@Nullable String cacheKey, @Nullable List<Path> cachedFiles) {
+			this.cacheKey = cacheKey;
+			this.cachedFiles = cachedFiles;
+		}
+
+		private void add(Path path, Future<List<Path>> future) {
+			paths.add(path);
+			futures.add(future);
+		}
+
+		private void markFailed() {
+			failed = true;
+		}
+	}
 }
@@ -1,5 +1,7 @@
 package jadx.plugins.input.javaconvert;
 
+import org.jetbrains.annotations.Nullable;
+
 import jadx.api.plugins.options.impl.BasePluginOptionsBuilder;
 
 import static jadx.plugins.input.javaconvert.JavaConvertPlugin.PLUGIN_ID;
@@ -12,6 +14,7 @@ public enum Mode {
 
 	private Mode mode;
 	private boolean d8Desugar;
+	private @Nullable String cacheDir;
 
 	@Override
 	public void registerOptions() {
@@ -24,6 +27,11 @@ public void registerOptions() {
 				.description("use desugar in d8")
 				.defaultValue(false)
 				.setter(v -> d8Desugar = v);
+
+		strOption(PLUGIN_ID + ".cache-dir")
+				.description("directory to cache converted dex files, disabled if not set")
+				.defaultValue(null)
+				.setter(v -> cacheDir = v);
 	}
 
 	public Mode getMode() {
@@ -33,4 +41,8 @@ public Mode getMode() {
 	public boolean isD8Desugar() {
 		return d8Desugar;
 	}
+
+	public @Nullable String getCacheDir() {
+		return cacheDir;
+	}
 }
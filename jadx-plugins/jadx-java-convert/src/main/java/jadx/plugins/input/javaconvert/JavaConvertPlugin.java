@@ -34,6 +34,7 @@ public JadxPluginInfo getPluginInfo() {
 	public void init(JadxPluginContext context) {
 		dexInput = context.plugins().getById(DexInputPlugin.PLUGIN_ID);
 		context.registerOptions(options);
+		loader.setThreadsCount(context.getArgs().getThreadsCount());
 		context.addCodeInput(this);
 	}
 
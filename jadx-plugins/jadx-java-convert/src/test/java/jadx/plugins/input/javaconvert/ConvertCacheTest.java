@@ -0,0 +1,96 @@
+package jadx.plugins.input.javaconvert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConvertCacheTest {
+
+	@TempDir
+	public Path tempDir;
+
+	@Test
+	public void testPutAndGet() throws IOException {
+		Path cacheDir = tempDir.resolve("cache");
+		Path input = writeFile("input.jar", "jar content");
+		List<Path> dexFiles = new ArrayList<>();
+		dexFiles.add(writeFile("out1/classes.dex", "dex1"));
+		dexFiles.add(writeFile("out1/classes2.dex", "dex2"));
+		dexFiles.add(writeFile("out2/classes.dex", "dex3"));
+
+		ConvertCache cache = new ConvertCache(cacheDir, buildOptions(Collections.emptyMap()));
+		String key = cache.buildKey(Collections.singletonList(input));
+		assertThat(cache.get(key)).isNull();
+		cache.put(key, dexFiles);
+		checkContent(cache.get(key), "dex1", "dex2", "dex3");
+
+		// reopen
+		ConvertCache reopenedCache = new ConvertCache(cacheDir, buildOptions(Collections.emptyMap()));
+		String newKey = reopenedCache.buildKey(Collections.singletonList(input));
+		assertThat(newKey).isEqualTo(key);
+		checkContent(reopenedCache.get(newKey), "dex1", "dex2", "dex3");
+
+		// other options
+		ConvertCache d8Cache = new ConvertCache(cacheDir, buildOptions(Collections.singletonMap("java-convert.mode", "d8")));
+		String d8Key = d8Cache.buildKey(Collections.singletonList(input));
+		assertThat(d8Key).isNotEqualTo(key);
+		assertThat(d8Cache.get(d8Key)).isNull();
+
+		// other content
+		Files.write(input, "changed".getBytes(StandardCharsets.UTF_8));
+		String changedKey = reopenedCache.buildKey(Collections.singletonList(input));
+		assertThat(changedKey).isNotEqualTo(key);
+		assertThat(reopenedCache.get(changedKey)).isNull();
+	}
+
+	@Test
+	public void testEviction() throws IOException {
+		Path cacheDir = tempDir.resolve("cache");
+		ConvertCache cache = new ConvertCache(cacheDir, buildOptions(Collections.emptyMap()), 2);
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Path input = writeFile("input" + i + ".jar", "jar" + i);
+			String key = cache.buildKey(Collections.singletonList(input));
+			cache.put(key, Collections.singletonList(writeFile("out" + i + "/classes.dex", "dex" + i)));
+			keys.add(key);
+			// make entry times distinct
+			Files.setLastModifiedTime(cacheDir.resolve(key), FileTime.fromMillis(1000L * (i + 1)));
+		}
+		assertThat(cache.get(keys.get(0))).isNull();
+		checkContent(cache.get(keys.get(1)), "dex1");
+		checkContent(cache.get(keys.get(2)), "dex2");
+	}
+
+	private Path writeFile(String name, String content) throws IOException {
+		Path file = tempDir.resolve(name);
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static JavaConvertOptions buildOptions(Map<String, String> map) {
+		JavaConvertOptions options = new JavaConvertOptions();
+		options.setOptions(map);
+		return options;
+	}
+
+	private static void checkContent(List<Path> files, String... expected) throws IOException {
+		assertThat(files).isNotNull();
+		List<String> content = new ArrayList<>();
+		for (Path file : files) {
+			content.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+		}
+		assertThat(content).containsExactly(expected);
+	}
+}
@@ -8,6 +8,8 @@ public class JavaClassReader {
 	private final String fileName;
 	private final byte[] data;
 
+	private Object[] constPoolCache;
+
 	public JavaClassReader(int id, String fileName, byte[] data) {
 		this.id = id;
 		this.fileName = fileName;
@@ -30,6 +32,19 @@ public byte[] getData() {
 		return data;
 	}
 
+	/**
+	 * Table for lazy decoded constant pool entries (strings, class names, field and method refs).
+	 * Shared between all class data instances loaded from this reader to not decode same constants again.
+	 */
+	public Object[] getConstPoolCache(int size) {
+		Object[] cache = constPoolCache;
+		if (cache == null || cache.length != size) {
+			cache = new Object[size];
+			constPoolCache = cache;
+		}
+		return cache;
+	}
+
 	@Override
 	public String toString() {
 		return fileName;
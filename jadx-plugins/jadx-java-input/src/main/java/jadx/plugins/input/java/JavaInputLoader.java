@@ -10,7 +10,13 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -26,8 +32,21 @@ public class JavaInputLoader {
 	private static final byte[] JAVA_CLASS_FILE_MAGIC = { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE };
 	private static final byte[] ZIP_FILE_MAGIC = { 0x50, 0x4B, 0x03, 0x04 };
 
+	private final int threadsCount;
+
 	private int classUniqId = 1;
 
+	public JavaInputLoader() {
+		this(1);
+	}
+
+	/**
+	 * @param threadsCount zip entries read in parallel if more than one
+	 */
+	public JavaInputLoader(int threadsCount) {
+		this.threadsCount = Math.max(1, threadsCount);
+	}
+
 	public List<JavaClassReader> collectFiles(List<Path> inputFiles) {
 		return inputFiles.stream()
 				.map(Path::toFile)
@@ -38,7 +57,7 @@ public List<JavaClassReader> collectFiles(List<Path> inputFiles) {
 	}
 
 	public List<JavaClassReader> loadInputStream(InputStream in, String name) throws IOException {
-		return loadReader(in, name, null, null);
+		return loadReader(in, name, null);
 	}
 
 	public JavaClassReader loadClass(byte[] content, String fileName) {
@@ -47,37 +66,81 @@ public JavaClassReader loadClass(byte[] content, String fileName) {
 
 	private List<JavaClassReader> loadFromFile(File file) {
 		try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
-			return loadReader(inputStream, file.getName(), file, null);
+			return loadReader(inputStream, file.getName(), file);
 		} catch (Exception e) {
 			LOG.error("File open error: {}", file.getAbsolutePath(), e);
 			return Collections.emptyList();
 		}
 	}
 
-	private List<JavaClassReader> loadReader(InputStream in, String name,
-			@Nullable File file, @Nullable String parentFileName) throws IOException {
+	private List<JavaClassReader> loadReader(InputStream in, String name, @Nullable File file) throws IOException {
 		byte[] magic = new byte[MAX_MAGIC_SIZE];
 		if (in.read(magic) != magic.length) {
 			return Collections.emptyList();
 		}
-		if (isStartWithBytes(magic, JAVA_CLASS_FILE_MAGIC) || name.endsWith(".class")) {
+		if (file != null && !isClassFile(magic, name) && isZipFile(magic, name)) {
+			return collectFromZip(file, name);
+		}
+		return buildReaders(readClassFiles(magic, in, name, null));
+	}
+
+	private static List<ClassFileData> readClassFiles(InputStream in, String name,
+			@Nullable String parentFileName) throws IOException {
+		byte[] magic = new byte[MAX_MAGIC_SIZE];
+		if (in.read(magic) != magic.length) {
+			return Collections.emptyList();
+		}
+		return readClassFiles(magic, in, name, parentFileName);
+	}
+
+	/**
+	 * Read content of class files without creating readers, so it can be done in parallel.
+	 * Nested archives saved into temp files to read entries using sizes from central directory,
+	 * so all zip bomb checks applied.
+	 */
+	private static List<ClassFileData> readClassFiles(byte[] magic, InputStream in, String name,
+			@Nullable String parentFileName) throws IOException {
+		if (isClassFile(magic, name)) {
 			byte[] data = CommonFileUtils.loadBytes(magic, in);
 			String source = concatSource(parentFileName, name);
-			JavaClassReader reader = new JavaClassReader(getNextUniqId(), source, data);
-			return Collections.singletonList(reader);
+			return Collections.singletonList(new ClassFileData(source, data));
 		}
-		if (isStartWithBytes(magic, ZIP_FILE_MAGIC) || CommonFileUtils.isZipFileExt(name)) {
-			if (file != null) {
-				return collectFromZip(file, name);
-			}
+		if (isZipFile(magic, name)) {
 			File zipFile = CommonFileUtils.saveToTempFile(magic, in, ".zip").toFile();
-			List<JavaClassReader> readers = collectFromZip(zipFile, concatSource(parentFileName, name));
-			CommonFileUtils.safeDeleteFile(zipFile);
-			return readers;
+			try {
+				return readNestedZip(zipFile, concatSource(parentFileName, name));
+			} finally {
+				CommonFileUtils.safeDeleteFile(zipFile);
+			}
 		}
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Errors in entries don't discard already read classes
+	 */
+	private static List<ClassFileData> readNestedZip(File zipFile, String zipSource) {
+		List<ClassFileData> result = new ArrayList<>();
+		try {
+			ZipSecurity.readZipEntries(zipFile, (entry, entryIn) -> {
+				if (!skipZipEntry(entry)) {
+					result.addAll(readZipEntry(entry, entryIn, zipSource));
+				}
+			});
+		} catch (Exception e) {
+			LOG.error("Failed to process zip file: {}", zipSource, e);
+		}
+		return result;
+	}
+
+	private static boolean isClassFile(byte[] magic, String name) {
+		return isStartWithBytes(magic, JAVA_CLASS_FILE_MAGIC) || name.endsWith(".class");
+	}
+
+	private static boolean isZipFile(byte[] magic, String name) {
+		return isStartWithBytes(magic, ZIP_FILE_MAGIC) || CommonFileUtils.isZipFileExt(name);
+	}
+
 	private static String concatSource(@Nullable String parentFileName, String name) {
 		if (parentFileName == null) {
 			return name;
@@ -86,18 +149,14 @@ private static String concatSource(@Nullable String parentFileName, String name)
 	}
 
 	private List<JavaClassReader> collectFromZip(File file, String name) {
+		if (threadsCount > 1) {
+			return collectFromZipParallel(file, name);
+		}
 		List<JavaClassReader> result = new ArrayList<>();
 		try {
 			ZipSecurity.readZipEntries(file, (entry, in) -> {
-				try {
-					String entryName = entry.getName();
-					if (entryName.startsWith("META-INF/versions/")) {
-						// skip classes for different java versions
-						return;
-					}
-					result.addAll(loadReader(in, entryName, null, name));
-				} catch (Exception e) {
-					LOG.error("Failed to read zip entry: {}", entry, e);
+				if (!skipZipEntry(entry)) {
+					result.addAll(buildReaders(readZipEntry(entry, in, name)));
 				}
 			});
 		} catch (Exception e) {
@@ -106,6 +165,71 @@ private List<JavaClassReader> collectFromZip(File file, String name) {
 		return result;
 	}
 
+	/**
+	 * Inflate entries in worker threads using random access to zip file.
+	 * Readers created after all entries loaded and in entries order, so uniq ids are the same as in sequential mode.
+	 */
+	private List<JavaClassReader> collectFromZipParallel(File file, String name) {
+		List<JavaClassReader> result = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+		try (ZipFile zip = new ZipFile(file)) {
+			List<ZipEntry> entries = new ArrayList<>();
+			List<Future<List<ClassFileData>>> futures = new ArrayList<>();
+			ZipSecurity.visitZipEntries(zip, (zipFile, entry) -> {
+				if (!entry.isDirectory() && !skipZipEntry(entry)) {
+					entries.add(entry);
+					futures.add(executor.submit(() -> {
+						try (InputStream in = ZipSecurity.getInputStreamForEntry(zipFile, entry)) {
+							return readZipEntry(entry, in, name);
+						}
+					}));
+				}
+				return null;
+			});
+			int count = futures.size();
+			for (int i = 0; i < count; i++) {
+				try {
+					result.addAll(buildReaders(futures.get(i).get()));
+				} catch (ExecutionException e) {
+					LOG.error("Failed to read zip entry: {}", entries.get(i), e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Zip file processing interrupted: {}", name);
+		} catch (Exception e) {
+			LOG.error("Failed to process zip file: {}", name, e);
+		} finally {
+			executor.shutdownNow();
+		}
+		return result;
+	}
+
+	private static List<ClassFileData> readZipEntry(ZipEntry entry, InputStream in, String zipSource) {
+		try {
+			return readClassFiles(in, entry.getName(), zipSource);
+		} catch (Exception e) {
+			LOG.error("Failed to read zip entry: {}", entry, e);
+			return Collections.emptyList();
+		}
+	}
+
+	private static boolean skipZipEntry(ZipEntry entry) {
+		// skip classes for different java versions
+		return entry.getName().startsWith("META-INF/versions/");
+	}
+
+	private List<JavaClassReader> buildReaders(List<ClassFileData> list) {
+		if (list.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<JavaClassReader> readers = new ArrayList<>(list.size());
+		for (ClassFileData clsData : list) {
+			readers.add(new JavaClassReader(getNextUniqId(), clsData.source, clsData.data));
+		}
+		return readers;
+	}
+
 	public static boolean isStartWithBytes(byte[] fileMagic, byte[] expectedBytes) {
 		int len = expectedBytes.length;
 		if (fileMagic.length < len) {
@@ -122,4 +246,14 @@ public static boolean isStartWithBytes(byte[] fileMagic, byte[] expectedBytes) {
 	private int getNextUniqId() {
 		return classUniqId++;
 	}
+
+	private static final class ClassFileData {
+		private final String source;
+		private final byte[] data;
+
+		private ClassFileData(String source, byte[] data) {
+			this.source = source;
+			this.data = data;
+		}
+	}
 }
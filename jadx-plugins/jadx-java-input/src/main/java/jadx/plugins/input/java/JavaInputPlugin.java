@@ -25,7 +25,8 @@ public JadxPluginInfo getPluginInfo() {
 
 	@Override
 	public void init(JadxPluginContext context) {
-		context.addCodeInput(JavaInputPlugin::loadClassFiles);
+		int threadsCount = context.getArgs().getThreadsCount();
+		context.addCodeInput(inputFiles -> loadClassFiles(inputFiles, threadsCount));
 	}
 
 	public static ICodeLoader loadClassFiles(List<Path> inputFiles) {
@@ -33,7 +34,18 @@ public static ICodeLoader loadClassFiles(List<Path> inputFiles) {
 	}
 
 	public static ICodeLoader loadClassFiles(List<Path> inputFiles, @Nullable Closeable closeable) {
-		List<JavaClassReader> readers = new JavaInputLoader().collectFiles(inputFiles);
+		return loadClassFiles(inputFiles, closeable, 1);
+	}
+
+	/**
+	 * Load class files and jars, read zip entries using {@code threadsCount} threads
+	 */
+	public static ICodeLoader loadClassFiles(List<Path> inputFiles, int threadsCount) {
+		return loadClassFiles(inputFiles, null, threadsCount);
+	}
+
+	private static ICodeLoader loadClassFiles(List<Path> inputFiles, @Nullable Closeable closeable, int threadsCount) {
+		List<JavaClassReader> readers = new JavaInputLoader(threadsCount).collectFiles(inputFiles);
 		if (readers.isEmpty()) {
 			return EmptyCodeLoader.INSTANCE;
 		}
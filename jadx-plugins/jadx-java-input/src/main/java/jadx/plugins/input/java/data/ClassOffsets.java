@@ -44,6 +44,13 @@ private static int[] readConstPool(DataReader data) {
 		return cpOffsets;
 	}
 
+	/**
+	 * Size of constant pool entries table (including unused zero index)
+	 */
+	public int getConstPoolSize() {
+		return constPoolOffsets.length;
+	}
+
 	private void skipFields(DataReader data) {
 		int fieldsCount = data.readU2();
 		for (int i = 0; i < fieldsCount; i++) {
@@ -30,21 +30,37 @@ public class ConstPoolReader {
 	private final DataReader data;
 	private final ClassOffsets offsets;
 
+	/**
+	 * Decoded constants by index (same as this reader, not thread safe)
+	 */
+	private final Object[] cache;
+
 	public ConstPoolReader(JavaClassReader clsReader, JavaClassData javaClassData, DataReader data, ClassOffsets offsets) {
 		this.clsReader = clsReader;
 		this.clsData = javaClassData;
 		this.data = data;
 		this.offsets = offsets;
+		this.cache = clsReader.getConstPoolCache(offsets.getConstPoolSize());
 	}
 
 	@Nullable
 	public String getClass(int idx) {
+		Object cached = cache[idx];
+		if (cached != null) {
+			return (String) cached;
+		}
 		jumpToData(idx);
 		int nameIdx = data.readU2();
-		return fixType(getUtf8(nameIdx));
+		String clsType = fixType(getUtf8(nameIdx));
+		cache[idx] = clsType;
+		return clsType;
 	}
 
 	public IFieldRef getFieldRef(int idx) {
+		Object cached = cache[idx];
+		if (cached != null) {
+			return (IFieldRef) cached;
+		}
 		jumpToData(idx);
 		int clsIdx = data.readU2();
 		int nameTypeIdx = data.readU2();
@@ -56,10 +72,15 @@ public IFieldRef getFieldRef(int idx) {
 		fieldData.setParentClassType(getClass(clsIdx));
 		fieldData.setName(getUtf8(nameIdx));
 		fieldData.setType(getUtf8(typeIdx));
+		cache[idx] = fieldData;
 		return fieldData;
 	}
 
 	public String getFieldType(int idx) {
+		Object cached = cache[idx];
+		if (cached != null) {
+			return ((IFieldRef) cached).getType();
+		}
 		jumpToData(idx);
 		data.skip(2);
 		int nameTypeIdx = data.readU2();
@@ -70,6 +91,10 @@ public String getFieldType(int idx) {
 	}
 
 	public IMethodRef getMethodRef(int idx) {
+		Object cached = cache[idx];
+		if (cached != null) {
+			return (IMethodRef) cached;
+		}
 		jumpToData(idx);
 		int clsIdx = data.readU2();
 		int nameTypeIdx = data.readU2();
@@ -82,6 +107,7 @@ public IMethodRef getMethodRef(int idx) {
 		mthRef.setParentClassType(getClass(clsIdx));
 		mthRef.setName(getUtf8(nameIdx));
 		mthRef.setDescr(getUtf8(descIdx));
+		cache[idx] = mthRef;
 		return mthRef;
 	}
 
@@ -159,8 +185,14 @@ public String getUtf8(int idx) {
 		if (idx == 0) {
 			return null;
 		}
+		Object cached = cache[idx];
+		if (cached != null) {
+			return (String) cached;
+		}
 		jumpToData(idx);
-		return readString();
+		String str = readString();
+		cache[idx] = str;
+		return str;
 	}
 
 	public ConstantType jumpToConst(int idx) {
@@ -210,7 +242,7 @@ public EncodedValue readAsEncodedValue(int idx) {
 		ConstantType constantType = jumpToConst(idx);
 		switch (constantType) {
 			case UTF8:
-				return new EncodedValue(EncodedType.ENCODED_STRING, readString());
+				return new EncodedValue(EncodedType.ENCODED_STRING, getUtf8(idx));
 			case STRING:
 				return new EncodedValue(EncodedType.ENCODED_STRING, getUtf8(readU2()));
 			case INTEGER:
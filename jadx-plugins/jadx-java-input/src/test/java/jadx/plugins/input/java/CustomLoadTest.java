@@ -6,13 +6,17 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
@@ -110,6 +114,46 @@ void load() {
 		jadx.getClassesWithInners().forEach(cls -> System.out.println(cls.getCode()));
 	}
 
+	@Test
+	void loadJarInParallel(@TempDir Path tempDir) throws IOException {
+		Path innerJar = tempDir.resolve("inner.jar");
+		writeJar(innerJar, "HelloWorld$HelloInner.class", Files.readAllBytes(getSample("HelloWorld$HelloInner.class")));
+		Path jar = tempDir.resolve("test.jar");
+		try (JarOutputStream jo = new JarOutputStream(Files.newOutputStream(jar))) {
+			addJarEntry(jo, "HelloWorld.class", Files.readAllBytes(getSample("HelloWorld.class")));
+			addJarEntry(jo, "inner.jar", Files.readAllBytes(innerJar));
+		}
+		List<Path> files = Collections.singletonList(jar);
+		List<JavaClassReader> readers = new JavaInputLoader().collectFiles(files);
+		List<JavaClassReader> parallelReaders = new JavaInputLoader(4).collectFiles(files);
+		assertThat(readers)
+				.extracting(JavaClassReader::getFileName)
+				.containsExactly("test.jar:HelloWorld.class", "test.jar:inner.jar:HelloWorld$HelloInner.class");
+		assertThat(parallelReaders)
+				.extracting(JavaClassReader::getId)
+				.containsExactlyElementsOf(readers.stream().map(JavaClassReader::getId).collect(Collectors.toList()));
+		assertThat(parallelReaders)
+				.extracting(JavaClassReader::getFileName)
+				.containsExactlyElementsOf(readers.stream().map(JavaClassReader::getFileName).collect(Collectors.toList()));
+
+		loadDecompiler(JavaInputPlugin.wrapClassReaders(parallelReaders));
+		assertThat(jadx.getClasses())
+				.hasSize(1)
+				.satisfiesOnlyOnce(cls -> assertThat(cls.getInnerClasses()).hasSize(1));
+	}
+
+	private static void writeJar(Path jar, String entryName, byte[] content) throws IOException {
+		try (JarOutputStream jo = new JarOutputStream(Files.newOutputStream(jar))) {
+			addJarEntry(jo, entryName, content);
+		}
+	}
+
+	private static void addJarEntry(JarOutputStream jo, String entryName, byte[] content) throws IOException {
+		jo.putNextEntry(new JarEntry(entryName));
+		jo.write(content);
+		jo.closeEntry();
+	}
+
 	public void loadDecompiler(ICodeLoader codeLoader) {
 		try {
 			jadx.addCustomCodeLoader(codeLoader);